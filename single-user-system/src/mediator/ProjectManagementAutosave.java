@@ -0,0 +1,188 @@
+package mediator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class to save the project manager on a background thread instead of the JavaFX application thread.
+ * Every change only marks the project manager as dirty, and all the changes made until the scheduled save runs
+ * are written together by a single compaction of the journal. The journal asks for an earlier save once it collected
+ * enough records. A save which fails is retried after the maximum latency, as the journal still holds the changes.
+ */
+public class ProjectManagementAutosave {
+
+  public static final long DEFAULT_MAX_LATENCY = 2000;
+
+  private ProjectManagementJournal journal;
+  private ScheduledExecutorService executor;
+  private long maxLatency;
+  private boolean isDirty;
+  private long completedSaves;
+  private long skippedSaves;
+  private long failedSaves;
+  private boolean isFailing;
+  private volatile FailureListener failureListener;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor with defined maximum latency.
+   * @param journal The journal of the project manager to be saved.
+   * @param maxLatency Value between [0; +inf] representing the maximum number of milliseconds a change waits before being saved.
+   * @throws IllegalArgumentException if the max latency argument is invalid.
+   */
+  public ProjectManagementAutosave(ProjectManagementJournal journal, long maxLatency) {
+    if (maxLatency < 0) throw new IllegalArgumentException("Max latency can not be less then 0.");
+    this.journal = journal;
+    this.maxLatency = maxLatency;
+    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "project-management-autosave");
+      thread.setDaemon(true);
+      return thread;
+    });
+    journal.setAutosave(this);
+  }
+
+  /**
+   * Constructor with default maximum latency.
+   * @param journal The journal of the project manager to be saved.
+   */
+  public ProjectManagementAutosave(ProjectManagementJournal journal) {
+    this(journal, DEFAULT_MAX_LATENCY);
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the number of saves written so far.
+   * @return The number of saves written so far.
+   */
+  public synchronized long getCompletedSaves() {
+    return completedSaves;
+  }
+
+  /**
+   * Getter for the number of saves skipped because the change was collapsed into an already scheduled save.
+   * @return The number of skipped saves.
+   */
+  public synchronized long getSkippedSaves() {
+    return skippedSaves;
+  }
+
+  /**
+   * Getter for the number of saves which could not be written.
+   * @return The number of failed saves.
+   */
+  public synchronized long getFailedSaves() {
+    return failedSaves;
+  }
+
+  // ------------------------------ Setters ------------------------------
+
+  /**
+   * Setter for the listener told when saving starts failing, which is called on the background thread.
+   * The listener is told once until a save succeeds again, not for every retry.
+   * @param failureListener The listener or null to only count the failures.
+   */
+  public void setFailureListener(FailureListener failureListener) {
+    this.failureListener = failureListener;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Marks the project manager as changed and schedules a save unless one is already waiting.
+   */
+  public synchronized void markDirty() {
+    if (isDirty) {
+      skippedSaves++;
+      return;
+    }
+    isDirty = true;
+    executor.schedule(() -> flush(false), maxLatency, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Marks the project manager as changed and saves it as soon as the background thread is free instead of after the
+   * maximum latency.
+   */
+  public synchronized void saveSoon() {
+    isDirty = true;
+    executor.execute(() -> flush(false));
+  }
+
+  /**
+   * Saves any pending change and waits for the save to be written. The journal is compacted as well if it holds
+   * records newer than the last save, such as the records replayed at startup or those of a failed save.
+   * @throws UnsupportedOperationException if the save could not be written.
+   */
+  public void flushNow() {
+    try {
+      executor.submit(() -> flush(true)).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new UnsupportedOperationException("Could not save the projects.", e.getCause());
+    }
+  }
+
+  /**
+   * Saves any pending change and stops the background thread.
+   * @throws UnsupportedOperationException if the save could not be written.
+   */
+  public void shutdown() {
+    try {
+      flushNow();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private void flush(boolean isForced) {
+    boolean hasUnsavedRecords = isForced && journal.hasUnsavedRecords();
+    synchronized (this) {
+      if (!isDirty && !hasUnsavedRecords) return;
+      isDirty = false;
+    }
+    try {
+      journal.compact();
+    } catch (RuntimeException e) {
+      failed(e);
+      throw e;
+    }
+    synchronized (this) {
+      completedSaves++;
+      isFailing = false;
+    }
+  }
+
+  /**
+   * Marks the project manager as dirty again after a failed save and schedules the retry.
+   */
+  private void failed(RuntimeException e) {
+    boolean isFirstFailure;
+    synchronized (this) {
+      failedSaves++;
+      isFirstFailure = !isFailing;
+      isFailing = true;
+      if (!isDirty && !executor.isShutdown()) executor.schedule(() -> flush(false), maxLatency, TimeUnit.MILLISECONDS);
+      isDirty = true;
+    }
+    FailureListener listener = failureListener;
+    if (isFirstFailure && listener != null) listener.saveFailed(e);
+  }
+
+  /**
+   * An interface to be told when the project manager could not be saved.
+   */
+  public interface FailureListener {
+
+    /**
+     * Called on the background thread after a save failed.
+     * @param e The exception the save failed with.
+     */
+    void saveFailed(RuntimeException e);
+  }
+}
@@ -0,0 +1,526 @@
+package mediator;
+
+import model.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * A class to write and read the project manager in a compact binary format instead of java serialization.
+ * The format starts with a magic number and a format version, followed by a table of every distinct string,
+ * so repeated titles, statuses and emails are stored once and referenced by their index (0 standing for null).
+ * Numbers are stored as variable length integers and dates are packed into a single integer.
+ * Members, projects, requirements and tasks are then stored in flat tables and the assignments between them as pairs of
+ * table indexes, so neither writing nor reading has to walk the cyclic graph of assignments recursively.
+ * A single project can also be written as a segment of {@link ProjectManagementStore}, which refers to members by key.
+ */
+public class ProjectManagementCodec {
+
+  public static final int MAGIC = 0x504D5342;
+  public static final int FORMAT_VERSION = 2;
+  public static final int SEGMENT_MAGIC = 0x504D5353;
+  public static final int SEGMENT_FORMAT_VERSION = 1;
+
+  private DataOutputStream out;
+  private DataInputStream in;
+  private HashMap<String, Integer> stringIndexes;
+  private ArrayList<String> strings;
+
+  // ------------------------------ Constructors ------------------------------
+
+  private ProjectManagementCodec() {
+    stringIndexes = new HashMap<>();
+    strings = new ArrayList<>();
+  }
+
+  // ------------------------------ Writing ------------------------------
+
+  /**
+   * Writes the project manager to the stream.
+   * @param stream The stream to write to.
+   * @param projectManager The project manager to be written.
+   * @param journalSequence The sequence number of the last journal record contained in the project manager.
+   * @throws IOException if the stream could not be written.
+   */
+  public static void write(OutputStream stream, ProjectManagementModelManager projectManager, long journalSequence) throws IOException {
+    ProjectManagementCodec codec = new ProjectManagementCodec();
+    codec.out = new DataOutputStream(stream);
+    List<Project> projects = projectManager.getProjectsView();
+
+    // Members assigned to tasks or projects without being hired are stored after the hired ones.
+    ArrayList<Member> members = new ArrayList<>(projectManager.getMembersView());
+    IdentityHashMap<Member, Integer> memberIndexes = new IdentityHashMap<>();
+    for (Member member : members) memberIndexes.putIfAbsent(member, memberIndexes.size());
+    int numberOfHiredMembers = members.size();
+    IdentityHashMap<Requirement, Integer> requirementIndexes = new IdentityHashMap<>();
+    int numberOfTasks = 0;
+    for (Project project : projects) {
+      codec.addMember(project.getProjectCreator(), members, memberIndexes);
+      codec.addMember(project.getProductOwner(), members, memberIndexes);
+      codec.addMember(project.getScrumMaster(), members, memberIndexes);
+      for (Requirement requirement : project.getRequirementsView()) requirementIndexes.put(requirement, requirementIndexes.size());
+      for (Task task : project.getTasksView()) for (Member member : task.getAssignedMembersView()) codec.addMember(member, members, memberIndexes);
+      numberOfTasks += project.getNumberOfTasks();
+    }
+
+    for (Member member : members) codec.collectStrings(member.getFirstName(), member.getLastName(), member.getEmail());
+    for (Project project : projects) {
+      codec.collectStrings(project.getId(), project.getTitle(), project.getDescription());
+      for (Requirement requirement : project.getRequirementsView()) codec.collectStrings(requirement.getId(), requirement.getTitle(), requirement.getDescription(), requirement.getPriorityGroup());
+      for (Task task : project.getTasksView()) codec.collectStrings(task.getId(), task.getTitle(), task.getDescription(), task.getStatus());
+    }
+
+    codec.out.writeInt(MAGIC);
+    codec.writeVarLong(FORMAT_VERSION);
+    codec.writeVarLong(journalSequence);
+
+    codec.writeStrings();
+
+    codec.writeVarLong(numberOfHiredMembers);
+    codec.writeVarLong(members.size());
+    for (Member member : members) {
+      codec.writeString(member.getFirstName());
+      codec.writeString(member.getLastName());
+      codec.writeDate(member.getBirthday());
+      codec.writeString(member.getEmail());
+      codec.writeSignedVarLong(member.getTelephoneNumber());
+    }
+
+    codec.writeVarLong(projects.size());
+    for (Project project : projects) codec.writeProject(project, memberIndexes);
+
+    codec.writeVarLong(requirementIndexes.size());
+    for (int i = 0; i < projects.size(); i++) for (Requirement requirement : projects.get(i).getRequirementsView()) {
+      codec.writeVarLong(i);
+      codec.writeRequirement(requirement);
+    }
+
+    codec.writeVarLong(numberOfTasks);
+    int numberOfRequirementLinks = 0;
+    int numberOfMemberLinks = 0;
+    for (int i = 0; i < projects.size(); i++) for (Task task : projects.get(i).getTasksView()) {
+      codec.writeVarLong(i);
+      codec.writeTask(task);
+      numberOfRequirementLinks += task.getNumberOfAssignedRequirements();
+      numberOfMemberLinks += task.getNumberOfAssignedMembers();
+    }
+
+    // The assignments are stored once, from the task side, as pairs of table indexes.
+    codec.writeVarLong(numberOfRequirementLinks);
+    int taskIndex = 0;
+    for (Project project : projects) for (Task task : project.getTasksView()) {
+      for (Requirement requirement : task.getAssignedRequirementsView()) {
+        Integer requirementIndex = requirementIndexes.get(requirement);
+        if (requirementIndex == null) throw new IOException("Task " + task.getId() + " is assigned to a requirement that is not linked to any project.");
+        codec.writeVarLong(taskIndex);
+        codec.writeVarLong(requirementIndex);
+      }
+      taskIndex++;
+    }
+
+    codec.writeVarLong(numberOfMemberLinks);
+    taskIndex = 0;
+    for (Project project : projects) for (Task task : project.getTasksView()) {
+      for (Member member : task.getAssignedMembersView()) {
+        codec.writeVarLong(taskIndex);
+        codec.writeVarLong(memberIndexes.get(member));
+      }
+      taskIndex++;
+    }
+    codec.out.flush();
+  }
+
+  /**
+   * Writes a single project with its requirements, tasks and assignments to the stream, as a segment of a store
+   * which keeps the members separately and refers to them by their key.
+   * @param stream The stream to write to.
+   * @param project The project to be written.
+   * @param memberKeys The keys of every member the project refers to.
+   * @throws IOException if the stream could not be written or a task is assigned to a requirement of another project.
+   */
+  public static void writeSegment(OutputStream stream, Project project, IdentityHashMap<Member, Integer> memberKeys) throws IOException {
+    ProjectManagementCodec codec = new ProjectManagementCodec();
+    codec.out = new DataOutputStream(stream);
+    codec.collectStrings(project.getId(), project.getTitle(), project.getDescription());
+    IdentityHashMap<Requirement, Integer> requirementIndexes = new IdentityHashMap<>();
+    for (Requirement requirement : project.getRequirementsView()) {
+      requirementIndexes.put(requirement, requirementIndexes.size());
+      codec.collectStrings(requirement.getId(), requirement.getTitle(), requirement.getDescription(), requirement.getPriorityGroup());
+    }
+    int numberOfRequirementLinks = 0;
+    int numberOfMemberLinks = 0;
+    for (Task task : project.getTasksView()) {
+      codec.collectStrings(task.getId(), task.getTitle(), task.getDescription(), task.getStatus());
+      numberOfRequirementLinks += task.getNumberOfAssignedRequirements();
+      numberOfMemberLinks += task.getNumberOfAssignedMembers();
+    }
+
+    codec.out.writeInt(SEGMENT_MAGIC);
+    codec.writeVarLong(SEGMENT_FORMAT_VERSION);
+    codec.writeStrings();
+    codec.writeProject(project, memberKeys);
+    codec.writeVarLong(requirementIndexes.size());
+    for (Requirement requirement : project.getRequirementsView()) codec.writeRequirement(requirement);
+    codec.writeVarLong(project.getNumberOfTasks());
+    for (Task task : project.getTasksView()) codec.writeTask(task);
+
+    codec.writeVarLong(numberOfRequirementLinks);
+    int taskIndex = 0;
+    for (Task task : project.getTasksView()) {
+      for (Requirement requirement : task.getAssignedRequirementsView()) {
+        Integer requirementIndex = requirementIndexes.get(requirement);
+        if (requirementIndex == null) throw new IOException("Task " + task.getId() + " is assigned to a requirement of another project.");
+        codec.writeVarLong(taskIndex);
+        codec.writeVarLong(requirementIndex);
+      }
+      taskIndex++;
+    }
+
+    codec.writeVarLong(numberOfMemberLinks);
+    taskIndex = 0;
+    for (Task task : project.getTasksView()) {
+      for (Member member : task.getAssignedMembersView()) {
+        codec.writeVarLong(taskIndex);
+        codec.writeVarLong(memberKeys.get(member));
+      }
+      taskIndex++;
+    }
+    codec.out.flush();
+  }
+
+  // ------------------------------ Reading ------------------------------
+
+  /**
+   * Checks whether the stream starts with the magic number of this format, without consuming it.
+   * @param stream A stream supporting mark and reset.
+   * @return Whether the stream was written by this codec.
+   * @throws IOException if the stream could not be read.
+   */
+  public static boolean isCodecFormat(InputStream stream) throws IOException {
+    stream.mark(4);
+    try {
+      return new DataInputStream(stream).readInt() == MAGIC;
+    } catch (EOFException e) {
+      return false;
+    } finally {
+      stream.reset();
+    }
+  }
+
+  /**
+   * Reads the project manager from the stream.
+   * @param stream The stream to read from.
+   * @return The project manager together with the journal sequence number it was written at.
+   * @throws IOException if the stream could not be read or was not written by a supported version of this codec.
+   */
+  public static ProjectManagementSnapshot read(InputStream stream) throws IOException {
+    ProjectManagementCodec codec = new ProjectManagementCodec();
+    codec.in = new DataInputStream(stream);
+
+    if (codec.in.readInt() != MAGIC) throw new IOException("The bin file was not written by this codec.");
+    long version = codec.readVarLong();
+    if (version != 1 && version != FORMAT_VERSION) throw new IOException("Unsupported bin file format version " + version + ".");
+    long journalSequence = codec.readVarLong();
+
+    codec.readStrings();
+
+    ProjectManagementModelManager projectManager = new ProjectManagementModelManager();
+    try {
+      int numberOfHiredMembers = codec.readCount();
+      Member[] members = new Member[codec.readCount()];
+      for (int i = 0; i < members.length; i++) {
+        String firstName = codec.readString();
+        String lastName = codec.readString();
+        MyDate birthday = codec.readDate();
+        String email = codec.readString();
+        long telephoneNumber = codec.readSignedVarLong();
+        members[i] = i < numberOfHiredMembers ? projectManager.addMember(firstName, lastName, birthday, email, telephoneNumber) : new Member(firstName, lastName, birthday, email, telephoneNumber);
+      }
+      if (version == 1) codec.readNestedProjects(projectManager, members);
+      else codec.readFlatProjects(projectManager, members);
+    } catch (RuntimeException e) {
+      throw new IOException("The bin file contains invalid data.", e);
+    }
+    return new ProjectManagementSnapshot(projectManager, journalSequence);
+  }
+
+  /**
+   * Reads a single project written by writeSegment from the stream.
+   * @param stream The stream to read from.
+   * @param members The members of the store indexed by their key.
+   * @return The project with its requirements, tasks and assignments.
+   * @throws IOException if the stream could not be read or was not written by a supported version of this codec.
+   */
+  public static Project readSegment(InputStream stream, Member[] members) throws IOException {
+    ProjectManagementCodec codec = openSegment(stream);
+    try {
+      Project project = codec.readProject(members);
+      codec.readSegmentContent(project, members);
+      return project;
+    } catch (RuntimeException e) {
+      throw new IOException("The segment file contains invalid data.", e);
+    }
+  }
+
+  /**
+   * Reads a single project written by writeSegment from the stream into a project whose loading was deferred,
+   * which already contains the id, title and deadline of the project.
+   * @param stream The stream to read from.
+   * @param members The members of the store indexed by their key.
+   * @param project The project to read the description, roles, requirements, tasks and assignments into.
+   * @throws IOException if the stream could not be read, was not written by a supported version of this codec or belongs to another project.
+   */
+  public static void readSegmentInto(InputStream stream, Member[] members, Project project) throws IOException {
+    ProjectManagementCodec codec = openSegment(stream);
+    try {
+      Project stored = codec.readProject(members);
+      if (!stored.getId().equals(project.getId())) throw new IOException("The segment file belongs to project " + stored.getId() + ".");
+      project.setDescription(stored.getDescription());
+      project.setProjectCreator(stored.getProjectCreator());
+      project.setProductOwner(stored.getProductOwner());
+      project.setScrumMaster(stored.getScrumMaster());
+      codec.readSegmentContent(project, members);
+    } catch (RuntimeException e) {
+      throw new IOException("The segment file contains invalid data.", e);
+    }
+  }
+
+  private static ProjectManagementCodec openSegment(InputStream stream) throws IOException {
+    ProjectManagementCodec codec = new ProjectManagementCodec();
+    codec.in = new DataInputStream(stream);
+    if (codec.in.readInt() != SEGMENT_MAGIC) throw new IOException("The segment file was not written by this codec.");
+    long version = codec.readVarLong();
+    if (version != SEGMENT_FORMAT_VERSION) throw new IOException("Unsupported segment file format version " + version + ".");
+    codec.readStrings();
+    return codec;
+  }
+
+  private void readSegmentContent(Project project, Member[] members) throws IOException {
+    Requirement[] requirements = new Requirement[readCount()];
+    for (int i = 0; i < requirements.length; i++) {
+      requirements[i] = readRequirement();
+      project.addRequirement(requirements[i]);
+    }
+    Task[] tasks = new Task[readCount()];
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = readTask();
+      project.addTask(tasks[i]);
+    }
+    int numberOfRequirementLinks = readCount();
+    for (int i = 0; i < numberOfRequirementLinks; i++) tasks[readCount()].restoreRequirementAssignment(requirements[readCount()]);
+    int numberOfMemberLinks = readCount();
+    for (int i = 0; i < numberOfMemberLinks; i++) tasks[readCount()].restoreMemberAssignment(members[readCount()]);
+  }
+
+  /**
+   * Reads the projects stored as flat tables of projects, requirements and tasks followed by the tables of assignments,
+   * rebuilding both sides of every assignment in a single pass over the assignment tables.
+   */
+  private void readFlatProjects(ProjectManagementModelManager projectManager, Member[] members) throws IOException {
+    Project[] projects = new Project[readCount()];
+    for (int i = 0; i < projects.length; i++) {
+      projects[i] = readProject(members);
+      projectManager.getProjectList().addProject(projects[i]);
+    }
+
+    Requirement[] requirements = new Requirement[readCount()];
+    for (int i = 0; i < requirements.length; i++) {
+      Project project = projects[readCount()];
+      requirements[i] = readRequirement();
+      project.addRequirement(requirements[i]);
+    }
+
+    Task[] tasks = new Task[readCount()];
+    for (int i = 0; i < tasks.length; i++) {
+      Project project = projects[readCount()];
+      tasks[i] = readTask();
+      project.addTask(tasks[i]);
+    }
+
+    int numberOfRequirementLinks = readCount();
+    for (int i = 0; i < numberOfRequirementLinks; i++) tasks[readCount()].restoreRequirementAssignment(requirements[readCount()]);
+    int numberOfMemberLinks = readCount();
+    for (int i = 0; i < numberOfMemberLinks; i++) tasks[readCount()].restoreMemberAssignment(members[readCount()]);
+  }
+
+  /**
+   * Reads the projects of format version 1, where requirements and tasks are nested inside of their project.
+   */
+  private void readNestedProjects(ProjectManagementModelManager projectManager, Member[] members) throws IOException {
+    int numberOfProjects = readCount();
+    for (int i = 0; i < numberOfProjects; i++) {
+      Project project = readProject(members);
+      projectManager.getProjectList().addProject(project);
+
+      Requirement[] requirements = new Requirement[readCount()];
+      for (int j = 0; j < requirements.length; j++) {
+        requirements[j] = readRequirement();
+        project.addRequirement(requirements[j]);
+      }
+
+      int numberOfTasks = readCount();
+      for (int j = 0; j < numberOfTasks; j++) {
+        Task task = readTask();
+        project.addTask(task);
+        int numberOfRequirements = readCount();
+        for (int k = 0; k < numberOfRequirements; k++) task.restoreRequirementAssignment(requirements[readCount()]);
+        int numberOfMembers = readCount();
+        for (int k = 0; k < numberOfMembers; k++) task.restoreMemberAssignment(members[readCount()]);
+      }
+    }
+  }
+
+  private void writeProject(Project project, IdentityHashMap<Member, Integer> memberIndexes) throws IOException {
+    writeString(project.getId());
+    writeString(project.getTitle());
+    writeString(project.getDescription());
+    writeDate(project.getDeadline());
+    writeMemberReference(project.getProjectCreator(), memberIndexes);
+    writeMemberReference(project.getProductOwner(), memberIndexes);
+    writeMemberReference(project.getScrumMaster(), memberIndexes);
+  }
+
+  private void writeRequirement(Requirement requirement) throws IOException {
+    writeString(requirement.getId());
+    writeString(requirement.getTitle());
+    writeString(requirement.getDescription());
+    writeDate(requirement.getDeadline());
+    writeString(requirement.getPriorityGroup());
+    out.writeBoolean(requirement.isApproved());
+  }
+
+  private void writeTask(Task task) throws IOException {
+    writeString(task.getId());
+    writeString(task.getTitle());
+    writeString(task.getDescription());
+    writeString(task.getStatus());
+    out.writeFloat(task.getEstimatedWorkHours());
+    out.writeFloat(task.getTotalWorkedHours());
+    writeDate(task.getDeadline());
+  }
+
+  private Project readProject(Member[] members) throws IOException {
+    String id = readString();
+    String title = readString();
+    String description = readString();
+    MyDate deadline = readDate();
+    Project project = new Project(id, title, description, deadline.getDay(), deadline.getMonth(), deadline.getYear());
+    project.setProjectCreator(readMemberReference(members));
+    project.setProductOwner(readMemberReference(members));
+    project.setScrumMaster(readMemberReference(members));
+    return project;
+  }
+
+  private Requirement readRequirement() throws IOException {
+    return new Requirement(readString(), readString(), readString(), readDate(), readString(), in.readBoolean());
+  }
+
+  private Task readTask() throws IOException {
+    return new Task(readString(), readString(), readString(), readString(), in.readFloat(), in.readFloat(), readDate());
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  private void addMember(Member member, ArrayList<Member> members, IdentityHashMap<Member, Integer> memberIndexes) {
+    if (member == null || memberIndexes.containsKey(member)) return;
+    memberIndexes.put(member, members.size());
+    members.add(member);
+  }
+
+  private void collectStrings(String... values) {
+    for (String value : values) if (value != null && !stringIndexes.containsKey(value)) {
+      stringIndexes.put(value, strings.size());
+      strings.add(value);
+    }
+  }
+
+  private void writeStrings() throws IOException {
+    writeVarLong(strings.size());
+    for (String string : strings) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private void readStrings() throws IOException {
+    int numberOfStrings = readCount();
+    for (int i = 0; i < numberOfStrings; i++) {
+      byte[] bytes = new byte[readCount()];
+      in.readFully(bytes);
+      strings.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+  }
+
+  private void writeString(String value) throws IOException {
+    writeVarLong(value == null ? 0 : stringIndexes.get(value) + 1);
+  }
+
+  private String readString() throws IOException {
+    int index = readCount();
+    return index == 0 ? null : strings.get(index - 1);
+  }
+
+  private void writeMemberReference(Member member, IdentityHashMap<Member, Integer> memberIndexes) throws IOException {
+    writeVarLong(member == null ? 0 : memberIndexes.get(member) + 1);
+  }
+
+  private Member readMemberReference(Member[] members) throws IOException {
+    int index = readCount();
+    return index == 0 ? null : members[index - 1];
+  }
+
+  /**
+   * Packs the date as year * 512 + month * 32 + day.
+   */
+  private void writeDate(MyDate date) throws IOException {
+    writeVarLong(((long) date.getYear() << 9) | (date.getMonth() << 5) | date.getDay());
+  }
+
+  private MyDate readDate() throws IOException {
+    long packed = readVarLong();
+    return Interner.date(new MyDate((int) (packed & 31), (int) ((packed >> 5) & 15), (int) (packed >> 9)));
+  }
+
+  /**
+   * Writes a number as unsigned using 7 bits per byte, with the highest bit marking that more bytes follow.
+   */
+  private void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IOException("Malformed variable length number.");
+  }
+
+  /**
+   * Writes a number of any sign by zigzag mapping it to a non negative one first.
+   */
+  private void writeSignedVarLong(long value) throws IOException {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  private long readSignedVarLong() throws IOException {
+    long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private int readCount() throws IOException {
+    long value = readVarLong();
+    if (value > Integer.MAX_VALUE) throw new IOException("Malformed count.");
+    return (int) value;
+  }
+}
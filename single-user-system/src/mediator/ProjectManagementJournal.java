@@ -0,0 +1,700 @@
+package mediator;
+
+import model.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * A class to append every change of the project manager as a small record to a log file instead of rewriting all the projects.
+ * The log starts with the sequence number of the snapshot it was started from, followed by records of format
+ * [length][crc32][sequence number, record type, record fields]. Once enough records are collected the autosave is asked
+ * to save the project manager as a new snapshot on its background thread, after which the log is started over. The snapshot only rewrites the projects the model tracked as
+ * changed since the previous snapshot. Edits of the fields of the projects, requirements, tasks and members are reported
+ * to the journal by the model, so no setter needs to be recorded by its caller.
+ */
+public class ProjectManagementJournal {
+
+  public static final String LOG_PATH = "single-user-system/output/projects.log";
+  public static final int COMPACTION_THRESHOLD = 512;
+  public static final String CORRUPT_EXTENSION = ".corrupt";
+
+  private static final byte PROJECT_ADDED = 1;
+  private static final byte PROJECT_REMOVED = 2;
+  private static final byte REQUIREMENT_ADDED = 3;
+  private static final byte REQUIREMENT_REMOVED = 4;
+  private static final byte TASK_ADDED = 5;
+  private static final byte TASK_REMOVED = 6;
+  private static final byte LEGACY_MEMBER_HIRED = 7;
+  private static final byte MEMBER_FIRED = 8;
+  private static final byte LEGACY_MEMBER_ASSIGNED = 9;
+  private static final byte LEGACY_MEMBER_UNASSIGNED = 10;
+  private static final byte REQUIREMENT_ASSIGNED = 11;
+  private static final byte REQUIREMENT_UNASSIGNED = 12;
+  private static final byte MEMBER_HIRED = 13;
+  private static final byte MEMBER_KEYED = 14;
+  private static final byte MEMBER_ASSIGNED = 15;
+  private static final byte MEMBER_UNASSIGNED = 16;
+  private static final byte PROJECT_EDITED = 17;
+  private static final byte REQUIREMENT_EDITED = 18;
+  private static final byte TASK_EDITED = 19;
+  private static final byte MEMBER_EDITED = 20;
+  private static final byte PROJECT_CLEARED = 21;
+  private static final int NO_MEMBER = -1;
+
+  private ProjectManagementModelManager projectManager;
+  private DataOutputStream out;
+  private long sequence;
+  private long logLength;
+  private int recordsSinceSnapshot;
+  private ProjectManagementAutosave autosave;
+  private boolean isCompactionRequested;
+  private final Object compactionLock = new Object();
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor which opens the log file for appending, dropping any record that was only partially written.
+   * A log which is missing or only holds records already contained in the snapshot is started over after the snapshot,
+   * so the records appended from now on are never skipped by the replay.
+   * @param projectManager The project manager the records are describing, already restored with loadSnapshot().
+   * @param snapshotSequence The sequence number of the last journal record contained in the loaded snapshot.
+   * @throws UnsupportedOperationException if the log file could not be opened.
+   */
+  public ProjectManagementJournal(ProjectManagementModelManager projectManager, long snapshotSequence) {
+    this.projectManager = projectManager;
+    long validLength = 0;
+    File file = new File(LOG_PATH);
+
+    if (file.exists()) {
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+        sequence = in.readLong();
+        validLength = 8;
+        byte[] payload;
+        while ((payload = readRecord(in)) != null) {
+          sequence = Math.max(sequence, new DataInputStream(new ByteArrayInputStream(payload)).readLong());
+          validLength += 8 + payload.length;
+          recordsSinceSnapshot++;
+        }
+      } catch (IOException e) {
+        // A log without a complete header is treated as an empty log.
+      }
+    }
+    if (sequence < snapshotSequence) {
+      sequence = snapshotSequence;
+      validLength = 0;
+      recordsSinceSnapshot = 0;
+    }
+
+    try {
+      if (validLength == 0) restart(sequence, new byte[0]);
+      else try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+        raf.setLength(validLength);
+      }
+      logLength = Math.max(validLength, 8);
+      out = open();
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not open the projects log file. Make sure single-user-system/output/ path exists.");
+    }
+    // The fields of the entities are set directly on them, so the journal is told about the edits by the model.
+    projectManager.getChanges().setEditListener(this::entityEdited);
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the sequence number of the last appended record.
+   * @return The sequence number of the last appended record.
+   */
+  public long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Getter for the number of records appended since the last snapshot.
+   * @return The number of records appended since the last snapshot.
+   */
+  public int getRecordsSinceSnapshot() {
+    return recordsSinceSnapshot;
+  }
+
+  /**
+   * Checks whether the log holds records which are not contained in the last saved snapshot.
+   * @return Whether a compaction would save any record.
+   */
+  public synchronized boolean hasUnsavedRecords() {
+    return recordsSinceSnapshot > 0;
+  }
+
+  // ------------------------------ Setters ------------------------------
+
+  /**
+   * Setter for the autosave which compacts the journal on its background thread once enough records are collected.
+   * @param autosave The autosave of the project manager or null to only compact when compact() is called.
+   */
+  synchronized void setAutosave(ProjectManagementAutosave autosave) {
+    this.autosave = autosave;
+  }
+
+  // ------------------------------ Records ------------------------------
+
+  public void projectAdded(Project project) {
+    append(PROJECT_ADDED, out -> {
+      out.writeUTF(project.getId());
+      out.writeUTF(project.getTitle());
+      out.writeUTF(project.getDescription());
+      writeDate(out, project.getDeadline());
+    });
+  }
+
+  public void projectRemoved(String id) {
+    append(PROJECT_REMOVED, out -> out.writeUTF(id));
+  }
+
+  public void requirementAdded(Requirement requirement) {
+    append(REQUIREMENT_ADDED, out -> {
+      out.writeUTF(requirement.getId());
+      out.writeUTF(requirement.getTitle());
+      out.writeUTF(requirement.getDescription());
+      writeDate(out, requirement.getDeadline());
+      out.writeUTF(requirement.getPriorityGroup());
+      out.writeBoolean(requirement.isApproved());
+    });
+  }
+
+  public void requirementRemoved(String id) {
+    append(REQUIREMENT_REMOVED, out -> out.writeUTF(id));
+  }
+
+  public void taskAdded(Task task) {
+    append(TASK_ADDED, out -> {
+      out.writeUTF(task.getId());
+      out.writeUTF(task.getTitle());
+      out.writeUTF(task.getDescription());
+      out.writeUTF(task.getStatus());
+      out.writeFloat(task.getEstimatedWorkHours());
+      out.writeFloat(task.getTotalWorkedHours());
+      writeDate(out, task.getDeadline());
+    });
+  }
+
+  public void taskRemoved(String id) {
+    append(TASK_REMOVED, out -> out.writeUTF(id));
+  }
+
+  public void memberHired(Member member) {
+    int key = ProjectManagementPersistence.keyMember(member);
+    append(MEMBER_HIRED, out -> {
+      out.writeInt(key);
+      writeMember(out, member);
+    });
+  }
+
+  public void memberFired(String firstName, String lastName) {
+    append(MEMBER_FIRED, out -> {
+      out.writeUTF(firstName);
+      out.writeUTF(lastName);
+    });
+  }
+
+  public void memberAssigned(Task task, Member member) {
+    int key = keyOf(member);
+    append(MEMBER_ASSIGNED, out -> {
+      out.writeUTF(task.getId());
+      out.writeInt(key);
+    });
+  }
+
+  public void memberUnassigned(Task task, Member member) {
+    int key = keyOf(member);
+    append(MEMBER_UNASSIGNED, out -> {
+      out.writeUTF(task.getId());
+      out.writeInt(key);
+    });
+  }
+
+  public void requirementAssigned(Task task, Requirement requirement) {
+    append(REQUIREMENT_ASSIGNED, out -> {
+      out.writeUTF(task.getId());
+      out.writeUTF(requirement.getId());
+    });
+  }
+
+  public void requirementUnassigned(Task task, Requirement requirement) {
+    append(REQUIREMENT_UNASSIGNED, out -> {
+      out.writeUTF(task.getId());
+      out.writeUTF(requirement.getId());
+    });
+  }
+
+  public void projectCleared(Project project) {
+    append(PROJECT_CLEARED, out -> out.writeUTF(project.getId()));
+  }
+
+  public void projectEdited(Project project) {
+    int projectCreator = keyOfRole(project.getProjectCreator());
+    int productOwner = keyOfRole(project.getProductOwner());
+    int scrumMaster = keyOfRole(project.getScrumMaster());
+    append(PROJECT_EDITED, out -> {
+      out.writeUTF(project.getId());
+      writeNullableString(out, project.getDescription());
+      writeDate(out, project.getDeadline());
+      out.writeInt(projectCreator);
+      out.writeInt(productOwner);
+      out.writeInt(scrumMaster);
+    });
+  }
+
+  public void requirementEdited(Requirement requirement) {
+    append(REQUIREMENT_EDITED, out -> {
+      out.writeUTF(requirement.getId());
+      out.writeUTF(requirement.getTitle());
+      writeNullableString(out, requirement.getDescription());
+      writeDate(out, requirement.getDeadline());
+      out.writeUTF(requirement.getPriorityGroup());
+      out.writeBoolean(requirement.isApproved());
+    });
+  }
+
+  public void taskEdited(Task task) {
+    append(TASK_EDITED, out -> {
+      out.writeUTF(task.getId());
+      out.writeUTF(task.getTitle());
+      writeNullableString(out, task.getDescription());
+      out.writeUTF(task.getStatus());
+      out.writeFloat(task.getEstimatedWorkHours());
+      out.writeFloat(task.getTotalWorkedHours());
+      writeDate(out, task.getDeadline());
+    });
+  }
+
+  public void memberEdited(Member member) {
+    int key = keyOf(member);
+    append(MEMBER_EDITED, out -> {
+      out.writeInt(key);
+      writeMember(out, member);
+    });
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Saves the project manager as a new snapshot and starts the log over.
+   * Changes to the project manager and their records must be made while holding the lock of the project manager,
+   * so the snapshot always contains exactly the changes up to its sequence number. The lock is only held while the
+   * changed projects are encoded, the files are written without it. The records appended meanwhile are kept in the log.
+   * @throws UnsupportedOperationException if the snapshot or the log could not be written.
+   */
+  public void compact() {
+    synchronized (compactionLock) {
+      ProjectManagementStore.PendingSave save;
+      long version;
+      long snapshotSequence;
+      long snapshotLength;
+      synchronized (projectManager) {
+        ModelChanges changes = projectManager.getChanges();
+        version = changes.getVersion();
+        synchronized (this) {
+          isCompactionRequested = false;
+          snapshotSequence = sequence;
+          snapshotLength = logLength;
+        }
+        save = ProjectManagementPersistence.prepareSave(projectManager, snapshotSequence, changes.getDirtyProjectIds());
+      }
+
+      ProjectManagementPersistence.writeSave(save);
+      projectManager.getChanges().markClean(version);
+
+      synchronized (this) {
+        recordsSinceSnapshot = (int) (sequence - snapshotSequence);
+        IOException failure = null;
+        try {
+          out.close();
+          byte[] newerRecords = readLog(snapshotLength, logLength);
+          restart(snapshotSequence, newerRecords);
+          logLength = 8 + newerRecords.length;
+        } catch (IOException e) {
+          // The log is only replaced by the atomic move, so it is still the whole previous log, which the replay skips
+          // up to the saved snapshot.
+          failure = e;
+        }
+        // The log is reopened even if starting it over failed, so the changes keep being appended.
+        try {
+          out = open();
+        } catch (IOException e) {
+          if (failure == null) failure = e;
+          else failure.addSuppressed(e);
+        }
+        if (failure != null) throw new UnsupportedOperationException("Could not start over the projects log file.", failure);
+      }
+    }
+  }
+
+  /**
+   * Closes the log file.
+   */
+  public synchronized void close() {
+    projectManager.getChanges().setEditListener(null);
+    try {
+      out.close();
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not close the projects log file.");
+    }
+  }
+
+  /**
+   * Reads the sequence number of the snapshot the log was started from, which is the oldest snapshot the records of the
+   * log can be replayed on.
+   * @return The sequence number or 0 if there is no log.
+   */
+  public static long readLogStart() {
+    try (DataInputStream in = new DataInputStream(new FileInputStream(LOG_PATH))) {
+      return in.readLong();
+    } catch (IOException e) {
+      // A missing log or one without a complete header does not contain any records.
+      return 0;
+    }
+  }
+
+  /**
+   * Applies every record of the log newer than the snapshot to the project manager.
+   * The replay stops at the first record which can not be applied, as the records after it may depend on it. The log is
+   * then copied to projects.log.corrupt for diagnosis and cut before that record, so the journal continues after the
+   * last applied record.
+   * @param projectManager The project manager restored from the snapshot.
+   * @param snapshotSequence The sequence number of the last record already contained in the snapshot.
+   * @return A description of the changes which were skipped or null if every record newer than the snapshot was applied.
+   * @throws UnsupportedOperationException if the log file could not be read or cut.
+   */
+  public static String replay(ProjectManagementModelManager projectManager, long snapshotSequence) {
+    File file = new File(LOG_PATH);
+    if (!file.exists()) return null;
+    long validLength = 8;
+    String skipped = null;
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      // A log started after a newer snapshot can not be applied to an older generation of the bin file.
+      if (in.readLong() > snapshotSequence) return "The projects log file does not continue the loaded bin file, its changes were skipped.";
+      byte[] payload;
+      while ((payload = readRecord(in)) != null) {
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+        long recordSequence = record.readLong();
+        try {
+          if (recordSequence > snapshotSequence) apply(projectManager, record);
+        } catch (IOException | RuntimeException e) {
+          skipped = "Could not replay record " + recordSequence + " of the projects log file, the changes from it on were skipped"
+              + " and the log was copied to " + LOG_PATH + CORRUPT_EXTENSION + ": " + e;
+          break;
+        }
+        validLength += 8 + payload.length;
+      }
+    } catch (EOFException e) {
+      // A log without a complete header does not contain any records.
+      return null;
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not replay the projects log file on top of the bin file.", e);
+    }
+
+    if (skipped == null) return null;
+    try {
+      Files.copy(file.toPath(), Paths.get(LOG_PATH + CORRUPT_EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+      try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+        raf.setLength(validLength);
+      }
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not cut the projects log file before the record which could not be replayed.", e);
+    }
+    return skipped;
+  }
+
+  private static void apply(ProjectManagementModelManager projectManager, DataInputStream in) throws IOException {
+    switch (in.readByte()) {
+      case PROJECT_ADDED: {
+        String id = in.readUTF();
+        String title = in.readUTF();
+        String description = in.readUTF();
+        MyDate deadline = readDate(in);
+        projectManager.getProjectList().addProject(new Project(id, title, description, deadline.getDay(), deadline.getMonth(), deadline.getYear()));
+        break;
+      }
+      case PROJECT_REMOVED:
+        projectManager.removeProjectCascading(in.readUTF());
+        break;
+      case REQUIREMENT_ADDED: {
+        String id = in.readUTF();
+        Requirement requirement = new Requirement(id, in.readUTF(), in.readUTF(), readDate(in), in.readUTF(), in.readBoolean());
+        projectManager.getProjectById(EntityId.parse(id).getProjectId()).addRequirement(requirement);
+        break;
+      }
+      case REQUIREMENT_REMOVED: {
+        String id = in.readUTF();
+        projectManager.getProjectById(EntityId.parse(id).getProjectId()).removeRequirement(id);
+        break;
+      }
+      case TASK_ADDED: {
+        String id = in.readUTF();
+        Task task = new Task(id, in.readUTF(), in.readUTF(), in.readUTF(), in.readFloat(), in.readFloat(), readDate(in));
+        projectManager.getProjectById(EntityId.parse(id).getProjectId()).addTask(task);
+        break;
+      }
+      case TASK_REMOVED: {
+        String id = in.readUTF();
+        projectManager.getProjectById(EntityId.parse(id).getProjectId()).removeTask(id);
+        break;
+      }
+      case MEMBER_HIRED: {
+        int key = in.readInt();
+        Member member = projectManager.addMember(readNullableString(in), readNullableString(in), readNullableDate(in), readNullableString(in), in.readLong());
+        ProjectManagementPersistence.restoreMemberKey(member, key);
+        break;
+      }
+      case MEMBER_KEYED: {
+        int key = in.readInt();
+        ProjectManagementPersistence.restoreMemberKey(new Member(readNullableString(in), readNullableString(in), readNullableDate(in), readNullableString(in), in.readLong()), key);
+        break;
+      }
+      case MEMBER_FIRED:
+        projectManager.removeMember(in.readUTF(), in.readUTF());
+        break;
+      case MEMBER_ASSIGNED:
+        projectManager.getTaskById(in.readUTF()).assignMember(memberByKey(in.readInt()));
+        break;
+      case MEMBER_UNASSIGNED:
+        projectManager.getTaskById(in.readUTF()).unassignMember(memberByKey(in.readInt()));
+        break;
+      // Logs written before the members had keys refer to them by their position in the list of hired members.
+      case LEGACY_MEMBER_HIRED:
+        ProjectManagementPersistence.keyMember(projectManager.addMember(in.readUTF(), in.readUTF(), readDate(in), in.readUTF(), in.readLong()));
+        break;
+      case LEGACY_MEMBER_ASSIGNED:
+        projectManager.getTaskById(in.readUTF()).assignMember(projectManager.getMembersView().get(in.readInt()));
+        break;
+      case LEGACY_MEMBER_UNASSIGNED:
+        projectManager.getTaskById(in.readUTF()).unassignMember(projectManager.getMembersView().get(in.readInt()));
+        break;
+      case REQUIREMENT_ASSIGNED:
+        projectManager.getTaskById(in.readUTF()).assignRequirement(projectManager.getRequirementById(in.readUTF()));
+        break;
+      case REQUIREMENT_UNASSIGNED:
+        projectManager.getTaskById(in.readUTF()).unassignRequirement(projectManager.getRequirementById(in.readUTF()));
+        break;
+      case PROJECT_CLEARED:
+        projectManager.getProjectById(in.readUTF()).removeAllTasksAndRequirements();
+        break;
+      case PROJECT_EDITED: {
+        Project project = projectManager.getProjectById(in.readUTF());
+        project.setDescription(readNullableString(in));
+        MyDate deadline = readDate(in);
+        project.setDeadline(deadline.getDay(), deadline.getMonth(), deadline.getYear());
+        project.setProjectCreator(roleByKey(in.readInt()));
+        project.setProductOwner(roleByKey(in.readInt()));
+        project.setScrumMaster(roleByKey(in.readInt()));
+        break;
+      }
+      case REQUIREMENT_EDITED: {
+        Requirement requirement = projectManager.getRequirementById(in.readUTF());
+        requirement.setTitle(in.readUTF());
+        requirement.setDescription(readNullableString(in));
+        requirement.restoreDeadline(readDate(in));
+        requirement.setPriorityGroup(in.readUTF());
+        requirement.setApprovedOrDisapproved(in.readBoolean());
+        break;
+      }
+      case TASK_EDITED: {
+        Task task = projectManager.getTaskById(in.readUTF());
+        task.setTitle(in.readUTF());
+        task.setDescription(readNullableString(in));
+        task.setStatus(in.readUTF());
+        task.setEstimatedWorkHours(in.readFloat());
+        task.restoreTotalWorkedHours(in.readFloat());
+        task.restoreDeadline(readDate(in));
+        break;
+      }
+      case MEMBER_EDITED: {
+        Member member = memberByKey(in.readInt());
+        member.setFirstName(readNullableString(in));
+        member.setLastName(readNullableString(in));
+        MyDate birthday = readNullableDate(in);
+        if (birthday != null) member.setBirthday(birthday);
+        member.setEmail(readNullableString(in));
+        member.setTelephoneNumber(in.readLong());
+        break;
+      }
+      default:
+        throw new IOException("Unknown record type.");
+    }
+  }
+
+  private void append(byte type, RecordWriter writer) {
+    ProjectManagementAutosave compactingAutosave = null;
+    synchronized (this) {
+      write(type, writer);
+      if (recordsSinceSnapshot >= COMPACTION_THRESHOLD && !isCompactionRequested && autosave != null) {
+        isCompactionRequested = true;
+        compactingAutosave = autosave;
+      }
+    }
+    // The compaction runs on the autosave thread, so appending a record never waits for a save.
+    if (compactingAutosave != null) compactingAutosave.saveSoon();
+  }
+
+  private void write(byte type, RecordWriter writer) {
+    byte[] payload;
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+      DataOutputStream record = new DataOutputStream(bytes);
+      record.writeLong(sequence + 1);
+      record.writeByte(type);
+      writer.write(record);
+
+      payload = bytes.toByteArray();
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      out.writeInt(payload.length);
+      out.writeInt((int) crc.getValue());
+      out.write(payload);
+      out.flush();
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not append the change to the projects log file. Make sure single-user-system/output/ path exists.");
+    }
+    sequence++;
+    logLength += 8 + payload.length;
+    recordsSinceSnapshot++;
+  }
+
+  /**
+   * Reads the next record of the log.
+   * @return The payload of the record or null if the rest of the log is missing, partially written or corrupted.
+   */
+  private static byte[] readRecord(DataInputStream in) throws IOException {
+    try {
+      int length = in.readInt();
+      int checksum = in.readInt();
+      if (length < 9) return null;
+      byte[] payload = new byte[length];
+      in.readFully(payload);
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      return (int) crc.getValue() == checksum ? payload : null;
+    } catch (EOFException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Opens the log file for appending.
+   */
+  private static DataOutputStream open() throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(LOG_PATH, true)));
+  }
+
+  /**
+   * Replaces the log with one that starts from the given snapshot sequence number and holds the given records.
+   */
+  private static void restart(long snapshotSequence, byte[] records) throws IOException {
+    File temporary = new File(LOG_PATH + ".tmp");
+    try (DataOutputStream header = new DataOutputStream(new FileOutputStream(temporary))) {
+      header.writeLong(snapshotSequence);
+      header.write(records);
+    }
+    Files.move(temporary.toPath(), Paths.get(LOG_PATH), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Reads the records written to the log between two lengths of the log.
+   */
+  private static byte[] readLog(long from, long to) throws IOException {
+    byte[] records = new byte[(int) (to - from)];
+    try (RandomAccessFile raf = new RandomAccessFile(LOG_PATH, "r")) {
+      raf.seek(from);
+      raf.readFully(records);
+    }
+    return records;
+  }
+
+  /**
+   * Gets the key the store gave the member. A member without a key, such as a member assigned without being hired, is
+   * given the next free key, which is recorded together with the member so the replay can give it the same key.
+   */
+  private int keyOf(Member member) {
+    Integer key = ProjectManagementPersistence.findMemberKey(member);
+    if (key != null) return key;
+    int newKey = ProjectManagementPersistence.keyMember(member);
+    append(MEMBER_KEYED, out -> {
+      out.writeInt(newKey);
+      writeMember(out, member);
+    });
+    return newKey;
+  }
+
+  /**
+   * Gets the key of a member holding a role in a project, or NO_MEMBER if nobody holds the role.
+   */
+  private int keyOfRole(Member member) {
+    return member == null ? NO_MEMBER : keyOf(member);
+  }
+
+  /**
+   * Tells the journal about an edit of an entity of the project manager, which appends the whole edited entity.
+   */
+  private void entityEdited(Object entity) {
+    if (entity instanceof Project) projectEdited((Project) entity);
+    else if (entity instanceof Requirement) requirementEdited((Requirement) entity);
+    else if (entity instanceof Task) taskEdited((Task) entity);
+    else if (entity instanceof Member) memberEdited((Member) entity);
+  }
+
+  private static Member roleByKey(int key) throws IOException {
+    return key == NO_MEMBER ? null : memberByKey(key);
+  }
+
+  private static Member memberByKey(int key) throws IOException {
+    Member member = ProjectManagementPersistence.getMemberByKey(key);
+    if (member == null) throw new IOException("No member has the key " + key + ".");
+    return member;
+  }
+
+  private static void writeMember(DataOutputStream out, Member member) throws IOException {
+    writeNullableString(out, member.getFirstName());
+    writeNullableString(out, member.getLastName());
+    writeNullableDate(out, member.getBirthday());
+    writeNullableString(out, member.getEmail());
+    out.writeLong(member.getTelephoneNumber());
+  }
+
+  private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) out.writeUTF(value);
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void writeNullableDate(DataOutputStream out, MyDate date) throws IOException {
+    out.writeBoolean(date != null);
+    if (date != null) writeDate(out, date);
+  }
+
+  private static MyDate readNullableDate(DataInputStream in) throws IOException {
+    return in.readBoolean() ? readDate(in) : null;
+  }
+
+  private static void writeDate(DataOutputStream out, MyDate date) throws IOException {
+    out.writeByte(date.getDay());
+    out.writeByte(date.getMonth());
+    out.writeShort(date.getYear());
+  }
+
+  private static MyDate readDate(DataInputStream in) throws IOException {
+    int day = in.readByte();
+    int month = in.readByte();
+    return new MyDate(day, month, in.readShort());
+  }
+
+  private interface RecordWriter {
+    void write(DataOutputStream out) throws IOException;
+  }
+}
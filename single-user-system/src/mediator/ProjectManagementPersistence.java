@@ -2,163 +2,269 @@ package mediator;
 
 import model.*;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 public class ProjectManagementPersistence {
 
-  public static void save(ProjectManagementModelManager projectManager) {
+  public static final String BIN_PATH = "single-user-system/output/projects.bin";
+  public static final String XML_PATH = "single-user-system/output/projects.xml";
+  public static final String STORE_PATH = "single-user-system/output/projects";
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final boolean IS_WINDOWS = System.getProperty("os.name").startsWith("Windows");
 
-    // Saves the project manager to a bin file.
+  private static ProjectManagementStore store = new ProjectManagementStore(STORE_PATH);
+
+  public static void save(ProjectManagementModelManager projectManager, long journalSequence, Set<String> dirtyProjectIds) {
+    // Saves the segments of the changed projects and the manifest together with the sequence number of the last journal record they contain.
+    try {
+      store.save(projectManager, journalSequence, dirtyProjectIds);
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not save the projects to the project files. Make sure single-user-system/output/ path exists.", e);
+    }
+  }
+
+  /**
+   * Encodes the segments of the changed projects and the manifest in memory, which needs the project manager to stay
+   * unchanged, so the files can be written by writeSave() without holding its lock.
+   * @throws UnsupportedOperationException if the project files could not be encoded.
+   */
+  static ProjectManagementStore.PendingSave prepareSave(ProjectManagementModelManager projectManager, long journalSequence, Set<String> dirtyProjectIds) {
     try {
-      ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream("single-user-system/output/projects.bin"));
-      out.writeObject(projectManager);
-      out.close();
+      return store.prepare(projectManager, journalSequence, dirtyProjectIds);
     } catch (IOException e) {
-      throw new UnsupportedOperationException("Could not save the projects to the bin file. Make sure single-user-system/output/ path exists.");
+      throw new UnsupportedOperationException("Could not encode the projects for the project files.", e);
     }
+  }
 
-    ProjectList projectList = projectManager.getProjectList();
+  /**
+   * Writes a save encoded by prepareSave() to the project files.
+   * @throws UnsupportedOperationException if the project files could not be written.
+   */
+  static void writeSave(ProjectManagementStore.PendingSave save) {
+    try {
+      store.write(save);
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not save the projects to the project files. Make sure single-user-system/output/ path exists.", e);
+    }
+  }
 
+  public static void exportXml(ProjectManagementModelManager projectManager, long journalSequence) {
     // Saves all the project list to a xml file.
-    try (PrintWriter out = new PrintWriter("single-user-system/output/projects.xml")) {
-
-      out.println("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>");
-      out.println("<projectlist>");
-
-      for (Project project : projectList.getAllProjects()) {
-        out.println("  <project>");
-
-        out.println("    <id>" + project.getId() + "</id>");
-        out.println("    <title>" + project.getTitle() + "</title>");
-        out.println("    <description>" + project.getDescription() + "</description>");
-        out.println("    <deadline>" + project.getDeadline() + "</deadline>");
-
-        if (project.getProjectCreator() != null) {
-          out.println("    <projectcreator>");
-          out.println("      <firstname>" + project.getProjectCreator().getFirstName() + "</firstname>");
-          out.println("      <lastname>" + project.getProjectCreator().getLastName() + "</lastname>");
-          out.println("      <email>" + project.getProjectCreator().getEmail() + "</email>");
-          out.println("      <telephonenumber>" + project.getProjectCreator().getTelephoneNumber() + "</telephonenumber>");
-          out.println("      <birthday>" + project.getProjectCreator().getBirthday() + "</birthday>");
-          out.println("    </projectcreator>");
-        }
-        if (project.getProductOwner() != null) {
-          out.println("    <productowner>");
-          out.println("      <firstname>" + project.getProductOwner().getFirstName() + "</firstname>");
-          out.println("      <lastname>" + project.getProductOwner().getLastName() + "</lastname>");
-          out.println("      <email>" + project.getProductOwner().getEmail() + "</email>");
-          out.println("      <telephonenumber>" + project.getProductOwner().getTelephoneNumber() + "</telephonenumber>");
-          out.println("      <birthday>" + project.getProductOwner().getBirthday() + "</birthday>");
-          out.println("    </productowner>");
-        }
-        if (project.getScrumMaster() != null) {
-          out.println("    <scrummaster>");
-          out.println("      <firstname>" + project.getScrumMaster().getFirstName() + "</firstname>");
-          out.println("      <lastname>" + project.getScrumMaster().getLastName() + "</lastname>");
-          out.println("      <email>" + project.getScrumMaster().getEmail() + "</email>");
-          out.println("      <telephonenumber>" + project.getScrumMaster().getTelephoneNumber() + "</telephonenumber>");
-          out.println("      <birthday>" + project.getScrumMaster().getBirthday() + "</birthday>");
-          out.println("    </scrummaster>");
-        }
-
-        out.println("    <memberlist>");
-        for (Member member : project.getAllMembers()) {
-          out.println("      <member>");
-          out.println("        <firstname>" + member.getFirstName() + "</firstname>");
-          out.println("        <lastname>" + member.getLastName() + "</lastname>");
-          out.println("        <email>" + member.getEmail() + "</email>");
-          out.println("        <telephonenumber>" + member.getTelephoneNumber() + "</telephonenumber>");
-          out.println("        <birthday>" + member.getBirthday() + "</birthday>");
-          out.println("      </member>");
-        }
-        out.println("    </memberlist>");
-
-        out.println("    <requirementlist>");
-
-        for (Requirement requirement : project.getAllRequirements()) {
-          out.println("      <requirement>");
-
-          out.println("        <id>" + requirement.getId() + "</id>");
-          out.println("        <title>" + requirement.getTitle() + "</title>");
-          out.println("        <description>" + requirement.getDescription() + "</description>");
-          out.println("        <deadline>" + requirement.getDeadline() + "</deadline>");
-          out.println("        <prioritygroup>" + requirement.getPriorityGroup() + "</prioritygroup>");
-          out.println("        <isapproved>" + requirement.isApproved() + "</isapproved>");
-
-          out.println("        <assignedtasks>");
-          for (Task task : requirement.getAllAssignedTasks()) {
-            out.println("          <task>");
-            out.println("            <id>" + task.getId() + "</id>");
-            out.println("            <title>" + task.getTitle() + "</title>");
-            out.println("            <description>" + task.getDescription() + "</description>");
-            out.println("            <deadline>" + task.getDeadline() + "</deadline>");
-            out.println("            <status>" + task.getStatus() + "</status>");
-            out.println("            <estimatedworkhours>" + task.getEstimatedWorkHours() + "</estimatedworkhours>");
-            out.println("            <totalworkedhours>" + task.getTotalWorkedHours() + "</totalworkedhours>");
-            out.println("          </task>");
-          }
-          out.println("        </assignedtasks>");
-
-          out.println("      </requirement>");
-        }
-
-        out.println("    </requirementlist>");
-        out.println("    <tasklist>");
-
-        for (Task task : project.getAllTasks()) {
-          out.println("      <task>");
-          out.println("        <id>" + task.getId() + "</id>");
-          out.println("        <title>" + task.getTitle() + "</title>");
-          out.println("        <description>" + task.getDescription() + "</description>");
-          out.println("        <deadline>" + task.getDeadline() + "</deadline>");
-          out.println("        <status>" + task.getStatus() + "</status>");
-          out.println("        <estimatedworkhours>" + task.getEstimatedWorkHours() + "</estimatedworkhours>");
-          out.println("        <totalworkedhours>" + task.getTotalWorkedHours() + "</totalworkedhours>");
-          out.println("        <assignedrequirements>");
-          for (Requirement requirement : task.getAllAssignedRequirements()) {
-            out.println("          <requirement>");
-            out.println("            <id>" + requirement.getId() + "</id>");
-            out.println("            <title>" + requirement.getTitle() + "</title>");
-            out.println("            <description>" + requirement.getDescription() + "</description>");
-            out.println("            <deadline>" + requirement.getDeadline() + "</deadline>");
-            out.println("            <prioritygroup>" + requirement.getPriorityGroup() + "</prioritygroup>");
-            out.println("            <isapproved>" + requirement.isApproved() + "</isapproved>");
-            out.println("          </requirement>");
-          }
-          out.println("        </assignedrequirements>");
-          out.println("        <assignedmembers>");
-          for (Member member : task.getAllAssignedMembers()) {
-            out.println("          <member>");
-            out.println("            <firstname>" + member.getFirstName() + "</firstname>");
-            out.println("            <lastname>" + member.getLastName() + "</lastname>");
-            out.println("            <email>" + member.getEmail() + "</email>");
-            out.println("            <telephonenumber>" + member.getTelephoneNumber() + "</telephonenumber>");
-            out.println("            <birthday>" + member.getBirthday() + "</birthday>");
-            out.println("          </member>");
-          }
-          out.println("        </assignedmembers>");
-          out.println("      </task>");
-        }
-        out.println("    </tasklist>");
-
-        out.println("  </project>");
+    try {
+      writeAtomically(XML_PATH, 0, stream -> ProjectManagementXmlExporter.export(stream, projectManager, journalSequence));
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not save the projects to the xml file. Make sure single-user-system/output/ path exists.", e);
+    }
+  }
+
+  public static ProjectManagementModelManager load() {
+    return load(false);
+  }
+
+  /**
+   * Loads the project manager and applies the journal to it.
+   * @param isLazy Whether the requirements, tasks and assignments of the projects saved to the project files should only
+   *               be read when the project is first used.
+   * @return The loaded project manager.
+   * @throws UnsupportedOperationException if no saved project manager could be read.
+   */
+  public static ProjectManagementModelManager load(boolean isLazy) {
+    return loadSnapshot(isLazy).getProjectManager();
+  }
+
+  /**
+   * Loads the project manager and applies the journal to it, keeping the journal sequence number it was saved at so
+   * the journal can continue after it.
+   * @param isLazy Whether the requirements, tasks and assignments of the projects saved to the project files should only
+   *               be read when the project is first used.
+   * @return The loaded project manager together with the sequence number of the last journal record saved with it and
+   *         the problems the loading recovered from.
+   * @throws UnsupportedOperationException if no saved project manager could be read, or only ones older than the journal.
+   */
+  public static ProjectManagementSnapshot loadSnapshot(boolean isLazy) {
+    ProjectManagementSnapshot snapshot = null;
+    boolean isFromStore = false;
+    ArrayList<String> warnings = new ArrayList<>();
+    // Loading a save older than the one the journal continues would lose the changes between them.
+    long logStart = ProjectManagementJournal.readLogStart();
+
+    // Loads the project manager from the project files once they have been saved.
+    if (store.exists()) {
+      try {
+        snapshot = store.load(isLazy, logStart);
+        warnings.addAll(snapshot.getRecoveryWarnings());
+        isFromStore = true;
+      } catch (IOException e) {
+        warnings.add("Could not read the project files in " + STORE_PATH + ", the bin and xml files were loaded instead: " + reason(e));
       }
+    }
 
-      out.println("</projectlist>");
-    } catch (FileNotFoundException e) {
-      throw new UnsupportedOperationException("Could not save the projects to the xml file. Make sure single-user-system/output/ path exists.");
+    // Otherwise loads the newest bin file that can be read, or the xml file if it was saved after the bin file.
+    if (snapshot == null) {
+      snapshot = readBin(warnings);
+      ProjectManagementSnapshot exported = readXml(snapshot == null, warnings);
+      if (exported != null && (snapshot == null || exported.getJournalSequence() > snapshot.getJournalSequence())) {
+        snapshot = exported;
+        warnings.add("The projects were recovered from " + XML_PATH + ".");
+      }
     }
+    if (snapshot == null) throw new UnsupportedOperationException("Could not read the projects from the bin file. Make sure single-user-system/output/projects.bin file exists. " + String.join(" ", warnings));
+    if (snapshot.getJournalSequence() < logStart) {
+      throw new UnsupportedOperationException("Every save which could be read is older than " + ProjectManagementJournal.LOG_PATH + ", so its changes would be lost. "
+          + "Restore the project files, or move the log file away to start from the older save. " + String.join(" ", warnings));
+    }
+    ProjectManagementModelManager toReturn = snapshot.getProjectManager();
+    if (toReturn == null) toReturn = new ProjectManagementModelManager();
+    toReturn.getChanges().markClean(toReturn.getChanges().getVersion());
+    if (!isFromStore) store.keyMembers(toReturn);
+
+    // Applies the changes appended to the journal after the project files were saved.
+    String skipped = ProjectManagementJournal.replay(toReturn, snapshot.getJournalSequence());
+    if (skipped != null) warnings.add(skipped);
+    ProjectManagementSnapshot loaded = new ProjectManagementSnapshot(toReturn, snapshot.getJournalSequence());
+    for (String warning : warnings) loaded.addRecoveryWarning(warning);
+    return loaded;
   }
 
-  public static ProjectManagementModelManager load() {
-    // Loads the project maanger from the bin file.
-    ProjectManagementModelManager toReturn;
-    try {
-      ObjectInputStream in = new ObjectInputStream(new FileInputStream("single-user-system/output/projects.bin"));
-      toReturn = (ProjectManagementModelManager) in.readObject();
-      in.close();
+  // The journal refers to members by the keys the store gives them, which the segments use as well.
+
+  static Integer findMemberKey(Member member) {
+    return store.findMemberKey(member);
+  }
+
+  static int keyMember(Member member) {
+    return store.keyMember(member);
+  }
+
+  static Member getMemberByKey(int key) {
+    return store.getMemberByKey(key);
+  }
+
+  static void restoreMemberKey(Member member, int key) {
+    store.restoreMemberKey(member, key);
+  }
+
+  /**
+   * Imports a project manager from a xml file written by the save method, for example to bulk load projects.
+   * The journal is not applied to the imported project manager.
+   * @param path The path of the xml file.
+   * @return The imported project manager.
+   * @throws UnsupportedOperationException if the xml file could not be read.
+   */
+  public static ProjectManagementModelManager importXml(String path) {
+    try (InputStream in = new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE)) {
+      return ProjectManagementXmlImporter.read(in).getProjectManager();
+    } catch (IOException e) {
+      throw new UnsupportedOperationException("Could not import the projects from " + path + ".", e);
+    }
+  }
+
+  /**
+   * Reads the bin file, which is only written by versions saving all the projects to a single file.
+   * @param warnings The list to add the problem to if the bin file could not be read.
+   * @return The snapshot read or null if the bin file does not exist or could not be read.
+   */
+  private static ProjectManagementSnapshot readBin(List<String> warnings) {
+    if (!new File(BIN_PATH).exists()) return null;
+    try (InputStream in = new BufferedInputStream(new FileInputStream(BIN_PATH), BUFFER_SIZE)) {
+      return ProjectManagementCodec.isCodecFormat(in) ? ProjectManagementCodec.read(in) : readSerialized(in);
     } catch (IOException | ClassNotFoundException e) {
-      throw new UnsupportedOperationException("Could not read the projects from the bin file. Make sure single-user-system/output/projects.bin file exists.");
+      warnings.add("Could not read " + BIN_PATH + ": " + reason(e));
+      return null;
+    }
+  }
+
+  /**
+   * Reads the xml file written by exportXml.
+   * @param isReported Whether to report that the xml file could not be read.
+   * @param warnings The list to add the reported problem to.
+   * @return The snapshot read or null if the xml file does not exist or could not be read.
+   */
+  private static ProjectManagementSnapshot readXml(boolean isReported, List<String> warnings) {
+    if (!new File(XML_PATH).exists()) return null;
+    try (InputStream in = new BufferedInputStream(new FileInputStream(XML_PATH), BUFFER_SIZE)) {
+      return ProjectManagementXmlImporter.read(in);
+    } catch (IOException e) {
+      if (isReported) warnings.add("Could not read " + XML_PATH + ": " + reason(e));
+      return null;
     }
-    return toReturn == null ? new ProjectManagementModelManager() : toReturn;
+  }
+
+  /**
+   * Reads a bin file saved with java serialization before the binary codec existed.
+   * The next save rewrites it with the binary codec.
+   */
+  private static ProjectManagementSnapshot readSerialized(InputStream stream) throws IOException, ClassNotFoundException {
+    ObjectInputStream in = new ObjectInputStream(stream);
+    ProjectManagementModelManager projectManager = (ProjectManagementModelManager) in.readObject();
+    long journalSequence;
+    try {
+      journalSequence = in.readLong();
+    } catch (EOFException e) {
+      // Bin files saved before the journal existed do not contain a sequence number.
+      journalSequence = 0;
+    }
+    return new ProjectManagementSnapshot(projectManager, journalSequence);
+  }
+
+  /**
+   * Writes a file to a temporary file which is forced to the disk and then atomically moved in place of the file,
+   * so a crash never leaves a partially written file behind. The directory is forced to the disk after the move, so the
+   * new file is not lost by a crash right after the save returns.
+   * @param path The path of the file to be written.
+   * @param generations The number of previous versions of the file to keep as path.1, path.2, ...
+   * @param writer The writer of the content of the file.
+   */
+  static void writeAtomically(String path, int generations, ContentWriter writer) throws IOException {
+    Path temporary = Paths.get(path + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+      writer.write(out);
+      out.flush();
+      channel.force(true);
+    }
+
+    // The previous generations are renamed instead of copied, so keeping them does not cost another write.
+    for (int generation = generations; generation > 0; generation--) {
+      Path older = Paths.get(generationPath(path, generation - 1));
+      if (Files.exists(older)) Files.move(older, Paths.get(generationPath(path, generation)), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    Files.move(temporary, Paths.get(path), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    forceDirectory(Paths.get(path).toAbsolutePath().getParent());
+  }
+
+  /**
+   * Forces the entries of a directory, such as a renamed file, to the disk. Windows does not allow opening a directory
+   * and makes a rename durable by itself, so nothing is done there.
+   */
+  private static void forceDirectory(Path directory) throws IOException {
+    if (IS_WINDOWS) return;
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    }
+  }
+
+  /**
+   * Describes why a file could not be read, for the problems the loading recovered from.
+   */
+  static String reason(Exception e) {
+    return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+  }
+
+  private static String generationPath(String path, int generation) {
+    return generation == 0 ? path : path + "." + generation;
+  }
+
+  interface ContentWriter {
+    void write(OutputStream out) throws IOException;
   }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package mediator;
+
+import model.*;
+import java.util.ArrayList;
+
+/**
+ * A class to store a project manager read from a bin file together with the journal sequence number it was saved at,
+ * and with the problems the loading recovered from, such as files which could not be read.
+ */
+public class ProjectManagementSnapshot {
+
+  private ProjectManagementModelManager projectManager;
+  private long journalSequence;
+  private ArrayList<String> recoveryWarnings;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor with all the defined values.
+   * @param projectManager The project manager read from the bin file.
+   * @param journalSequence The sequence number of the last journal record contained in the bin file.
+   */
+  public ProjectManagementSnapshot(ProjectManagementModelManager projectManager, long journalSequence) {
+    this.projectManager = projectManager;
+    this.journalSequence = journalSequence;
+    recoveryWarnings = new ArrayList<>();
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for projectManager instance variable.
+   * @return The project manager read from the bin file.
+   */
+  public ProjectManagementModelManager getProjectManager() {
+    return projectManager;
+  }
+
+  /**
+   * Getter for journalSequence instance variable.
+   * @return The sequence number of the last journal record contained in the bin file.
+   */
+  public long getJournalSequence() {
+    return journalSequence;
+  }
+
+  /**
+   * Getter for the problems the loading recovered from, to be shown to the user.
+   * @return A description of every problem in the order they happened or empty array list if the loading had none.
+   */
+  public ArrayList<String> getRecoveryWarnings() {
+    return new ArrayList<>(recoveryWarnings);
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Adds a problem the loading recovered from.
+   * @param warning The description of the problem.
+   */
+  void addRecoveryWarning(String warning) {
+    recoveryWarnings.add(warning);
+  }
+}
@@ -0,0 +1,540 @@
+package mediator;
+
+import model.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class to store the project manager as one segment file per project plus a small manifest, so a save only rewrites
+ * the projects that changed since the previous save.
+ * Segments are named after the project id and the save they were written by, for example PxHE.17.seg, and are never
+ * overwritten. The manifest lists the members, the journal sequence and the segment of every project, so replacing it
+ * atomically switches from the previous save to the new one. The manifests of the previous saves are kept as
+ * manifest.bin.1, manifest.bin.2, ... together with the segments they refer to, so a manifest which can not be read
+ * falls back to the save before it. A segment is deleted once no kept manifest refers to it.
+ * Members have no id, so the store gives every member it writes a key which the segments use to refer to them.
+ * The manifest also holds the title, deadline and size of every project, so a lazy load can list the projects without
+ * reading any segment and read the segment of a project only when it is first used.
+ */
+public class ProjectManagementStore {
+
+  public static final int MANIFEST_MAGIC = 0x504D534D;
+  public static final int MANIFEST_FORMAT_VERSION = 2;
+  public static final String MANIFEST_NAME = "manifest.bin";
+  public static final String SEGMENT_EXTENSION = ".seg";
+  public static final int MANIFEST_GENERATIONS = 2;
+
+  private String directory;
+  private IdentityHashMap<Member, Integer> memberKeys;
+  private ArrayList<Member> keyedMembers;
+  private volatile HashMap<String, Long> segmentGenerations;
+  private ArrayList<HashMap<String, Long>> olderSegmentGenerations;
+  private long generation;
+  private int writtenSegments;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor with defined directory.
+   * @param directory The directory holding the manifest and the segment files.
+   */
+  public ProjectManagementStore(String directory) {
+    this.directory = directory;
+    memberKeys = new IdentityHashMap<>();
+    keyedMembers = new ArrayList<>();
+    segmentGenerations = new HashMap<>();
+    olderSegmentGenerations = new ArrayList<>();
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Checks whether the directory contains a manifest of any generation.
+   * @return Whether a project manager has been saved to the store.
+   */
+  public boolean exists() {
+    for (int manifestGeneration = 0; manifestGeneration <= MANIFEST_GENERATIONS; manifestGeneration++) {
+      if (manifestFile(manifestGeneration).exists()) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Getter for the number of segment files written by the last save.
+   * @return The number of segment files written by the last save.
+   */
+  public int getWrittenSegments() {
+    return writtenSegments;
+  }
+
+  // ------------------------------ Saving ------------------------------
+
+  /**
+   * Saves the project manager, rewriting only the segments of the changed projects and of projects without a segment.
+   * @param projectManager The project manager to be saved.
+   * @param journalSequence The sequence number of the last journal record contained in the project manager.
+   * @param dirtyProjectIds The ids of the projects changed since the previous save, or null to rewrite every project.
+   * @throws IOException if a segment or the manifest could not be written.
+   */
+  public void save(ProjectManagementModelManager projectManager, long journalSequence, Set<String> dirtyProjectIds) throws IOException {
+    write(prepare(projectManager, journalSequence, dirtyProjectIds));
+  }
+
+  /**
+   * Encodes the segments of the changed projects and of projects without a segment, and the manifest, in memory without
+   * writing them, so the project manager only has to stay unchanged while they are encoded and not while they are written.
+   * @param projectManager The project manager to be saved.
+   * @param journalSequence The sequence number of the last journal record contained in the project manager.
+   * @param dirtyProjectIds The ids of the projects changed since the previous save, or null to rewrite every project.
+   * @return The encoded save, which is written by write().
+   * @throws IOException if a segment or the manifest could not be encoded.
+   */
+  PendingSave prepare(ProjectManagementModelManager projectManager, long journalSequence, Set<String> dirtyProjectIds) throws IOException {
+    long newGeneration = generation + 1;
+    HashMap<String, Long> newSegmentGenerations = new HashMap<>();
+    LinkedHashMap<String, byte[]> segments = new LinkedHashMap<>();
+    List<Project> projects = projectManager.getProjectsView();
+    for (Member member : projectManager.getMembersView()) keyOf(member);
+
+    for (Project project : projects) {
+      String id = project.getId();
+      Long segmentGeneration = segmentGenerations.get(id);
+      if (segmentGeneration == null || dirtyProjectIds == null || dirtyProjectIds.contains(id)) {
+        // Projects loaded lazily are loaded on the JavaFX thread while holding their own lock.
+        synchronized (project) {
+          keyOf(project.getProjectCreator());
+          keyOf(project.getProductOwner());
+          keyOf(project.getScrumMaster());
+          for (Task task : project.getTasksView()) for (Member member : task.getAssignedMembersView()) keyOf(member);
+          segments.put(id, encode(stream -> ProjectManagementCodec.writeSegment(stream, project, memberKeys)));
+        }
+        segmentGeneration = newGeneration;
+      }
+      newSegmentGenerations.put(id, segmentGeneration);
+    }
+
+    byte[] manifest = encode(stream -> writeManifest(stream, projectManager, journalSequence, newGeneration, newSegmentGenerations));
+    return new PendingSave(newGeneration, newSegmentGenerations, segments, manifest);
+  }
+
+  /**
+   * Writes a save encoded by prepare() to the disk, after which the segments only the manifest moved out of the kept
+   * generations referred to are deleted.
+   * @param save The encoded save.
+   * @throws IOException if a segment or the manifest could not be written.
+   */
+  void write(PendingSave save) throws IOException {
+    Files.createDirectories(Paths.get(directory));
+    for (Map.Entry<String, byte[]> segment : save.segments.entrySet()) {
+      ProjectManagementPersistence.writeAtomically(segmentPath(segment.getKey(), save.generation), 0, stream -> stream.write(segment.getValue()));
+    }
+    HashSet<String> previouslyReferenced = referencedSegments();
+    ProjectManagementPersistence.writeAtomically(directory + "/" + MANIFEST_NAME, MANIFEST_GENERATIONS, stream -> stream.write(save.manifest));
+
+    // The manifest now refers to the new segments, and the previous manifest is kept as the newest older generation.
+    olderSegmentGenerations.add(0, segmentGenerations);
+    while (olderSegmentGenerations.size() > MANIFEST_GENERATIONS) olderSegmentGenerations.remove(olderSegmentGenerations.size() - 1);
+    segmentGenerations = save.segmentGenerations;
+    generation = save.generation;
+    writtenSegments = save.segments.size();
+    HashSet<String> referenced = referencedSegments();
+    for (String path : previouslyReferenced) if (!referenced.contains(path)) Files.deleteIfExists(Paths.get(path));
+  }
+
+  /**
+   * Writes the manifest. Fired members stay in the manifest as not hired, because segments written by earlier saves
+   * may still refer to them.
+   */
+  private void writeManifest(OutputStream stream, ProjectManagementModelManager projectManager, long journalSequence, long newGeneration, HashMap<String, Long> newSegmentGenerations) throws IOException {
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(MANIFEST_MAGIC);
+    out.writeInt(MANIFEST_FORMAT_VERSION);
+    out.writeLong(journalSequence);
+    out.writeLong(newGeneration);
+
+    List<Member> hiredMembers = projectManager.getMembersView();
+    IdentityHashMap<Member, Boolean> isHired = new IdentityHashMap<>();
+    for (Member member : hiredMembers) isHired.put(member, true);
+    int numberOfKeyedMembers = 0;
+    for (Member member : keyedMembers) if (member != null) numberOfKeyedMembers++;
+    out.writeInt(numberOfKeyedMembers);
+    for (Member member : hiredMembers) writeMember(out, member, true);
+    for (Member member : keyedMembers) if (member != null && !isHired.containsKey(member)) writeMember(out, member, false);
+
+    List<Project> projects = projectManager.getProjectsView();
+    out.writeInt(projects.size());
+    for (Project project : projects) {
+      out.writeUTF(project.getId());
+      out.writeLong(newSegmentGenerations.get(project.getId()));
+      out.writeUTF(project.getTitle());
+      writeDate(out, project.getDeadline());
+      synchronized (project) {
+        out.writeInt(project.getNumberOfRequirements());
+        out.writeInt(project.getNumberOfTasks());
+      }
+    }
+    out.flush();
+  }
+
+  private void writeMember(DataOutputStream out, Member member, boolean isHired) throws IOException {
+    out.writeInt(memberKeys.get(member));
+    out.writeBoolean(isHired);
+    writeNullableString(out, member.getFirstName());
+    writeNullableString(out, member.getLastName());
+    writeNullableString(out, member.getEmail());
+    out.writeLong(member.getTelephoneNumber());
+    writeDate(out, member.getBirthday());
+  }
+
+  // ------------------------------ Loading ------------------------------
+
+  /**
+   * Loads the project manager from the manifest and the segments it refers to, and deletes the segment files left
+   * behind by a save which was interrupted before its manifest was written.
+   * @return The project manager together with the journal sequence number it was saved at.
+   * @throws IOException if no manifest or the segments it refers to could be read.
+   */
+  public ProjectManagementSnapshot load() throws IOException {
+    return load(false);
+  }
+
+  /**
+   * Loads the project manager from the newest manifest which can be read, and deletes the segment files left behind by
+   * a save which was interrupted before its manifest was written.
+   * @param isLazy Whether the segments should be read when their project is first used instead of now.
+   * @return The project manager together with the journal sequence number it was saved at.
+   * @throws IOException if no manifest or the segments it refers to could be read.
+   */
+  public ProjectManagementSnapshot load(boolean isLazy) throws IOException {
+    return load(isLazy, 0);
+  }
+
+  /**
+   * Loads the project manager from the newest manifest which can be read and was saved at or after a journal sequence
+   * number, and deletes the segment files left behind by a save which was interrupted before its manifest was written.
+   * Older manifests are tried when the newest one or the segments it refers to can not be read, and every manifest which
+   * is skipped is added to the recovery warnings of the returned snapshot.
+   * When loading lazily, every project only contains its id, title, deadline and size until it is first used, at
+   * which point its segment is read. Manifests written by the first format version are always loaded eagerly.
+   * @param isLazy Whether the segments should be read when their project is first used instead of now.
+   * @param minimumJournalSequence The journal sequence number the manifest must have been saved at or after, such as
+   *                               the one the log of the journal continues from.
+   * @return The project manager together with the journal sequence number it was saved at.
+   * @throws IOException if no manifest saved at or after the journal sequence number could be read with its segments.
+   */
+  public ProjectManagementSnapshot load(boolean isLazy, long minimumJournalSequence) throws IOException {
+    Manifest loaded = null;
+    ArrayList<HashMap<String, Long>> olderGenerations = new ArrayList<>();
+    ArrayList<String> warnings = new ArrayList<>();
+    long highestGeneration = 0;
+
+    for (int manifestGeneration = 0; manifestGeneration <= MANIFEST_GENERATIONS; manifestGeneration++) {
+      File file = manifestFile(manifestGeneration);
+      if (!file.exists()) continue;
+      Manifest manifest;
+      try {
+        manifest = readManifest(file, isLazy);
+        if (loaded == null && manifest.journalSequence >= minimumJournalSequence) readSegments(manifest);
+      } catch (IOException e) {
+        warnings.add("Could not read " + file.getPath() + ", an older manifest was tried: " + ProjectManagementPersistence.reason(e));
+        continue;
+      }
+      highestGeneration = Math.max(highestGeneration, manifest.generation);
+      if (loaded == null && manifest.journalSequence >= minimumJournalSequence) loaded = manifest;
+      else {
+        if (loaded == null) warnings.add(file.getPath() + " was skipped as it is older than the projects log file.");
+        olderGenerations.add(manifest.segmentGenerations);
+      }
+    }
+    if (loaded == null) throw new IOException(warnings.isEmpty() ? "No manifest could be read." : String.join(" ", warnings));
+
+    // The next save continues after every generation read, so it never overwrites a segment a kept manifest refers to.
+    generation = highestGeneration;
+    memberKeys = loaded.memberKeys;
+    keyedMembers = loaded.keyedMembers;
+    segmentGenerations = loaded.segmentGenerations;
+    olderSegmentGenerations = olderGenerations;
+    deleteUnreferencedSegments();
+    ProjectManagementSnapshot snapshot = new ProjectManagementSnapshot(loaded.projectManager, loaded.journalSequence);
+    for (String warning : warnings) snapshot.addRecoveryWarning(warning);
+    return snapshot;
+  }
+
+  /**
+   * Reads a manifest with its members and, when loading lazily, the projects of the manifest without their content.
+   */
+  private Manifest readManifest(File file, boolean isLazy) throws IOException {
+    Manifest manifest = new Manifest();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != MANIFEST_MAGIC) throw new IOException("The manifest file was not written by this store.");
+      int version = in.readInt();
+      if (version != 1 && version != MANIFEST_FORMAT_VERSION) throw new IOException("Unsupported manifest file format version " + version + ".");
+      manifest.journalSequence = in.readLong();
+      manifest.generation = in.readLong();
+
+      int numberOfMembers = in.readInt();
+      HashMap<Integer, Member> membersByKey = new HashMap<>();
+      int highestKey = -1;
+      for (int i = 0; i < numberOfMembers; i++) {
+        int key = in.readInt();
+        boolean isHired = in.readBoolean();
+        String firstName = readNullableString(in);
+        String lastName = readNullableString(in);
+        String email = readNullableString(in);
+        long telephoneNumber = in.readLong();
+        MyDate birthday = readDate(in);
+        Member member = isHired ? manifest.projectManager.addMember(firstName, lastName, birthday, email, telephoneNumber) : new Member(firstName, lastName, birthday, email, telephoneNumber);
+        membersByKey.put(key, member);
+        manifest.memberKeys.put(member, key);
+        highestKey = Math.max(highestKey, key);
+      }
+      manifest.members = new Member[highestKey + 1];
+      for (int key = 0; key < manifest.members.length; key++) {
+        manifest.members[key] = membersByKey.get(key);
+        manifest.keyedMembers.add(manifest.members[key]);
+      }
+
+      int numberOfProjects = in.readInt();
+      for (int i = 0; i < numberOfProjects; i++) {
+        String id = in.readUTF();
+        manifest.projectIds.add(id);
+        manifest.segmentGenerations.put(id, in.readLong());
+        if (version == 1) continue;
+        String title = in.readUTF();
+        MyDate deadline = readDate(in);
+        int numberOfRequirements = in.readInt();
+        int numberOfTasks = in.readInt();
+        if (!isLazy) continue;
+        Project stub = new Project(id, title, "", deadline.getDay(), deadline.getMonth(), deadline.getYear());
+        stub.deferLoading(this::hydrate, numberOfRequirements, numberOfTasks);
+        manifest.stubs.add(stub);
+      }
+    } catch (RuntimeException e) {
+      throw new IOException("The manifest file contains invalid data.", e);
+    }
+    return manifest;
+  }
+
+  /**
+   * Adds the projects of a manifest to its project manager, reading their segments unless they are loaded lazily, in
+   * which case the segments are only checked to exist.
+   */
+  private void readSegments(Manifest manifest) throws IOException {
+    if (manifest.stubs.size() == manifest.projectIds.size()) {
+      for (String id : manifest.projectIds) {
+        String path = segmentPath(id, manifest.segmentGenerations.get(id));
+        if (!new File(path).exists()) throw new IOException("The segment file " + path + " is missing.");
+      }
+      for (Project stub : manifest.stubs) manifest.projectManager.getProjectList().addProject(stub);
+    } else for (String id : manifest.projectIds) {
+      try (InputStream in = new BufferedInputStream(new FileInputStream(segmentPath(id, manifest.segmentGenerations.get(id))))) {
+        manifest.projectManager.getProjectList().addProject(ProjectManagementCodec.readSegment(in, manifest.members));
+      }
+    }
+  }
+
+  // ------------------------------ Member Keys ------------------------------
+
+  /**
+   * Getter for the key of a member.
+   * @param member The member to look for.
+   * @return The key of the member or null if the member has no key yet.
+   */
+  Integer findMemberKey(Member member) {
+    synchronized (keyedMembers) {
+      return memberKeys.get(member);
+    }
+  }
+
+  /**
+   * Gives the member the next free key, unless it already has one.
+   * @param member The member to be keyed.
+   * @return The key of the member.
+   */
+  int keyMember(Member member) {
+    synchronized (keyedMembers) {
+      keyOf(member);
+      return memberKeys.get(member);
+    }
+  }
+
+  /**
+   * Getter for the member with a key.
+   * @param key The key of the member.
+   * @return The member with the key or null if no member has the key.
+   */
+  Member getMemberByKey(int key) {
+    synchronized (keyedMembers) {
+      return 0 <= key && key < keyedMembers.size() ? keyedMembers.get(key) : null;
+    }
+  }
+
+  /**
+   * Gives the member the key it had when the journal recorded it, so the records replayed after it find it again.
+   * @param member The member to be keyed.
+   * @param key The recorded key of the member.
+   * @throws IllegalArgumentException if the key belongs to another member.
+   */
+  void restoreMemberKey(Member member, int key) {
+    synchronized (keyedMembers) {
+      while (keyedMembers.size() <= key) keyedMembers.add(null);
+      if (keyedMembers.get(key) != null && keyedMembers.get(key) != member) throw new IllegalArgumentException("The key " + key + " belongs to another member.");
+      keyedMembers.set(key, member);
+      memberKeys.put(member, key);
+    }
+  }
+
+  /**
+   * Keys the hired members and then the other members assigned to the tasks of a project manager which was not loaded
+   * from the store, always in the same order, so the keys recorded by the journal after loading it are given again
+   * when it is loaded again.
+   * @param projectManager The project manager read from the bin or xml file.
+   */
+  void keyMembers(ProjectManagementModelManager projectManager) {
+    synchronized (keyedMembers) {
+      memberKeys = new IdentityHashMap<>();
+      keyedMembers.clear();
+      for (Member member : projectManager.getMembersView()) keyOf(member);
+      for (Project project : projectManager.getProjectsView()) {
+        keyOf(project.getProjectCreator());
+        keyOf(project.getProductOwner());
+        keyOf(project.getScrumMaster());
+        for (Task task : project.getTasksView()) for (Member member : task.getAssignedMembersView()) keyOf(member);
+      }
+    }
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Reads the segment of a project loaded lazily into the project.
+   * @throws UnsupportedOperationException if the segment could not be read.
+   */
+  private void hydrate(Project project) {
+    String id = project.getId();
+    Member[] members;
+    synchronized (keyedMembers) {
+      members = keyedMembers.toArray(new Member[0]);
+    }
+    try (InputStream in = new BufferedInputStream(new FileInputStream(segmentPath(id, segmentGenerations.get(id))))) {
+      ProjectManagementCodec.readSegmentInto(in, members, project);
+    } catch (IOException | RuntimeException e) {
+      throw new UnsupportedOperationException("Could not load project " + id + ".", e);
+    }
+  }
+
+  private void deleteUnreferencedSegments() throws IOException {
+    File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION) || name.endsWith(SEGMENT_EXTENSION + ".tmp"));
+    if (files == null) return;
+    HashSet<String> referenced = referencedSegments();
+    for (File file : files) if (!referenced.contains(segmentPath(file.getName()))) Files.deleteIfExists(file.toPath());
+  }
+
+  /**
+   * Gets the paths of the segments the current manifest and the kept older manifests refer to.
+   */
+  private HashSet<String> referencedSegments() {
+    HashSet<String> paths = new HashSet<>();
+    for (Map.Entry<String, Long> segment : segmentGenerations.entrySet()) paths.add(segmentPath(segment.getKey(), segment.getValue()));
+    for (HashMap<String, Long> older : olderSegmentGenerations) {
+      for (Map.Entry<String, Long> segment : older.entrySet()) paths.add(segmentPath(segment.getKey(), segment.getValue()));
+    }
+    return paths;
+  }
+
+  /**
+   * Gets the key of the member, giving it the next free key if it has none.
+   */
+  private void keyOf(Member member) {
+    if (member == null) return;
+    // Projects loaded lazily read the keyed members on the JavaFX thread while a save may be keying new ones.
+    synchronized (keyedMembers) {
+      if (memberKeys.containsKey(member)) return;
+      memberKeys.put(member, keyedMembers.size());
+      keyedMembers.add(member);
+    }
+  }
+
+  private static byte[] encode(ProjectManagementPersistence.ContentWriter writer) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writer.write(bytes);
+    return bytes.toByteArray();
+  }
+
+  private String segmentPath(String projectId, long segmentGeneration) {
+    return segmentPath(projectId + "." + segmentGeneration + SEGMENT_EXTENSION);
+  }
+
+  private String segmentPath(String fileName) {
+    return directory + "/" + fileName;
+  }
+
+  private File manifestFile(int manifestGeneration) {
+    return new File(directory, manifestGeneration == 0 ? MANIFEST_NAME : MANIFEST_NAME + "." + manifestGeneration);
+  }
+
+  private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) out.writeUTF(value);
+  }
+
+  private static String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void writeDate(DataOutputStream out, MyDate date) throws IOException {
+    out.writeBoolean(date != null);
+    if (date != null) {
+      out.writeByte(date.getDay());
+      out.writeByte(date.getMonth());
+      out.writeShort(date.getYear());
+    }
+  }
+
+  private static MyDate readDate(DataInputStream in) throws IOException {
+    return in.readBoolean() ? new MyDate(in.readByte(), in.readByte(), in.readShort()) : null;
+  }
+
+  /**
+   * A class to hold a manifest read from the disk until it is chosen to be loaded.
+   */
+  private static class Manifest {
+
+    private ProjectManagementModelManager projectManager = new ProjectManagementModelManager();
+    private long journalSequence;
+    private long generation;
+    private Member[] members;
+    private IdentityHashMap<Member, Integer> memberKeys = new IdentityHashMap<>();
+    private ArrayList<Member> keyedMembers = new ArrayList<>();
+    private ArrayList<String> projectIds = new ArrayList<>();
+    private ArrayList<Project> stubs = new ArrayList<>();
+    private HashMap<String, Long> segmentGenerations = new HashMap<>();
+  }
+
+  /**
+   * A class to hold a save whose segments and manifest are encoded but not yet written.
+   */
+  static class PendingSave {
+
+    private long generation;
+    private HashMap<String, Long> segmentGenerations;
+    private LinkedHashMap<String, byte[]> segments;
+    private byte[] manifest;
+
+    private PendingSave(long generation, HashMap<String, Long> segmentGenerations, LinkedHashMap<String, byte[]> segments, byte[] manifest) {
+      this.generation = generation;
+      this.segmentGenerations = segmentGenerations;
+      this.segments = segments;
+      this.manifest = manifest;
+    }
+  }
+}
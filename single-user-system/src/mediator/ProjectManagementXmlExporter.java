@@ -0,0 +1,189 @@
+package mediator;
+
+import model.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * A class to export the project manager to xml while streaming it, so exports of any size take constant memory.
+ * Every member, requirement and task is written once. Members are given the ids M0, M1, ... in the order of the
+ * member list, and the assignments refer to the ids of the assigned requirements and members.
+ * The file can be read back by {@link ProjectManagementXmlImporter}.
+ */
+public class ProjectManagementXmlExporter {
+
+  public static final String FORMAT_VERSION = "2";
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private XMLStreamWriter out;
+  private int depth;
+
+  // ------------------------------ Constructors ------------------------------
+
+  private ProjectManagementXmlExporter(XMLStreamWriter out) {
+    this.out = out;
+  }
+
+  // ------------------------------ Exporting ------------------------------
+
+  /**
+   * Exports the project manager to the stream as UTF-8 encoded xml.
+   * @param stream The stream to write to.
+   * @param projectManager The project manager to be exported.
+   * @param journalSequence The sequence number of the last journal record contained in the project manager.
+   * @throws IOException if the stream could not be written.
+   */
+  public static void export(OutputStream stream, ProjectManagementModelManager projectManager, long journalSequence) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    try {
+      XMLStreamWriter out = XMLOutputFactory.newFactory().createXMLStreamWriter(writer);
+      new ProjectManagementXmlExporter(out).writeProjectManager(projectManager, journalSequence);
+      out.close();
+    } catch (XMLStreamException e) {
+      throw new IOException("Could not export the projects to xml.", e);
+    }
+    writer.flush();
+  }
+
+  private void writeProjectManager(ProjectManagementModelManager projectManager, long journalSequence) throws XMLStreamException {
+    // Members assigned to tasks or projects without being hired are written after the hired ones.
+    ArrayList<Member> members = new ArrayList<>(projectManager.getMembersView());
+    IdentityHashMap<Member, String> memberIds = new IdentityHashMap<>();
+    for (Member member : members) memberIds.putIfAbsent(member, "M" + memberIds.size());
+    for (Project project : projectManager.getProjectsView()) {
+      addMember(project.getProjectCreator(), members, memberIds);
+      addMember(project.getProductOwner(), members, memberIds);
+      addMember(project.getScrumMaster(), members, memberIds);
+      for (Task task : project.getTasksView()) for (Member member : task.getAssignedMembersView()) addMember(member, members, memberIds);
+    }
+    int numberOfHiredMembers = projectManager.getMembersView().size();
+
+    out.writeStartDocument("UTF-8", "1.0");
+    start("projectmanagement");
+    out.writeAttribute("version", FORMAT_VERSION);
+    out.writeAttribute("journalsequence", String.valueOf(journalSequence));
+
+    start("memberlist");
+    for (int i = 0; i < members.size(); i++) {
+      Member member = members.get(i);
+      start("member");
+      out.writeAttribute("id", memberIds.get(member));
+      if (i >= numberOfHiredMembers) out.writeAttribute("hired", "false");
+      element("firstname", member.getFirstName());
+      element("lastname", member.getLastName());
+      element("email", member.getEmail());
+      element("telephonenumber", String.valueOf(member.getTelephoneNumber()));
+      element("birthday", text(member.getBirthday()));
+      end();
+    }
+    end();
+
+    start("projectlist");
+    for (Project project : projectManager.getProjectsView()) {
+      start("project");
+      element("id", project.getId());
+      element("title", project.getTitle());
+      element("description", project.getDescription());
+      element("deadline", text(project.getDeadline()));
+      reference("projectcreator", memberIds.get(project.getProjectCreator()));
+      reference("productowner", memberIds.get(project.getProductOwner()));
+      reference("scrummaster", memberIds.get(project.getScrumMaster()));
+
+      start("requirementlist");
+      for (Requirement requirement : project.getRequirementsView()) {
+        start("requirement");
+        element("id", requirement.getId());
+        element("title", requirement.getTitle());
+        element("description", requirement.getDescription());
+        element("deadline", text(requirement.getDeadline()));
+        element("prioritygroup", requirement.getPriorityGroup());
+        element("isapproved", String.valueOf(requirement.isApproved()));
+        end();
+      }
+      end();
+
+      start("tasklist");
+      for (Task task : project.getTasksView()) {
+        start("task");
+        element("id", task.getId());
+        element("title", task.getTitle());
+        element("description", task.getDescription());
+        element("deadline", text(task.getDeadline()));
+        element("status", task.getStatus());
+        element("estimatedworkhours", String.valueOf(task.getEstimatedWorkHours()));
+        element("totalworkedhours", String.valueOf(task.getTotalWorkedHours()));
+        start("assignedrequirements");
+        for (Requirement requirement : task.getAssignedRequirementsView()) reference("requirement", requirement.getId());
+        end();
+        start("assignedmembers");
+        for (Member member : task.getAssignedMembersView()) reference("member", memberIds.get(member));
+        end();
+        end();
+      }
+      end();
+
+      end();
+    }
+    end();
+
+    end();
+    out.writeCharacters("\n");
+    out.writeEndDocument();
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  private void addMember(Member member, ArrayList<Member> members, IdentityHashMap<Member, String> memberIds) {
+    if (member == null || memberIds.containsKey(member)) return;
+    memberIds.put(member, "M" + memberIds.size());
+    members.add(member);
+  }
+
+  private static String text(MyDate date) {
+    return date == null ? null : date.toString();
+  }
+
+  private void indent() throws XMLStreamException {
+    out.writeCharacters("\n");
+    for (int i = 0; i < depth; i++) out.writeCharacters("  ");
+  }
+
+  private void start(String name) throws XMLStreamException {
+    indent();
+    out.writeStartElement(name);
+    depth++;
+  }
+
+  private void end() throws XMLStreamException {
+    depth--;
+    indent();
+    out.writeEndElement();
+  }
+
+  /**
+   * Writes an element with escaped text content, or nothing if the value is null.
+   */
+  private void element(String name, String value) throws XMLStreamException {
+    if (value == null) return;
+    indent();
+    out.writeStartElement(name);
+    out.writeCharacters(value);
+    out.writeEndElement();
+  }
+
+  /**
+   * Writes an empty element referring to another entity by id, or nothing if there is no such entity.
+   */
+  private void reference(String name, String id) throws XMLStreamException {
+    if (id == null) return;
+    indent();
+    out.writeEmptyElement(name);
+    out.writeAttribute("ref", id);
+  }
+}
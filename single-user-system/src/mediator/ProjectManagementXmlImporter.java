@@ -0,0 +1,270 @@
+package mediator;
+
+import model.*;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A class to import the project manager from xml written by {@link ProjectManagementXmlExporter}.
+ * The file is streamed in a single pass which creates every member, project, requirement and task and only remembers
+ * the references between them, which are then resolved by id in a second linear pass over the remembered references.
+ */
+public class ProjectManagementXmlImporter {
+
+  private XMLStreamReader in;
+  private ProjectManagementModelManager projectManager;
+  private HashMap<String, Member> members;
+  private HashMap<String, Requirement> requirements;
+  private ArrayList<Reference> references;
+
+  // ------------------------------ Constructors ------------------------------
+
+  private ProjectManagementXmlImporter(XMLStreamReader in) {
+    this.in = in;
+    projectManager = new ProjectManagementModelManager();
+    members = new HashMap<>();
+    requirements = new HashMap<>();
+    references = new ArrayList<>();
+  }
+
+  // ------------------------------ Importing ------------------------------
+
+  /**
+   * Imports the project manager from the stream.
+   * @param stream The stream of UTF-8 encoded xml to read from.
+   * @return The project manager together with the journal sequence number it was exported at.
+   * @throws IOException if the stream could not be read or does not contain a supported version of the xml format.
+   */
+  public static ProjectManagementSnapshot read(InputStream stream) throws IOException {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    XMLStreamReader in = null;
+    try {
+      in = factory.createXMLStreamReader(stream, "UTF-8");
+      ProjectManagementXmlImporter importer = new ProjectManagementXmlImporter(in);
+      long journalSequence = importer.readProjectManager();
+      importer.resolveReferences();
+      return new ProjectManagementSnapshot(importer.projectManager, journalSequence);
+    } catch (XMLStreamException | RuntimeException e) {
+      throw new IOException("The xml file contains invalid data.", e);
+    } finally {
+      if (in != null) {
+        try {
+          in.close();
+        } catch (XMLStreamException e) {
+          // The underlying stream is closed by the caller.
+        }
+      }
+    }
+  }
+
+  private long readProjectManager() throws XMLStreamException, IOException {
+    in.nextTag();
+    in.require(XMLStreamConstants.START_ELEMENT, null, "projectmanagement");
+    String version = in.getAttributeValue(null, "version");
+    if (!ProjectManagementXmlExporter.FORMAT_VERSION.equals(version)) throw new IOException("Unsupported xml file format version " + version + ".");
+    String journalSequence = in.getAttributeValue(null, "journalsequence");
+
+    while (in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "memberlist":
+          while (in.nextTag() == XMLStreamConstants.START_ELEMENT) readMember();
+          break;
+        case "projectlist":
+          while (in.nextTag() == XMLStreamConstants.START_ELEMENT) readProject();
+          break;
+        default:
+          skipElement();
+      }
+    }
+    return journalSequence == null ? 0 : Long.parseLong(journalSequence);
+  }
+
+  private void readMember() throws XMLStreamException, IOException {
+    String id = in.getAttributeValue(null, "id");
+    boolean isHired = !"false".equals(in.getAttributeValue(null, "hired"));
+    String firstName = null;
+    String lastName = null;
+    String email = null;
+    long telephoneNumber = 0;
+    MyDate birthday = null;
+    while (in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "firstname": firstName = in.getElementText(); break;
+        case "lastname": lastName = in.getElementText(); break;
+        case "email": email = in.getElementText(); break;
+        case "telephonenumber": telephoneNumber = Long.parseLong(in.getElementText()); break;
+        case "birthday": birthday = new MyDate(in.getElementText()); break;
+        default: skipElement();
+      }
+    }
+    Member member = isHired ? projectManager.addMember(firstName, lastName, birthday, email, telephoneNumber) : new Member(firstName, lastName, birthday, email, telephoneNumber);
+    if (id == null || members.put(id, member) != null) throw new IOException("The xml file contains a member without an unique id.");
+  }
+
+  private void readProject() throws XMLStreamException, IOException {
+    String id = null;
+    String title = null;
+    String description = null;
+    MyDate deadline = null;
+    ArrayList<Reference> roles = new ArrayList<>();
+    ArrayList<Requirement> projectRequirements = new ArrayList<>();
+    ArrayList<Task> projectTasks = new ArrayList<>();
+    while (in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "id": id = in.getElementText(); break;
+        case "title": title = in.getElementText(); break;
+        case "description": description = in.getElementText(); break;
+        case "deadline": deadline = new MyDate(in.getElementText()); break;
+        case "projectcreator":
+        case "productowner":
+        case "scrummaster":
+          roles.add(readReference());
+          break;
+        case "requirementlist":
+          while (in.nextTag() == XMLStreamConstants.START_ELEMENT) projectRequirements.add(readRequirement());
+          break;
+        case "tasklist":
+          while (in.nextTag() == XMLStreamConstants.START_ELEMENT) projectTasks.add(readTask());
+          break;
+        default:
+          skipElement();
+      }
+    }
+    if (deadline == null) throw new IOException("The xml file contains a project without a deadline.");
+
+    Project project = new Project(id, title, description, deadline.getDay(), deadline.getMonth(), deadline.getYear());
+    projectManager.getProjectList().addProject(project);
+    for (Reference role : roles) role.owner = project;
+    references.addAll(roles);
+    for (Requirement requirement : projectRequirements) project.addRequirement(requirement);
+    for (Task task : projectTasks) project.addTask(task);
+  }
+
+  private Requirement readRequirement() throws XMLStreamException, IOException {
+    String id = null;
+    String title = null;
+    String description = null;
+    MyDate deadline = null;
+    String priorityGroup = null;
+    boolean isApproved = false;
+    while (in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "id": id = in.getElementText(); break;
+        case "title": title = in.getElementText(); break;
+        case "description": description = in.getElementText(); break;
+        case "deadline": deadline = new MyDate(in.getElementText()); break;
+        case "prioritygroup": priorityGroup = in.getElementText(); break;
+        case "isapproved": isApproved = Boolean.parseBoolean(in.getElementText()); break;
+        default: skipElement();
+      }
+    }
+    Requirement requirement = new Requirement(id, title, description, deadline, priorityGroup, isApproved);
+    if (id == null || requirements.put(id, requirement) != null) throw new IOException("The xml file contains a requirement without an unique id.");
+    return requirement;
+  }
+
+  private Task readTask() throws XMLStreamException, IOException {
+    String id = null;
+    String title = null;
+    String description = null;
+    String status = null;
+    float estimatedWorkHours = 0;
+    float totalWorkedHours = 0;
+    MyDate deadline = null;
+    ArrayList<Reference> assignments = new ArrayList<>();
+    while (in.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "id": id = in.getElementText(); break;
+        case "title": title = in.getElementText(); break;
+        case "description": description = in.getElementText(); break;
+        case "deadline": deadline = new MyDate(in.getElementText()); break;
+        case "status": status = in.getElementText(); break;
+        case "estimatedworkhours": estimatedWorkHours = Float.parseFloat(in.getElementText()); break;
+        case "totalworkedhours": totalWorkedHours = Float.parseFloat(in.getElementText()); break;
+        case "assignedrequirements":
+        case "assignedmembers":
+          while (in.nextTag() == XMLStreamConstants.START_ELEMENT) assignments.add(readReference());
+          break;
+        default:
+          skipElement();
+      }
+    }
+    Task task = new Task(id, title, description, status, estimatedWorkHours, totalWorkedHours, deadline);
+    for (Reference assignment : assignments) assignment.owner = task;
+    references.addAll(assignments);
+    return task;
+  }
+
+  private Reference readReference() throws XMLStreamException, IOException {
+    String id = in.getAttributeValue(null, "ref");
+    if (id == null) throw new IOException("The xml file contains a " + in.getLocalName() + " reference without an id.");
+    Reference reference = new Reference(in.getLocalName(), id);
+    skipElement();
+    return reference;
+  }
+
+  /**
+   * Resolves the remembered references now that every member and requirement has been read.
+   */
+  private void resolveReferences() throws IOException {
+    for (Reference reference : references) {
+      switch (reference.kind) {
+        case "requirement":
+          ((Task) reference.owner).restoreRequirementAssignment(find(requirements, reference));
+          break;
+        case "member":
+          ((Task) reference.owner).restoreMemberAssignment(find(members, reference));
+          break;
+        case "projectcreator":
+          ((Project) reference.owner).setProjectCreator(find(members, reference));
+          break;
+        case "productowner":
+          ((Project) reference.owner).setProductOwner(find(members, reference));
+          break;
+        case "scrummaster":
+          ((Project) reference.owner).setScrumMaster(find(members, reference));
+          break;
+        default:
+          throw new IOException("The xml file contains an unknown reference " + reference.kind + ".");
+      }
+    }
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  private static <T> T find(HashMap<String, T> entities, Reference reference) throws IOException {
+    T entity = entities.get(reference.id);
+    if (entity == null) throw new IOException("The xml file refers to an unknown " + reference.kind + " " + reference.id + ".");
+    return entity;
+  }
+
+  /**
+   * Skips the current element together with all of its content.
+   */
+  private void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = in.next();
+      if (event == XMLStreamConstants.START_ELEMENT) depth++;
+      else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+    }
+  }
+
+  private static class Reference {
+    private Object owner;
+    private String kind;
+    private String id;
+
+    private Reference(String kind, String id) {
+      this.kind = kind;
+      this.id = id;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * A class to keep the requirements, tasks or members assigned to an entity in the order they were assigned, so they
+ * are added, removed and looked up in constant time instead of by comparing them with every assigned entity.
+ * Requirements and tasks are keyed by their packed id and members by the member object itself, as they have no id.
+ * The set is saved as an array list, the same way the assignments always were, and is only keyed when first used
+ * afterwards, because the assigned entities may not be fully deserialized yet when the entity holding the set is.
+ */
+class AssignmentSet<T> implements Iterable<T> {
+
+  private Function<T, Object> keyOf;
+  private ArrayList<T> saved;
+  private LinkedHashMap<Object, T> entries;
+  private Collection<T> view;
+
+  // ------------------------------ Constructors ------------------------------
+
+  private AssignmentSet(Function<T, Object> keyOf, ArrayList<T> saved) {
+    this.keyOf = keyOf;
+    this.saved = saved == null ? new ArrayList<>() : saved;
+  }
+
+  /**
+   * Creates a set of assigned requirements.
+   * @param saved The requirements the set was saved with or null if the set starts empty.
+   * @return The set of requirements.
+   */
+  static AssignmentSet<Requirement> ofRequirements(ArrayList<Requirement> saved) {
+    return new AssignmentSet<>(requirement -> requirement.getEntityId().getValue(), saved);
+  }
+
+  /**
+   * Creates a set of assigned tasks.
+   * @param saved The tasks the set was saved with or null if the set starts empty.
+   * @return The set of tasks.
+   */
+  static AssignmentSet<Task> ofTasks(ArrayList<Task> saved) {
+    return new AssignmentSet<>(task -> task.getEntityId().getValue(), saved);
+  }
+
+  /**
+   * Creates a set of assigned members.
+   * @param saved The members the set was saved with or null if the set starts empty.
+   * @return The set of members.
+   */
+  static AssignmentSet<Member> ofMembers(ArrayList<Member> saved) {
+    return new AssignmentSet<>(IdentityKey::new, saved);
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the number of assigned entities.
+   * @return The number of assigned entities.
+   */
+  int size() {
+    return entries == null ? saved.size() : entries.size();
+  }
+
+  /**
+   * Checks whether the entity is assigned.
+   * @param entity The entity to look for.
+   * @return Whether the entity is assigned.
+   */
+  boolean contains(T entity) {
+    return entries().containsKey(keyOf.apply(entity));
+  }
+
+  /**
+   * Getter for all the assigned entities.
+   * @return A new array list with the assigned entities in the order they were assigned.
+   */
+  ArrayList<T> toList() {
+    return entries == null ? new ArrayList<>(saved) : new ArrayList<>(entries.values());
+  }
+
+  /**
+   * Getter for a read-only view of the assigned entities, which follows the changes of the set without copying them.
+   * @return The view of the assigned entities in the order they were assigned.
+   */
+  Collection<T> view() {
+    if (view == null) view = new AbstractCollection<T>() {
+      @Override public int size() {
+        return AssignmentSet.this.size();
+      }
+
+      @Override public Iterator<T> iterator() {
+        Iterator<T> iterator = AssignmentSet.this.iterator();
+        return new Iterator<T>() {
+          @Override public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override public T next() {
+            return iterator.next();
+          }
+        };
+      }
+    };
+    return view;
+  }
+
+  @Override public Iterator<T> iterator() {
+    return entries == null ? saved.iterator() : entries.values().iterator();
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Assigns the entity unless it is already assigned.
+   * @param entity The entity to be assigned.
+   * @return Whether the entity was not assigned before.
+   */
+  boolean add(T entity) {
+    return entries().putIfAbsent(keyOf.apply(entity), entity) == null;
+  }
+
+  /**
+   * Unassigns the entity if it is assigned.
+   * @param entity The entity to be unassigned.
+   * @return Whether the entity was assigned before.
+   */
+  boolean remove(T entity) {
+    return entries().remove(keyOf.apply(entity)) != null;
+  }
+
+  /**
+   * Unassigns every entity at once.
+   * @return The entities which were assigned, in the order they were assigned.
+   */
+  ArrayList<T> clear() {
+    ArrayList<T> toReturn = toList();
+    saved = new ArrayList<>();
+    entries = null;
+    return toReturn;
+  }
+
+  private LinkedHashMap<Object, T> entries() {
+    if (entries == null) {
+      entries = new LinkedHashMap<>();
+      for (T entity : saved) entries.putIfAbsent(keyOf.apply(entity), entity);
+      saved = null;
+    }
+    return entries;
+  }
+
+  /**
+   * A key comparing members by identity, as the equals method of members compares their details, which can change.
+   */
+  private static class IdentityKey {
+
+    private Object entity;
+
+    private IdentityKey(Object entity) {
+      this.entity = entity;
+    }
+
+    @Override public boolean equals(Object obj) {
+      return obj instanceof IdentityKey && ((IdentityKey) obj).entity == entity;
+    }
+
+    @Override public int hashCode() {
+      return System.identityHashCode(entity);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A class to show the entities of several sources, such as the tasks of every project or the members of every task of
+ * a requirement, as one read-only collection without copying them.
+ * The view is live: every iteration goes through the current sources and reads the entities of a source only once
+ * the entities of the previous sources were iterated. Neither the view nor its iterators can change the sources.
+ * @param <S> The type of the sources.
+ * @param <T> The type of the entities.
+ */
+class ConcatenatedView<S, T> extends AbstractCollection<T> {
+
+  private Iterable<S> sources;
+  private Function<S, ? extends Collection<T>> entities;
+  private ToIntFunction<S> sizes;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor for a view which counts the entities of every source by reading them.
+   * @param sources The sources of the entities, which are read again on every iteration.
+   * @param entities The function reading the entities of a source.
+   */
+  ConcatenatedView(Iterable<S> sources, Function<S, ? extends Collection<T>> entities) {
+    this(sources, entities, source -> entities.apply(source).size());
+  }
+
+  /**
+   * Constructor for a view which counts the entities of every source without reading them, for example to avoid
+   * loading the projects whose loading was deferred.
+   * @param sources The sources of the entities, which are read again on every iteration.
+   * @param entities The function reading the entities of a source.
+   * @param sizes The function counting the entities of a source.
+   */
+  ConcatenatedView(Iterable<S> sources, Function<S, ? extends Collection<T>> entities, ToIntFunction<S> sizes) {
+    this.sources = sources;
+    this.entities = entities;
+    this.sizes = sizes;
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  @Override public int size() {
+    int size = 0;
+    for (S source : sources) size += sizes.applyAsInt(source);
+    return size;
+  }
+
+  @Override public Iterator<T> iterator() {
+    Iterator<S> sourceIterator = sources.iterator();
+    return new Iterator<T>() {
+      private Iterator<T> current = Collections.emptyIterator();
+
+      @Override public boolean hasNext() {
+        while (!current.hasNext() && sourceIterator.hasNext()) current = entities.apply(sourceIterator.next()).iterator();
+        return current.hasNext();
+      }
+
+      @Override public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return current.next();
+      }
+    };
+  }
+}
@@ -0,0 +1,121 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A class to keep projects, requirements or tasks sorted by their deadline, so the ones due before, after or between
+ * dates are found without comparing the deadline of every one of them.
+ * The entities are grouped by their packed deadline, and the entities with the same deadline are kept apart and
+ * ordered by their packed id. Entities without a deadline are not indexed.
+ * The deadlines are expected to be replaced through the setters of the entities, which move their entries, and not
+ * changed in place.
+ */
+class DeadlineIndex<T> {
+
+  private TreeMap<Long, TreeMap<Long, T>> entries;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor to initialise all instance variables.
+   */
+  DeadlineIndex() {
+    entries = new TreeMap<>();
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for all the entities with a deadline before or on the date, which matches MyDate.isBefore().
+   * @param date The date to compare the deadlines with.
+   * @return The matching entities sorted by deadline or empty array list if none match.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  ArrayList<T> getBefore(MyDate date) {
+    return valuesOf(entries.headMap(keyOn(date), true));
+  }
+
+  /**
+   * Getter for all the entities with a deadline after the date.
+   * @param date The date to compare the deadlines with.
+   * @return The matching entities sorted by deadline or empty array list if none match.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  ArrayList<T> getAfter(MyDate date) {
+    return valuesOf(entries.tailMap(keyOn(date), false));
+  }
+
+  /**
+   * Getter for all the entities with a deadline between both dates, including both dates.
+   * @param from The first date of the range.
+   * @param to The last date of the range.
+   * @return The matching entities sorted by deadline or empty array list if none match.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  ArrayList<T> getBetween(MyDate from, MyDate to) {
+    long fromKey = keyOn(from);
+    long toKey = keyOn(to);
+    if (fromKey > toKey) return new ArrayList<>();
+    return valuesOf(entries.subMap(fromKey, true, toKey, true));
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Adds the entity to the index.
+   * @param id The packed id of the entity.
+   * @param deadline The deadline of the entity.
+   * @param entity The entity to be added.
+   */
+  void add(EntityId id, MyDate deadline, T entity) {
+    if (deadline != null) entries.computeIfAbsent(packDate(deadline), key -> new TreeMap<>()).put(id.getValue(), entity);
+  }
+
+  /**
+   * Removes the entity from the index.
+   * @param id The packed id of the entity.
+   * @param deadline The deadline the entity was added with.
+   */
+  void remove(EntityId id, MyDate deadline) {
+    if (deadline == null) return;
+    Long key = packDate(deadline);
+    TreeMap<Long, T> sameDeadline = entries.get(key);
+    if (sameDeadline == null) return;
+    sameDeadline.remove(id.getValue());
+    if (sameDeadline.isEmpty()) entries.remove(key);
+  }
+
+  /**
+   * Moves the entity to its new deadline.
+   * @param id The packed id of the entity.
+   * @param previousDeadline The deadline the entity was added with.
+   * @param deadline The new deadline of the entity.
+   * @param entity The entity to be moved.
+   */
+  void move(EntityId id, MyDate previousDeadline, MyDate deadline, T entity) {
+    remove(id, previousDeadline);
+    add(id, deadline, entity);
+  }
+
+  /**
+   * Packs the date into a number which increases with the date.
+   * @param date The date to be packed.
+   * @return The packed date.
+   */
+  static long packDate(MyDate date) {
+    return (long) date.getYear() << 9 | date.getMonth() << 5 | date.getDay();
+  }
+
+  private static long keyOn(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    return packDate(date);
+  }
+
+  private static <T> ArrayList<T> valuesOf(Map<Long, TreeMap<Long, T>> range) {
+    ArrayList<T> values = new ArrayList<>();
+    for (TreeMap<Long, T> sameDeadline : range.values()) values.addAll(sameDeadline.values());
+    return values;
+  }
+}
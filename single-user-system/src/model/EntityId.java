@@ -0,0 +1,229 @@
+package model;
+
+/**
+ * A class representing the id of a project, requirement or task packed into a single long, so ids are parsed once and
+ * then compared and hashed as numbers.
+ * Project ids are a "P" followed by 3 characters, for example PxHE, and requirement and task ids are the id of their
+ * project followed by an "R" or a "T" and 3 to 5 more characters, for example PxHER1a2 or PxHET1a2b. The wider
+ * requirement and task ids are only handed out once a project used every id with 3 characters. Every character is
+ * a digit or a letter and is packed into 6 bits, the characters of the requirement or task into the bits 0 to 29, the
+ * number of those characters minus 3 into the bits 30 and 31, the 3 characters of the project into the bits 32 to 49
+ * and the kind of the id into the bits 50 and 51.
+ * Because of that the packed value of a project id equals the project value of the ids of its requirements and tasks.
+ */
+public final class EntityId implements Comparable<EntityId> {
+
+  public static final int PROJECT_CHARACTERS = 3;
+  public static final int MIN_CHILD_CHARACTERS = 3;
+  public static final int MAX_CHILD_CHARACTERS = 5;
+
+  private static final int CHARACTER_BITS = 6;
+  private static final int CHILD_BITS = MAX_CHILD_CHARACTERS * CHARACTER_BITS;
+  private static final long CHILD_MASK = (1L << CHILD_BITS) - 1;
+  private static final int LENGTH_SHIFT = CHILD_BITS;
+  private static final int PROJECT_SHIFT = LENGTH_SHIFT + 2;
+  private static final int PROJECT_BITS = PROJECT_CHARACTERS * CHARACTER_BITS;
+  private static final long PROJECT_MASK = (1L << PROJECT_BITS) - 1;
+  private static final int KIND_SHIFT = PROJECT_SHIFT + PROJECT_BITS;
+
+  private final long value;
+
+  /**
+   * The kinds of entities which have an id, in the order of their packed values.
+   */
+  public enum Kind {
+    PROJECT, REQUIREMENT, TASK
+  }
+
+  // ------------------------------ Constructors ------------------------------
+
+  private EntityId(long value) {
+    this.value = value;
+  }
+
+  /**
+   * Parses the id of a project, requirement or task.
+   * @param id The id to parse.
+   * @return The parsed id.
+   * @throws IllegalArgumentException if the id argument is not a valid id.
+   */
+  public static EntityId parse(String id) {
+    long value = pack(id);
+    if (value < 0) throw new IllegalArgumentException("Invalid id " + id + ".");
+    return new EntityId(value);
+  }
+
+  /**
+   * Parses the id of a project, requirement or task of the given kind.
+   * @param id The id to parse.
+   * @param kind The kind of entity the id has to belong to.
+   * @return The parsed id.
+   * @throws IllegalArgumentException if the id argument is not a valid id of the given kind.
+   */
+  public static EntityId parse(String id, Kind kind) {
+    EntityId toReturn = parse(id);
+    if (toReturn.getKind() != kind) throw new IllegalArgumentException("Invalid " + kind.name().toLowerCase() + " id " + id + ".");
+    return toReturn;
+  }
+
+  /**
+   * Restores an id from its packed value, for example one read from a file.
+   * @param value The packed value returned by getValue().
+   * @return The id with the packed value.
+   * @throws IllegalArgumentException if the value argument is not the packed value of an id.
+   */
+  public static EntityId fromValue(long value) {
+    boolean isValid = value >= 0 && value >>> KIND_SHIFT <= Kind.TASK.ordinal() && isValidPart(value >>> PROJECT_SHIFT & PROJECT_MASK, PROJECT_CHARACTERS);
+    if (isValid && kindOf(value) == Kind.PROJECT) isValid = (value & (1L << PROJECT_SHIFT) - 1) == 0;
+    else if (isValid) {
+      int length = childLengthOf(value);
+      isValid = length <= MAX_CHILD_CHARACTERS && (value & CHILD_MASK) >>> (length * CHARACTER_BITS) == 0 && isValidPart(value & CHILD_MASK, length);
+    }
+    if (!isValid) throw new IllegalArgumentException("Invalid packed id " + value + ".");
+    return new EntityId(value);
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the packed value of the id.
+   * @return The packed value of the id.
+   */
+  public long getValue() {
+    return value;
+  }
+
+  /**
+   * Getter for the kind of entity the id belongs to.
+   * @return The kind of entity the id belongs to.
+   */
+  public Kind getKind() {
+    return kindOf(value);
+  }
+
+  /**
+   * Getter for the packed value of the id of the project the id belongs to.
+   * @return The packed value of the project id, which is the packed value of this id if it is a project id.
+   */
+  public long getProjectValue() {
+    return projectValueOf(value);
+  }
+
+  /**
+   * Getter for the id of the project the id belongs to.
+   * @return The project id, which is this id if it is a project id.
+   */
+  public EntityId getProjectId() {
+    return getKind() == Kind.PROJECT ? this : new EntityId(getProjectValue());
+  }
+
+  /**
+   * Checks whether both ids belong to the same project.
+   * @param other The id to compare with.
+   * @return Whether both ids have the same project id.
+   */
+  public boolean isInSameProjectAs(EntityId other) {
+    return getProjectValue() == other.getProjectValue();
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Packs the id of a project, requirement or task without creating an id object, for lookups by a string id.
+   * @param id The id to pack.
+   * @return The packed value of the id or -1 if the id is not a valid id.
+   */
+  public static long pack(String id) {
+    int projectLength = 1 + PROJECT_CHARACTERS;
+    if (id == null || id.length() < projectLength || id.charAt(0) != 'P') return -1;
+    long project = packPart(id, 1, PROJECT_CHARACTERS);
+    if (project < 0) return -1;
+    if (id.length() == projectLength) return project << PROJECT_SHIFT;
+
+    int length = id.length() - projectLength - 1;
+    if (length < MIN_CHILD_CHARACTERS || length > MAX_CHILD_CHARACTERS) return -1;
+    Kind kind;
+    if (id.charAt(projectLength) == 'R') kind = Kind.REQUIREMENT;
+    else if (id.charAt(projectLength) == 'T') kind = Kind.TASK;
+    else return -1;
+    long child = packPart(id, projectLength + 1, length);
+    if (child < 0) return -1;
+    return (long) kind.ordinal() << KIND_SHIFT | project << PROJECT_SHIFT | (long) (length - MIN_CHILD_CHARACTERS) << LENGTH_SHIFT | child;
+  }
+
+  /**
+   * Gets the packed value of the project id from the packed value of any id.
+   * @param value The packed value of a project, requirement or task id.
+   * @return The packed value of the project id.
+   */
+  public static long projectValueOf(long value) {
+    return (value >>> PROJECT_SHIFT & PROJECT_MASK) << PROJECT_SHIFT;
+  }
+
+  /**
+   * Gets the kind of entity from the packed value of any id.
+   * @param value The packed value of a project, requirement or task id.
+   * @return The kind of entity the id belongs to.
+   */
+  public static Kind kindOf(long value) {
+    return Kind.values()[(int) (value >>> KIND_SHIFT)];
+  }
+
+  private static int childLengthOf(long value) {
+    return (int) (value >>> LENGTH_SHIFT & 3) + MIN_CHILD_CHARACTERS;
+  }
+
+  private static long packPart(String id, int start, int length) {
+    long part = 0;
+    for (int i = start; i < start + length; i++) {
+      int code = codeOf(id.charAt(i));
+      if (code < 0) return -1;
+      part = part << CHARACTER_BITS | code;
+    }
+    return part;
+  }
+
+  private static boolean isValidPart(long part, int length) {
+    for (int i = 0; i < length; i++, part >>>= CHARACTER_BITS) if ((part & 0x3F) > 61) return false;
+    return true;
+  }
+
+  private static int codeOf(char character) {
+    if ('0' <= character && character <= '9') return character - '0';
+    if ('A' <= character && character <= 'Z') return character - 'A' + 10;
+    if ('a' <= character && character <= 'z') return character - 'a' + 36;
+    return -1;
+  }
+
+  private static char characterOf(long code) {
+    if (code < 10) return (char) ('0' + code);
+    if (code < 36) return (char) ('A' + code - 10);
+    return (char) ('a' + code - 36);
+  }
+
+  private static void appendPart(StringBuilder builder, long part, int length) {
+    for (int shift = (length - 1) * CHARACTER_BITS; shift >= 0; shift -= CHARACTER_BITS) builder.append(characterOf(part >>> shift & 0x3F));
+  }
+
+  @Override public int compareTo(EntityId other) {
+    return Long.compare(value, other.value);
+  }
+
+  @Override public boolean equals(Object obj) {
+    return obj instanceof EntityId && ((EntityId) obj).value == value;
+  }
+
+  @Override public int hashCode() {
+    return Long.hashCode(value);
+  }
+
+  @Override public String toString() {
+    StringBuilder builder = new StringBuilder(2 + PROJECT_CHARACTERS + MAX_CHILD_CHARACTERS).append('P');
+    appendPart(builder, value >>> PROJECT_SHIFT & PROJECT_MASK, PROJECT_CHARACTERS);
+    Kind kind = getKind();
+    if (kind == Kind.PROJECT) return builder.toString();
+    builder.append(kind == Kind.REQUIREMENT ? 'R' : 'T');
+    appendPart(builder, value & CHILD_MASK, childLengthOf(value));
+    return builder.toString();
+  }
+}
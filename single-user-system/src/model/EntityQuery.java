@@ -0,0 +1,302 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A class to find the projects, requirements, tasks or members matching several conditions at once.
+ * Every condition tests a single entity, and some of them can also be answered by an index of the model, such as the
+ * deadline or status indexes of the projects or the tasks assigned to a member. When the query runs, the planner
+ * estimates how many entities every usable index returns, reads the entities of the index with the fewest and tests
+ * the remaining conditions on them one at a time while they are iterated. Every entity is read if no index is usable
+ * or none of them is estimated to return fewer entities.
+ * The conditions are only applied when the query runs, so a query can be run several times and sees the changes of
+ * the model in between. The plan which would be used is described by explain().
+ * @param <T> The type of the entities the query finds.
+ */
+public abstract class EntityQuery<T> implements Iterable<T> {
+
+  private String entityName;
+  private ArrayList<Condition<T>> conditions;
+  private Condition<T> scope;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor to initialise all instance variables.
+   * @param entityName The name of the entities in plural, used by explain().
+   */
+  EntityQuery(String entityName) {
+    this.entityName = entityName;
+    conditions = new ArrayList<>();
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Runs the query and collects the matching entities.
+   * @return All the matching entities, in the order of the index used, or empty array list if none match.
+   */
+  public ArrayList<T> list() {
+    ArrayList<T> toReturn = new ArrayList<>();
+    for (T entity : this) toReturn.add(entity);
+    return toReturn;
+  }
+
+  /**
+   * Runs the query and counts the matching entities.
+   * @return The number of matching entities.
+   */
+  public int count() {
+    int count = 0;
+    for (Iterator<T> iterator = iterator(); iterator.hasNext(); iterator.next()) count++;
+    return count;
+  }
+
+  /**
+   * Runs the query until the first matching entity is found.
+   * @return The first matching entity, in the order of the index used.
+   * @throws NoSuchElementException if no entity matches.
+   */
+  public T first() {
+    Iterator<T> iterator = iterator();
+    if (!iterator.hasNext()) throw new NoSuchElementException("Could not find any matching " + entityName + ".");
+    return iterator.next();
+  }
+
+  /**
+   * Describes how the query would run at the moment: the index or scan chosen with its estimated number of entities,
+   * the indexes passed over and the conditions tested on every entity read.
+   * @return A string with one line per step of the plan.
+   */
+  public String explain() {
+    return plan().toString();
+  }
+
+  /**
+   * Runs the query. The entities are read and tested lazily while the iterator is advanced.
+   * @return An iterator over the matching entities, which does not support removing them.
+   */
+  @Override public Iterator<T> iterator() {
+    return plan().iterator();
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Adds a condition which can only be tested on the entities one at a time.
+   * @param description The description of the condition, used by explain().
+   * @param test The test of the condition.
+   */
+  void addCondition(String description, Predicate<? super T> test) {
+    addCondition(description, test, null);
+  }
+
+  /**
+   * Adds a condition which can also be answered by an index.
+   * @param description The description of the condition, used by explain().
+   * @param test The test of the condition.
+   * @param index The index returning the entities matching the condition, which is only created while planning, so it
+   *              sees the other conditions of the query, or null if no index answers the condition.
+   */
+  void addCondition(String description, Predicate<? super T> test, Supplier<Access<T>> index) {
+    conditions.add(new Condition<>(description, test, index));
+  }
+
+  /**
+   * Adds the condition which restricts the query to a single project. Reading the entities of the project from its
+   * own indexes, or reading all its entities, already satisfies the condition, so it is only tested on the entities
+   * read from other indexes.
+   * @param description The description of the condition, used by explain().
+   * @param test The test of the condition.
+   */
+  void addScope(String description, Predicate<? super T> test) {
+    scope = new Condition<>(description, test, null);
+    conditions.add(scope);
+  }
+
+  /**
+   * Getter for the way to read every entity the query could find, used when no index is expected to return fewer.
+   * @return The access reading every entity, within the project of the query if it is restricted to one.
+   */
+  abstract Access<T> scan();
+
+  /**
+   * Estimates the number of entities a deadline index returns, as the indexes do not count their entries by date: a
+   * third of the entities for deadlines before or after a date and a quarter for deadlines between two dates.
+   * @param size The number of entities in the index.
+   * @param isBetween Whether the deadlines are between two dates.
+   * @return The estimated number of entities returned.
+   */
+  static long estimateDeadlines(long size, boolean isBetween) {
+    return isBetween ? size / 4 : size / 3;
+  }
+
+  /**
+   * Checks whether a deadline is before or on a date, as the deadline indexes compare them.
+   * @param deadline The deadline or null if there is none.
+   * @param date The date to compare with.
+   * @return Whether there is a deadline and it is before or on the date.
+   */
+  static boolean isDueBefore(MyDate deadline, MyDate date) {
+    return deadline != null && DeadlineIndex.packDate(deadline) <= DeadlineIndex.packDate(date);
+  }
+
+  /**
+   * Checks whether a deadline is after a date, as the deadline indexes compare them.
+   * @param deadline The deadline or null if there is none.
+   * @param date The date to compare with.
+   * @return Whether there is a deadline and it is after the date.
+   */
+  static boolean isDueAfter(MyDate deadline, MyDate date) {
+    return deadline != null && DeadlineIndex.packDate(deadline) > DeadlineIndex.packDate(date);
+  }
+
+  /**
+   * Checks whether a deadline is between two dates, including both dates, as the deadline indexes compare them.
+   * @param deadline The deadline or null if there is none.
+   * @param from The first date of the range.
+   * @param to The last date of the range.
+   * @return Whether there is a deadline and it is between the dates.
+   */
+  static boolean isDueBetween(MyDate deadline, MyDate from, MyDate to) {
+    if (deadline == null) return false;
+    long packed = DeadlineIndex.packDate(deadline);
+    return DeadlineIndex.packDate(from) <= packed && packed <= DeadlineIndex.packDate(to);
+  }
+
+  /**
+   * Reads the entities of several projects one project after another, only reading the entities of a project once
+   * the entities of the previous projects were iterated.
+   * @param projects The projects to read.
+   * @param entities The function reading the entities of a project.
+   * @param <T> The type of the entities.
+   * @return An iterator over the entities of all the projects.
+   */
+  static <T> Iterator<T> acrossProjects(List<Project> projects, Function<Project, ? extends Collection<T>> entities) {
+    return new ConcatenatedView<>(new ArrayList<>(projects), entities).iterator();
+  }
+
+  private Plan<T> plan() {
+    Access<T> chosen = scan();
+    Condition<T> answered = null;
+    ArrayList<Access<T>> passedOver = new ArrayList<>();
+    for (Condition<T> condition : conditions) {
+      if (condition.index == null) continue;
+      Access<T> access = condition.index.get();
+      if (access.estimate < chosen.estimate) {
+        passedOver.add(chosen);
+        chosen = access;
+        answered = condition;
+      } else passedOver.add(access);
+    }
+    ArrayList<Condition<T>> filters = new ArrayList<>();
+    for (Condition<T> condition : conditions) {
+      if (condition != answered && (condition != scope || !chosen.withinScope)) filters.add(condition);
+    }
+    return new Plan<>(entityName, chosen, passedOver, filters);
+  }
+
+  /**
+   * A condition of a query with the index answering it, if any.
+   */
+  static class Condition<T> {
+
+    private String description;
+    private Predicate<? super T> test;
+    private Supplier<Access<T>> index;
+
+    private Condition(String description, Predicate<? super T> test, Supplier<Access<T>> index) {
+      this.description = description;
+      this.test = test;
+      this.index = index;
+    }
+  }
+
+  /**
+   * A way to read the entities of a query, either from an index or by reading all of them, with the number of entities
+   * it is estimated to return.
+   */
+  static class Access<T> {
+
+    private String description;
+    private long estimate;
+    private Supplier<Iterator<T>> entities;
+    private boolean withinScope;
+
+    /**
+     * Constructor to initialise all instance variables.
+     * @param description The description of the access, used by explain().
+     * @param estimate The estimated number of entities read.
+     * @param entities The supplier of the iterator reading the entities, called once the query runs.
+     * @param withinScope Whether the access only reads entities of the project the query is restricted to.
+     */
+    Access(String description, long estimate, Supplier<Iterator<T>> entities, boolean withinScope) {
+      this.description = description;
+      this.estimate = estimate;
+      this.entities = entities;
+      this.withinScope = withinScope;
+    }
+  }
+
+  /**
+   * The access chosen to run a query together with the conditions left to test.
+   */
+  private static class Plan<T> {
+
+    private String entityName;
+    private Access<T> chosen;
+    private ArrayList<Access<T>> passedOver;
+    private ArrayList<Condition<T>> filters;
+
+    private Plan(String entityName, Access<T> chosen, ArrayList<Access<T>> passedOver, ArrayList<Condition<T>> filters) {
+      this.entityName = entityName;
+      this.chosen = chosen;
+      this.passedOver = passedOver;
+      this.filters = filters;
+    }
+
+    private Iterator<T> iterator() {
+      Iterator<T> entities = chosen.entities.get();
+      return new Iterator<T>() {
+        private T next;
+
+        @Override public boolean hasNext() {
+          while (next == null && entities.hasNext()) {
+            T entity = entities.next();
+            if (matches(entity)) next = entity;
+          }
+          return next != null;
+        }
+
+        @Override public T next() {
+          if (!hasNext()) throw new NoSuchElementException();
+          T toReturn = next;
+          next = null;
+          return toReturn;
+        }
+      };
+    }
+
+    private boolean matches(T entity) {
+      for (Condition<T> filter : filters) if (!filter.test.test(entity)) return false;
+      return true;
+    }
+
+    @Override public String toString() {
+      StringBuilder builder = new StringBuilder("Query of ").append(entityName).append('\n');
+      builder.append("  read: ").append(chosen.description).append(", about ").append(chosen.estimate).append(' ').append(entityName).append('\n');
+      for (Access<T> access : passedOver) {
+        builder.append("  passed over: ").append(access.description).append(", about ").append(access.estimate).append(' ').append(entityName).append('\n');
+      }
+      for (Condition<T> filter : filters) builder.append("  test: ").append(filter.description).append('\n');
+      return builder.toString();
+    }
+  }
+}
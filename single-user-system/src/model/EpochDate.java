@@ -0,0 +1,272 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * A class representing a date as the number of days since 01/01/1970, so dates are compared, moved by any number of
+ * days and turned into days of the week with a few arithmetic operations instead of stepping through the calendar.
+ * The dates are immutable and follow the gregorian calendar for every year. They are converted from and to MyDate
+ * objects, which stay the dates stored by the projects, requirements, tasks and members.
+ */
+public final class EpochDate implements Comparable<EpochDate> {
+
+  private static final long DAYS_FROM_YEAR_0_TO_1970 = 719468;
+  private static final long DAYS_PER_400_YEARS = 146097;
+
+  private static volatile Today today;
+
+  private final long epochDay;
+
+  // ------------------------------ Constructors ------------------------------
+
+  private EpochDate(long epochDay) {
+    this.epochDay = epochDay;
+  }
+
+  /**
+   * Creates the date of the given day.
+   * @param day Value between [1; 31] representing the day, which has to exist in the month.
+   * @param month Value between [1; 12] representing the month.
+   * @param year Value representing the year.
+   * @return The date.
+   * @throws IllegalArgumentException if any of the arguments are invalid.
+   */
+  public static EpochDate of(int day, int month, int year) {
+    if (month < 1 || 12 < month) throw new IllegalArgumentException("Invalid month argument.");
+    if (day < 1 || lengthOfMonth(month, year) < day) throw new IllegalArgumentException("Invalid day argument.");
+    return new EpochDate(epochDayOf(day, month, year));
+  }
+
+  /**
+   * Creates the date a number of days after 01/01/1970.
+   * @param epochDay The number of days since 01/01/1970, negative for earlier dates.
+   * @return The date.
+   */
+  public static EpochDate ofEpochDay(long epochDay) {
+    return new EpochDate(epochDay);
+  }
+
+  /**
+   * Converts a MyDate object. A day beyond the end of its month, which MyDate accepts, is counted into the next month.
+   * @param date The date to convert.
+   * @return The date.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public static EpochDate from(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    return new EpochDate(epochDayOf(date.getDay(), date.getMonth(), date.getYear()));
+  }
+
+  /**
+   * Getter for the current date of the os, which is only read again once the cached date has passed.
+   * @return The current date.
+   */
+  public static EpochDate today() {
+    Today cached = today;
+    long now = System.currentTimeMillis();
+    if (cached == null || now < cached.from || cached.until <= now) today = cached = new Today();
+    return cached.date;
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the number of days since 01/01/1970.
+   * @return The number of days since 01/01/1970, negative for earlier dates.
+   */
+  public long getEpochDay() {
+    return epochDay;
+  }
+
+  /**
+   * Getter for the day of the month.
+   * @return Value between [1; 31] representing the day.
+   */
+  public int getDay() {
+    long dayOfYear = dayOfYearFromMarch();
+    return (int) (dayOfYear - (153 * monthFromMarch(dayOfYear) + 2) / 5 + 1);
+  }
+
+  /**
+   * Getter for the month.
+   * @return Value between [1; 12] representing the month.
+   */
+  public int getMonth() {
+    long month = monthFromMarch(dayOfYearFromMarch());
+    return (int) (month < 10 ? month + 3 : month - 9);
+  }
+
+  /**
+   * Getter for the year.
+   * @return Value representing the year.
+   */
+  public int getYear() {
+    long days = epochDay + DAYS_FROM_YEAR_0_TO_1970;
+    long era = Math.floorDiv(days, DAYS_PER_400_YEARS);
+    long yearOfEra = yearOfEra(days - era * DAYS_PER_400_YEARS);
+    return (int) (era * 400 + yearOfEra + (getMonth() <= 2 ? 1 : 0));
+  }
+
+  /**
+   * Getter for the day of the week.
+   * @return Value between [1; 7] representing the day, starting with 1 for Monday.
+   */
+  public int getDayOfWeek() {
+    return Math.floorMod(epochDay + 3, 7) + 1;
+  }
+
+  /**
+   * Returns the english name for the day of the date.
+   * @return A string with the day name.
+   */
+  public String dayOfWeek() {
+    return new String[] {
+        "Monday",
+        "Tuesday",
+        "Wednesday",
+        "Thursday",
+        "Friday",
+        "Saturday",
+        "Sunday"
+    }[getDayOfWeek() - 1];
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Moves the date forward.
+   * @param days The number of days to move the date by, negative to move it back.
+   * @return The moved date.
+   */
+  public EpochDate plusDays(long days) {
+    return days == 0 ? this : new EpochDate(epochDay + days);
+  }
+
+  /**
+   * Moves the date back.
+   * @param days The number of days to move the date by, negative to move it forward.
+   * @return The moved date.
+   */
+  public EpochDate minusDays(long days) {
+    return plusDays(-days);
+  }
+
+  /**
+   * Counts the days until the argument date.
+   * @param other The date to count to.
+   * @return The number of days until the argument date, negative if it is before this date.
+   */
+  public long daysUntil(EpochDate other) {
+    return other.epochDay - epochDay;
+  }
+
+  /**
+   * Checks whether the date is strictly before the argument date.
+   * @param other A date to compare to.
+   * @return Whether the date is before the argument date.
+   */
+  public boolean isBefore(EpochDate other) {
+    return epochDay < other.epochDay;
+  }
+
+  /**
+   * Checks whether the date is strictly after the argument date.
+   * @param other A date to compare to.
+   * @return Whether the date is after the argument date.
+   */
+  public boolean isAfter(EpochDate other) {
+    return epochDay > other.epochDay;
+  }
+
+  /**
+   * Converts the date into a MyDate object.
+   * @return A new MyDate object with the same date.
+   * @throws IllegalArgumentException if the year is before the year 0, which MyDate does not support.
+   */
+  public MyDate toMyDate() {
+    return new MyDate(getDay(), getMonth(), getYear());
+  }
+
+  /**
+   * Calculates the number of days in a month.
+   * @param month Value between [1; 12] representing the month.
+   * @param year Value representing the year.
+   * @return Value between [28, 31] representing the number of days in month.
+   */
+  static int lengthOfMonth(int month, int year) {
+    boolean isLeapYear = (year & 3) == 0 && ((year % 25) != 0 || (year & 15) == 0);
+    return 31 - (month == 2 ? isLeapYear ? 2 : 3 : (month - 1) % 7 % 2);
+  }
+
+  /**
+   * Calculates the number of days from 01/01/1970 to a date, counting a day beyond the end of its month into the next
+   * month. The years are counted from March, so the leap day is the last day of a year and the months have a fixed
+   * pattern of lengths.
+   * @param day The day of the date.
+   * @param month Value between [1; 12] representing the month.
+   * @param year Value representing the year.
+   * @return The number of days since 01/01/1970, negative for earlier dates.
+   */
+  static long epochDayOf(int day, int month, int year) {
+    long yearFromMarch = month <= 2 ? year - 1L : year;
+    long era = Math.floorDiv(yearFromMarch, 400);
+    long yearOfEra = yearFromMarch - era * 400;
+    long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * DAYS_PER_400_YEARS + dayOfEra - DAYS_FROM_YEAR_0_TO_1970;
+  }
+
+  private long dayOfYearFromMarch() {
+    long days = epochDay + DAYS_FROM_YEAR_0_TO_1970;
+    long dayOfEra = days - Math.floorDiv(days, DAYS_PER_400_YEARS) * DAYS_PER_400_YEARS;
+    long yearOfEra = yearOfEra(dayOfEra);
+    return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+  }
+
+  private static long yearOfEra(long dayOfEra) {
+    return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+  }
+
+  private static long monthFromMarch(long dayOfYear) {
+    return (5 * dayOfYear + 2) / 153;
+  }
+
+  @Override public int compareTo(EpochDate other) {
+    return Long.compare(epochDay, other.epochDay);
+  }
+
+  @Override public boolean equals(Object obj) {
+    return obj instanceof EpochDate && ((EpochDate) obj).epochDay == epochDay;
+  }
+
+  @Override public int hashCode() {
+    return Long.hashCode(epochDay);
+  }
+
+  /**
+   * Returns a string with the the formatted date.
+   * @return A string representing the date formatted as dd/mm/yyyy.
+   */
+  @Override public String toString() {
+    return String.format("%02d/%02d/%02d", getDay(), getMonth(), getYear());
+  }
+
+  /**
+   * The current date together with the time span of the os clock it is valid for.
+   */
+  private static class Today {
+
+    private EpochDate date;
+    private long from;
+    private long until;
+
+    private Today() {
+      LocalDate now = LocalDate.now();
+      ZoneId zone = ZoneId.systemDefault();
+      date = new EpochDate(now.toEpochDay());
+      from = now.atStartOfDay(zone).toInstant().toEpochMilli();
+      until = now.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+  }
+}
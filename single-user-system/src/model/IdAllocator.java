@@ -0,0 +1,122 @@
+package model;
+
+import java.util.BitSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A class to hand out unused ids of projects, or of the requirements or tasks of a project, without generating random
+ * ids until one is free.
+ * Every id of the namespace ends with at least 3 characters out of the 59 digits and letters other than "P", "R" and
+ * "T", which gives 205379 possible ids with 3 characters. Once all of them are used, the allocator hands out wider ids
+ * with one more character, up to the maximum number of characters of the namespace. The ids in use are kept as a
+ * bitmap of these combinations per width, which is only created once ids of that width are used, and a new id starts
+ * at a random combination and takes the next unused one from there. Ids with other characters, which can only come
+ * from older files, are never handed out, so they do not need to be tracked.
+ * The allocator is safe to use from several threads at once and never hands out the same id twice until it is released.
+ */
+class IdAllocator {
+
+  private static final String CHARACTERS = "0123456789ABCDEFGHIJKLMNOQSUVWXYZabcdefghijklmnopqrstuvwxyz";
+  private static final int MIN_CHARACTERS = 3;
+
+  private int prefixLength;
+  private int maxCharacters;
+  private BitSet[] used;
+  private int[] numberOfUsed;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor with defined widths of the ids.
+   * @param prefixLength The length of the part of every id before the allocated characters, for example 1 for "P".
+   * @param maxCharacters Value between [3; 5] representing the maximum number of characters after the prefix.
+   * @throws IllegalArgumentException if the max characters argument is invalid.
+   */
+  IdAllocator(int prefixLength, int maxCharacters) {
+    // The ids with 6 characters would not fit the int indexes of a bitmap.
+    if (maxCharacters < MIN_CHARACTERS || maxCharacters > 5) throw new IllegalArgumentException("The ids must have between 3 and 5 characters.");
+    this.prefixLength = prefixLength;
+    this.maxCharacters = maxCharacters;
+    used = new BitSet[maxCharacters - MIN_CHARACTERS + 1];
+    numberOfUsed = new int[used.length];
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Hands out an unused id and marks it as used, with the fewest characters any unused id has.
+   * @param prefix The part of the id before the allocated characters, for example "P" or the project id followed by "T".
+   * @return The unused id.
+   * @throws UnsupportedOperationException if every id of the namespace is used.
+   */
+  synchronized String allocate(String prefix) {
+    int width = 0;
+    while (width < used.length && numberOfUsed[width] == numberOfIds(width)) width++;
+    if (width == used.length) throw new UnsupportedOperationException("Could not generate an id because all ids with up to " + maxCharacters + " characters are used.");
+    int numberOfIds = numberOfIds(width);
+    BitSet bitmap = bitmap(width);
+    int slot = bitmap.nextClearBit(ThreadLocalRandom.current().nextInt(numberOfIds));
+    if (slot >= numberOfIds) slot = bitmap.nextClearBit(0);
+    bitmap.set(slot);
+    numberOfUsed[width]++;
+
+    char[] characters = new char[MIN_CHARACTERS + width];
+    for (int i = characters.length - 1; i >= 0; i--, slot /= CHARACTERS.length()) characters[i] = CHARACTERS.charAt(slot % CHARACTERS.length());
+    return prefix + new String(characters);
+  }
+
+  /**
+   * Marks the id as used, for example when a saved entity is added.
+   * @param id The id in use.
+   */
+  synchronized void markUsed(String id) {
+    int width = widthOf(id);
+    int slot = slotOf(id);
+    if (slot < 0 || bitmap(width).get(slot)) return;
+    used[width].set(slot);
+    numberOfUsed[width]++;
+  }
+
+  /**
+   * Marks the id as unused after the entity with the id was removed.
+   * @param id The id which is no longer used.
+   */
+  synchronized void release(String id) {
+    int width = widthOf(id);
+    int slot = slotOf(id);
+    if (slot < 0 || used[width] == null || !used[width].get(slot)) return;
+    used[width].clear(slot);
+    numberOfUsed[width]--;
+  }
+
+  private BitSet bitmap(int width) {
+    // The bitmaps of the wider ids are only created when needed, as most namespaces never use them.
+    if (used[width] == null) used[width] = new BitSet(width == 0 ? numberOfIds(0) : 0);
+    return used[width];
+  }
+
+  private static int numberOfIds(int width) {
+    int numberOfIds = 1;
+    for (int i = 0; i < MIN_CHARACTERS + width; i++) numberOfIds *= CHARACTERS.length();
+    return numberOfIds;
+  }
+
+  /**
+   * Gets the index of the bitmap of the width of the id, which is only valid if slotOf() is not negative.
+   */
+  private int widthOf(String id) {
+    return id == null ? -1 : id.length() - prefixLength - MIN_CHARACTERS;
+  }
+
+  private int slotOf(String id) {
+    int width = widthOf(id);
+    if (width < 0 || width >= used.length) return -1;
+    int slot = 0;
+    for (int i = prefixLength; i < id.length(); i++) {
+      int index = CHARACTERS.indexOf(id.charAt(i));
+      if (index < 0) return -1;
+      slot = slot * CHARACTERS.length() + index;
+    }
+    return slot;
+  }
+}
@@ -0,0 +1,82 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * A class to share a single object between every project, requirement, task and member with the same deadline,
+ * birthday, title or name, instead of every one of them holding its own copy.
+ * Shared dates can not be changed anymore, so changing the date of one entity can not change the date of another one,
+ * and they are replaced through the setters of the entities instead. Only strings with few distinct values, such as
+ * titles and names, are worth sharing, descriptions, ids and emails are mostly unique and are kept as they are.
+ * The shared objects are only referenced weakly, so they are released once no entity uses them anymore.
+ */
+public final class Interner {
+
+  private static final WeakHashMap<MyDate, WeakReference<MyDate>> dates = new WeakHashMap<>();
+  private static final WeakHashMap<String, WeakReference<String>> strings = new WeakHashMap<>();
+
+  private Interner() {
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the number of shared dates still in use.
+   * @return The number of shared dates.
+   */
+  public static int getNumberOfDates() {
+    synchronized (dates) {
+      return dates.size();
+    }
+  }
+
+  /**
+   * Getter for the number of shared strings still in use.
+   * @return The number of shared strings.
+   */
+  public static int getNumberOfStrings() {
+    synchronized (strings) {
+      return strings.size();
+    }
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Gets the shared date equal to the argument date, which is copied and shared if no equal date is shared yet.
+   * @param date The date to look for.
+   * @return The shared date, which can not be changed, or null if the date argument is null.
+   */
+  public static MyDate date(MyDate date) {
+    if (date == null || date.isShared()) return date;
+    synchronized (dates) {
+      WeakReference<MyDate> reference = dates.get(date);
+      MyDate shared = reference == null ? null : reference.get();
+      if (shared == null) {
+        shared = date.copy();
+        shared.share();
+        dates.put(shared, new WeakReference<>(shared));
+      }
+      return shared;
+    }
+  }
+
+  /**
+   * Gets the shared string equal to the argument string, which is shared if no equal string is shared yet.
+   * @param string The string to look for.
+   * @return The shared string or null if the string argument is null.
+   */
+  public static String string(String string) {
+    if (string == null) return null;
+    synchronized (strings) {
+      WeakReference<String> reference = strings.get(string);
+      String shared = reference == null ? null : reference.get();
+      if (shared == null) {
+        shared = string;
+        strings.put(shared, new WeakReference<>(shared));
+      }
+      return shared;
+    }
+  }
+}
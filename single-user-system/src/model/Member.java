@@ -1,6 +1,11 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 
 /**
@@ -8,12 +13,29 @@ import java.io.Serializable;
  */
 public class Member implements Serializable {
 
+  private static final long serialVersionUID = 1254123425359813941L;
+
+  /**
+   * The fields written to serialized members, which keep the assigned tasks as an array list to stay compatible with
+   * older files.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("firstName", String.class),
+      new ObjectStreamField("lastName", String.class),
+      new ObjectStreamField("email", String.class),
+      new ObjectStreamField("telephoneNumber", long.class),
+      new ObjectStreamField("assignedTasks", ArrayList.class),
+      new ObjectStreamField("birthday", MyDate.class)
+  };
+
   private String firstName;
   private String lastName;
   private String email;
   private long telephoneNumber;
-  private ArrayList<Task> assignedTasks;
+  private transient AssignmentSet<Task> assignedTasks;
   private MyDate birthday;
+  private transient MemberList memberList;
+  private transient ModelChanges changes;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -28,10 +50,10 @@ public class Member implements Serializable {
   public Member(String firstName, String lastName, MyDate birthday, String email, long telephoneNumber) {
     setFirstName(firstName);
     setLastName(lastName);
-    this.birthday = birthday.copy();
+    setBirthday(birthday);
     setEmail(email);
     setTelephoneNumber(telephoneNumber);
-    assignedTasks = new ArrayList<>();
+    assignedTasks = AssignmentSet.ofTasks(null);
   }
 
   /**
@@ -52,7 +74,10 @@ public class Member implements Serializable {
    * @param firstName The first name of the member.
    */
   public void setFirstName(String firstName) {
-    this.firstName = firstName;
+    String previousFirstName = this.firstName;
+    this.firstName = Interner.string(firstName);
+    if (memberList != null) memberList.nameChanged(this, previousFirstName, lastName);
+    edited();
   }
 
   /**
@@ -60,7 +85,10 @@ public class Member implements Serializable {
    * @param lastName The last name of the member.
    */
   public void setLastName(String lastName) {
-    this.lastName = lastName;
+    String previousLastName = this.lastName;
+    this.lastName = Interner.string(lastName);
+    if (memberList != null) memberList.nameChanged(this, firstName, previousLastName);
+    edited();
   }
 
   /**
@@ -68,7 +96,23 @@ public class Member implements Serializable {
    * @param email The email of the member.
    */
   public void setEmail(String email) {
+    String previousEmail = this.email;
     this.email = email;
+    if (memberList != null) memberList.emailChanged(this, previousEmail);
+    edited();
+  }
+
+  /**
+   * Setter for birthday instance variable.
+   * @param birthday The birthday of the member, which is shared with the members born on the same day.
+   * @throws IllegalArgumentException if the birthday argument is null.
+   */
+  public void setBirthday(MyDate birthday) {
+    MyDate previousBirthday = this.birthday;
+    if (birthday == null) throw new IllegalArgumentException("Null birthday argument.");
+    this.birthday = Interner.date(birthday);
+    if (memberList != null) memberList.birthdayChanged(this, previousBirthday);
+    edited();
   }
 
   /**
@@ -77,6 +121,7 @@ public class Member implements Serializable {
    */
   public void setTelephoneNumber(long telephoneNumber) {
     this.telephoneNumber = telephoneNumber;
+    edited();
   }
 
   // ------------------------------ Getters for Instance Variables ------------------------------
@@ -136,40 +181,74 @@ public class Member implements Serializable {
    * @return All the assigned tasks to this member.
    */
   public ArrayList<Task> getAllAssignedTasks() {
-    return assignedTasks;
+    return assignedTasks.toList();
+  }
+
+  /**
+   * Getter for a read-only view of the tasks assigned to this member, which follows the changes of the assignments
+   * without copying them.
+   * @return The view of the assigned tasks in the order they were assigned.
+   */
+  public Collection<Task> getAssignedTasksView() {
+    return assignedTasks.view();
+  }
+
+  /**
+   * Getter for the number of tasks assigned to this member.
+   * @return The number of tasks assigned to this member.
+   */
+  public int getNumberOfAssignedTasks() {
+    return assignedTasks.size();
+  }
+
+  /**
+   * Checks whether the task is assigned to this member.
+   * @param task The task to look for.
+   * @return Whether the task is assigned to this member.
+   */
+  public boolean isAssigned(Task task) {
+    return assignedTasks.contains(task);
   }
 
   // ------------------------------ Other Methods ------------------------------
 
   /**
-   * Assigns task to this member.
+   * Assigns task to this member and this member to the task.
    * @param taskToAssign The task object to be assigned.
    */
   public void assignTask(Task taskToAssign) {
-    for (Task task : assignedTasks) if (task.getId().equals(taskToAssign.getId())) return;
-    assignedTasks.add(taskToAssign);
     taskToAssign.assignMember(this);
   }
 
   /**
-   * Unassigns member argument from this task.
+   * Unassigns task argument from this member and this member from the task.
    * @param taskToUnassign The task needed to be unassigned.
    */
   public void unassignFromTask(Task taskToUnassign) {
-    for (int i = 0; i < assignedTasks.size(); i++) if (assignedTasks.get(i).getId().equals(taskToUnassign.getId())) {
-      assignedTasks.remove(i);
-      taskToUnassign.unassignMember(this);
-      return;
-    }
+    taskToUnassign.unassignMember(this);
+  }
+
+  /**
+   * Adds task to the assigned tasks without assigning this member back to the task, which is done by the task.
+   * @param task The task object to be added.
+   */
+  void linkTask(Task task) {
+    assignedTasks.add(task);
   }
 
   /**
-   * Unassigns every task argument from this member.
+   * Removes task from the assigned tasks without unassigning this member from the task, which is done by the task.
+   * @param task The task object to be removed.
+   */
+  void unlinkTask(Task task) {
+    assignedTasks.remove(task);
+  }
+
+  /**
+   * Unassigns every task argument from this member and this member from every task.
    */
   public void unassignFromEveryTask() {
-    for (Task task : assignedTasks) {
-      unassignFromTask(task);
-    }
+    for (Task task : assignedTasks.clear()) task.unlinkMember(this);
   }
 
   /**
@@ -182,4 +261,47 @@ public class Member implements Serializable {
     Member other = (Member) obj;
     return firstName.equals(other.firstName) && lastName.equals(other.lastName) && email.equals(other.email) && birthday.equals(other.birthday);
   }
-}
\ No newline at end of file
+
+  /**
+   * Setter for the list the member belongs to, whose indexes are updated when the name, email or birthday of the
+   * member change.
+   * @param memberList The list or null if the member was fired.
+   */
+  void setMemberList(MemberList memberList) {
+    this.memberList = memberList;
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model the member belongs to.
+   * @param changes The tracker or null if the member is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+  }
+
+  private void edited() {
+    if (changes != null) changes.entityEdited(this);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("firstName", firstName);
+    fields.put("lastName", lastName);
+    fields.put("email", email);
+    fields.put("telephoneNumber", telephoneNumber);
+    fields.put("assignedTasks", assignedTasks.toList());
+    fields.put("birthday", birthday);
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    firstName = Interner.string((String) fields.get("firstName", null));
+    lastName = Interner.string((String) fields.get("lastName", null));
+    email = (String) fields.get("email", null);
+    telephoneNumber = fields.get("telephoneNumber", 0L);
+    assignedTasks = AssignmentSet.ofTasks((ArrayList<Task>) fields.get("assignedTasks", null));
+    birthday = Interner.date((MyDate) fields.get("birthday", null));
+  }
+}
@@ -1,15 +1,28 @@
 package model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
-import java.io.Serializable;
 
 /**
  * A class to create, store and process members.
+ * The members are indexed by their email, by their full name and by their birthday, so they are found without
+ * comparing every member. Emails and names are looked up ignoring case and surrounding spaces.
  */
 public class MemberList implements Serializable {
 
+  private static final long serialVersionUID = 4736710305614446950L;
+
   private ArrayList<Member> memberList;
+  private transient HashMap<String, ArrayList<Member>> membersByEmail;
+  private transient HashMap<String, ArrayList<Member>> membersByFullName;
+  private transient HashMap<Long, ArrayList<Member>> membersByBirthday;
+  private transient ModelChanges changes;
+  private transient List<Member> membersView;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -24,10 +37,19 @@ public class MemberList implements Serializable {
 
   /**
    * Getter for all the members.
-   * @return All the members or empty array list if no members are linked.
+   * @return A new array list with all the members or empty array list if no members are linked.
    */
   public ArrayList<Member> getAllMembers() {
-    return memberList;
+    return new ArrayList<>(memberList);
+  }
+
+  /**
+   * Getter for a read-only view of the members, which follows the changes of the list without copying it.
+   * @return The view of the members in the order they were hired.
+   */
+  public List<Member> getMembersView() {
+    if (membersView == null) membersView = Collections.unmodifiableList(memberList);
+    return membersView;
   }
 
   /**
@@ -36,31 +58,33 @@ public class MemberList implements Serializable {
    * @return All the members with that birtday or empty array list if no members are linked.
    */
   public ArrayList<Member> getMembersByBirthday(MyDate birthday) {
-    ArrayList<Member> membersToReturn = new ArrayList<>();
-    for (Member member : memberList) if (member.getBirthday().equals(birthday)) membersToReturn.add(member);
-    return membersToReturn;
+    if (birthday == null) return new ArrayList<>();
+    ArrayList<Member> members = byBirthday().get(birthdayKey(birthday));
+    return members == null ? new ArrayList<>() : new ArrayList<>(members);
   }
 
   /**
    * Getter for member by full name.
    * @param firstName The first name of the member to look for.
    * @param lastName The last name of the member to look for.
-   * @return The member with equal full name.
+   * @return The member with equal full name, the one indexed first if several members share it.
    * @throws NoSuchElementException if a member with matching full name could not be found.
    */
-    public Member getMemberByFullName(String firstName, String lastName) {
-      for (Member member : memberList) if (member.getFirstName().equals(firstName) && member.getLastName().equals(lastName)) return member;
-      throw new NoSuchElementException("Could not find any member with that name.");
-    }
+  public Member getMemberByFullName(String firstName, String lastName) {
+    ArrayList<Member> members = byFullName().get(fullNameKey(firstName, lastName));
+    if (members == null) throw new NoSuchElementException("Could not find any member with that name.");
+    return members.get(0);
+  }
 
   /**
    * Getter for member by email.
    * @param email The email of the member to look for.
-   * @return The member with equal email.
+   * @return The member with equal email, the one indexed first if several members share it.
    * @throws NoSuchElementException if a member with matching email could not be found.
    */
   public Member getMemberByEmail(String email) {
-    for (Member member : memberList) if (member.getEmail().equals(email)) return member;
+    ArrayList<Member> members = byEmail().get(emailKey(email));
+    if (members != null) return members.get(0);
     throw new NoSuchElementException("Could not find any member with that eamil.");
   }
 
@@ -80,7 +104,7 @@ public class MemberList implements Serializable {
   public Member hireMember(String firstName, String lastName, MyDate birthday, String email, long telephoneNumber) {
     //for (Member member : memberList) if (member.getFirstName().equals(firstName) && member.getLastName().equals(lastName) || member.getEmail().equals(email)) throw new IllegalArgumentException("A member with this full name or email is already registered.");
     Member memberToReturn = new Member(firstName, lastName, birthday, email, telephoneNumber);
-    memberList.add(memberToReturn);
+    link(memberToReturn);
     return memberToReturn;
   }
 
@@ -97,7 +121,7 @@ public class MemberList implements Serializable {
   public Member hireMember(String firstName, String lastName, MyDate birthday, String email) {
     //for (Member member : memberList) if (member.getFirstName().equals(firstName) && member.getLastName().equals(lastName) || member.getEmail().equals(email)) throw new IllegalArgumentException("A member with this full name or email is already registered.");
     Member memberToReturn = new Member(firstName, lastName, birthday, email);
-    memberList.add(memberToReturn);
+    link(memberToReturn);
     return memberToReturn;
   }
 
@@ -109,12 +133,11 @@ public class MemberList implements Serializable {
    * @throws NoSuchElementException if a member with matching full name could not be found.
    */
   public void fireMember(String firstName, String lastName) {
-    for (int i = 0; i < memberList.size(); i++) if (memberList.get(i).getFirstName().equals(firstName) && memberList.get(i).getLastName().equals(lastName)) {
-      if (memberList.get(i).getAllAssignedTasks().size() != 0) throw new UnsupportedOperationException("Could not fire member because he has assigned tasks.");
-      memberList.remove(i);
-      return;
-    }
-    throw new NoSuchElementException("Could not find the member wtih this name.");
+    ArrayList<Member> members = byFullName().get(fullNameKey(firstName, lastName));
+    if (members == null) throw new NoSuchElementException("Could not find the member wtih this name.");
+    Member member = members.get(0);
+    if (member.getNumberOfAssignedTasks() != 0) throw new UnsupportedOperationException("Could not fire member because he has assigned tasks.");
+    unlink(member);
   }
 
   /**
@@ -126,4 +149,137 @@ public class MemberList implements Serializable {
   public void fireMember(Member member) {
     fireMember(member.getFirstName(), member.getLastName());
   }
-}
\ No newline at end of file
+
+  // ------------------------------ Indexes ------------------------------
+
+  /**
+   * Called by a member of the list after its first or last name changed.
+   * @param member The changed member.
+   * @param previousFirstName The first name of the member before the change.
+   * @param previousLastName The last name of the member before the change.
+   */
+  void nameChanged(Member member, String previousFirstName, String previousLastName) {
+    remove(membersByFullName, fullNameKey(previousFirstName, previousLastName), member);
+    add(membersByFullName, fullNameKey(member.getFirstName(), member.getLastName()), member);
+  }
+
+  /**
+   * Called by a member of the list after its email changed.
+   * @param member The changed member.
+   * @param previousEmail The email of the member before the change.
+   */
+  void emailChanged(Member member, String previousEmail) {
+    remove(membersByEmail, emailKey(previousEmail), member);
+    add(membersByEmail, emailKey(member.getEmail()), member);
+  }
+
+  /**
+   * Called by a member of the list after its birthday changed.
+   * @param member The changed member.
+   * @param previousBirthday The birthday of the member before the change.
+   */
+  void birthdayChanged(Member member, MyDate previousBirthday) {
+    remove(membersByBirthday, birthdayKey(previousBirthday), member);
+    add(membersByBirthday, birthdayKey(member.getBirthday()), member);
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model, which is passed on to every member of the list.
+   * @param changes The tracker or null if the list is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+    for (Member member : memberList) member.setChanges(changes);
+  }
+
+  private HashMap<String, ArrayList<Member>> byEmail() {
+    index();
+    return membersByEmail;
+  }
+
+  private HashMap<String, ArrayList<Member>> byFullName() {
+    index();
+    return membersByFullName;
+  }
+
+  private HashMap<Long, ArrayList<Member>> byBirthday() {
+    index();
+    return membersByBirthday;
+  }
+
+  /**
+   * Builds the indexes of the members from the list and attaches the members to the list, which happens when they are
+   * first needed after the list was deserialized.
+   */
+  private void index() {
+    if (membersByEmail != null) return;
+    membersByEmail = new HashMap<>();
+    membersByFullName = new HashMap<>();
+    membersByBirthday = new HashMap<>();
+    for (Member member : memberList) indexMember(member);
+  }
+
+  private void indexMember(Member member) {
+    add(membersByEmail, emailKey(member.getEmail()), member);
+    add(membersByFullName, fullNameKey(member.getFirstName(), member.getLastName()), member);
+    add(membersByBirthday, birthdayKey(member.getBirthday()), member);
+    member.setMemberList(this);
+  }
+
+  private void link(Member member) {
+    index();
+    memberList.add(member);
+    indexMember(member);
+    member.setChanges(changes);
+    if (changes != null) changes.entityChanged(member);
+  }
+
+  private void unlink(Member member) {
+    index();
+    for (int i = 0; i < memberList.size(); i++) if (memberList.get(i) == member) {
+      memberList.remove(i);
+      break;
+    }
+    remove(membersByEmail, emailKey(member.getEmail()), member);
+    remove(membersByFullName, fullNameKey(member.getFirstName(), member.getLastName()), member);
+    remove(membersByBirthday, birthdayKey(member.getBirthday()), member);
+    member.setMemberList(null);
+    if (changes != null) changes.entityChanged(member);
+    member.setChanges(null);
+  }
+
+  private static <K> void add(HashMap<K, ArrayList<Member>> index, K key, Member member) {
+    index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(member);
+  }
+
+  private static <K> void remove(HashMap<K, ArrayList<Member>> index, K key, Member member) {
+    ArrayList<Member> members = index.get(key);
+    if (members == null) return;
+    for (int i = 0; i < members.size(); i++) if (members.get(i) == member) {
+      members.remove(i);
+      break;
+    }
+    if (members.isEmpty()) index.remove(key);
+  }
+
+  /**
+   * Normalizes a name or email the way the indexes compare them, ignoring the case and surrounding whitespace.
+   * @param text The name or email.
+   * @return The normalized text or an empty string if the text is null.
+   */
+  static String normalize(String text) {
+    return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static String emailKey(String email) {
+    return normalize(email);
+  }
+
+  private static String fullNameKey(String firstName, String lastName) {
+    return normalize(firstName) + '\n' + normalize(lastName);
+  }
+
+  private static Long birthdayKey(MyDate birthday) {
+    return birthday == null ? -1L : DeadlineIndex.packDate(birthday);
+  }
+}
@@ -0,0 +1,113 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A class to find the members matching several conditions at once, using the email, name and birthday indexes of the
+ * members or the members of a task when one of them returns fewer members than reading all of them.
+ */
+public final class MemberQuery extends EntityQuery<Member> {
+
+  private MemberList memberList;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor for a query which matches every member of the list.
+   * @param memberList The members to look through.
+   */
+  MemberQuery(MemberList memberList) {
+    super("members");
+    this.memberList = memberList;
+  }
+
+  // ------------------------------ Conditions ------------------------------
+
+  /**
+   * Only matches the member with an email, ignoring the case and surrounding whitespace as the email index does.
+   * @param email The email of the member.
+   * @return This query.
+   * @throws IllegalArgumentException if the email argument is null.
+   */
+  public MemberQuery withEmail(String email) {
+    if (email == null) throw new IllegalArgumentException("Email argument is null.");
+    addCondition("email " + email, member -> MemberList.normalize(member.getEmail()).equals(MemberList.normalize(email)), () -> new Access<>("email index (" + email + ")", 1, () -> {
+      try {
+        return Collections.singletonList(memberList.getMemberByEmail(email)).iterator();
+      } catch (NoSuchElementException e) {
+        return Collections.emptyIterator();
+      }
+    }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the member with a full name, ignoring the case and surrounding whitespace as the name index does.
+   * @param firstName The first name of the member.
+   * @param lastName The last name of the member.
+   * @return This query.
+   * @throws IllegalArgumentException if a name argument is null.
+   */
+  public MemberQuery withFullName(String firstName, String lastName) {
+    if (firstName == null || lastName == null) throw new IllegalArgumentException("Name argument is null.");
+    addCondition("name " + firstName + " " + lastName,
+        member -> MemberList.normalize(member.getFirstName()).equals(MemberList.normalize(firstName)) && MemberList.normalize(member.getLastName()).equals(MemberList.normalize(lastName)),
+        () -> new Access<>("name index (" + firstName + " " + lastName + ")", 1, () -> {
+          try {
+            return Collections.singletonList(memberList.getMemberByFullName(firstName, lastName)).iterator();
+          } catch (NoSuchElementException e) {
+            return Collections.emptyIterator();
+          }
+        }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the members born on a date.
+   * @param birthday The birthday of the members.
+   * @return This query.
+   * @throws IllegalArgumentException if the birthday argument is null.
+   */
+  public MemberQuery bornOn(MyDate birthday) {
+    if (birthday == null) throw new IllegalArgumentException("Birthday argument is null.");
+    addCondition("birthday " + birthday, member -> birthday.equals(member.getBirthday()), () -> {
+      ArrayList<Member> members = memberList.getMembersByBirthday(birthday);
+      return new Access<>("birthday index (" + birthday + ")", members.size(), members::iterator, false);
+    });
+    return this;
+  }
+
+  /**
+   * Only matches the members assigned to a task.
+   * @param task The task the members work on.
+   * @return This query.
+   * @throws IllegalArgumentException if the task argument is null.
+   */
+  public MemberQuery assignedTo(Task task) {
+    if (task == null) throw new IllegalArgumentException("Task argument is null.");
+    addCondition("assigned to task " + task.getId(), member -> member.isAssigned(task),
+        () -> new Access<>("members of task " + task.getId(), task.getNumberOfAssignedMembers(), () -> task.getAllAssignedMembers().iterator(), false));
+    return this;
+  }
+
+  /**
+   * Only matches the members passing a test, which is run on every member read.
+   * @param test The test of the members.
+   * @return This query.
+   * @throws IllegalArgumentException if the test argument is null.
+   */
+  public MemberQuery where(Predicate<? super Member> test) {
+    if (test == null) throw new IllegalArgumentException("Test argument is null.");
+    addCondition("custom test", test);
+    return this;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  @Override Access<Member> scan() {
+    return new Access<>("every member", memberList.getMembersView().size(), () -> new ArrayList<>(memberList.getMembersView()).iterator(), true);
+  }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * A class to estimate the heap used by the dates and strings of the projects, requirements, tasks and members of a
+ * model, so the effect of sharing them through the Interner can be compared.
+ * Every distinct date and string object is counted once, however many entities refer to it, with the sizes of a
+ * 64 bit jvm with compressed references: 24 bytes for a date and 24 bytes plus the rounded up array of the characters
+ * for a string. Creating the report loads every project whose loading was deferred.
+ */
+public class MemoryReport {
+
+  private int numberOfTasks;
+  private int numberOfEntities;
+  private int numberOfDates;
+  private int numberOfStrings;
+  private long dateBytes;
+  private long stringBytes;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor which walks the model and counts its dates and strings.
+   * @param model The model to report on.
+   */
+  public MemoryReport(ProjectManagementModel model) {
+    Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Project project : model.getProjectsView()) {
+      numberOfEntities++;
+      count(seen, project.getId(), project.getTitle(), project.getDescription());
+      count(seen, project.getDeadline());
+    }
+    for (Requirement requirement : model.getRequirementsView()) {
+      numberOfEntities++;
+      count(seen, requirement.getId(), requirement.getTitle(), requirement.getDescription());
+      count(seen, requirement.getDeadline());
+    }
+    for (Task task : model.getTasksView()) {
+      numberOfEntities++;
+      numberOfTasks++;
+      count(seen, task.getId(), task.getTitle(), task.getDescription());
+      count(seen, task.getDeadline());
+    }
+    for (Member member : model.getMembersView()) {
+      numberOfEntities++;
+      count(seen, member.getFirstName(), member.getLastName(), member.getEmail());
+      count(seen, member.getBirthday());
+    }
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the number of distinct date objects.
+   * @return The number of distinct date objects.
+   */
+  public int getNumberOfDates() {
+    return numberOfDates;
+  }
+
+  /**
+   * Getter for the number of distinct string objects.
+   * @return The number of distinct string objects.
+   */
+  public int getNumberOfStrings() {
+    return numberOfStrings;
+  }
+
+  /**
+   * Getter for the estimated bytes of all the distinct dates and strings.
+   * @return The estimated bytes.
+   */
+  public long getTotalBytes() {
+    return dateBytes + stringBytes;
+  }
+
+  /**
+   * Getter for the estimated bytes of the dates and strings per task.
+   * @return The estimated bytes divided by the number of tasks or 0 if the model has no tasks.
+   */
+  public long getBytesPerTask() {
+    return numberOfTasks == 0 ? 0 : getTotalBytes() / numberOfTasks;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  private void count(Set<Object> seen, String... strings) {
+    for (String string : strings) if (string != null && seen.add(string)) {
+      numberOfStrings++;
+      stringBytes += 24 + (16 + string.length() + 7) / 8 * 8;
+    }
+  }
+
+  private void count(Set<Object> seen, MyDate date) {
+    if (date != null && seen.add(date)) {
+      numberOfDates++;
+      dateBytes += 24;
+    }
+  }
+
+  /**
+   * Returns a string with the counts and estimated sizes.
+   * @return A string summarising the report.
+   */
+  @Override public String toString() {
+    return String.format("%d entities, %d tasks: %d dates (%d bytes), %d strings (%d bytes), %d bytes per task",
+        numberOfEntities, numberOfTasks, numberOfDates, dateBytes, numberOfStrings, stringBytes, getBytesPerTask());
+  }
+}
@@ -0,0 +1,190 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+
+/**
+ * A class to track the projects, requirements, tasks, members and assignments changed since they were last saved.
+ * Every change increases the version of the model, so checking whether anything changed since a known version does not
+ * require comparing the projects, and saving can be limited to the changed projects.
+ */
+public class ModelChanges {
+
+  private long version;
+  private IdentityHashMap<Object, Long> dirtyEntities;
+  private HashMap<Link, Long> dirtyLinks;
+  private volatile EditListener editListener;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor to initialise all instance variables.
+   */
+  public ModelChanges() {
+    dirtyEntities = new IdentityHashMap<>();
+    dirtyLinks = new HashMap<>();
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the version of the model, which is increased by every change.
+   * @return The version of the model.
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Checks whether the model changed since the given version.
+   * @param version A version previously returned by getVersion().
+   * @return Whether the model changed since the version.
+   */
+  public synchronized boolean hasChangedSince(long version) {
+    return this.version > version;
+  }
+
+  /**
+   * Getter for all the projects, requirements, tasks and members changed and not yet marked as clean.
+   * @return All the changed entities or empty array list if nothing changed.
+   */
+  public synchronized ArrayList<Object> getDirtyEntities() {
+    return new ArrayList<>(dirtyEntities.keySet());
+  }
+
+  /**
+   * Getter for all the assignments made or removed and not yet marked as clean.
+   * @return All the changed assignments or empty array list if no assignment changed.
+   */
+  public synchronized ArrayList<Link> getDirtyLinks() {
+    return new ArrayList<>(dirtyLinks.keySet());
+  }
+
+  /**
+   * Getter for the ids of the projects which changed themselves or whose requirements, tasks or assignments changed.
+   * Removed projects are included as well.
+   * @return The ids of all the changed projects.
+   */
+  public synchronized HashSet<String> getDirtyProjectIds() {
+    HashSet<String> projectIds = new HashSet<>();
+    for (Object entity : dirtyEntities.keySet()) {
+      if (entity instanceof Project) projectIds.add(((Project) entity).getId());
+      else if (entity instanceof Requirement) projectIds.add(((Requirement) entity).getEntityId().getProjectId().toString());
+      else if (entity instanceof Task) projectIds.add(((Task) entity).getEntityId().getProjectId().toString());
+    }
+    for (Link link : dirtyLinks.keySet()) projectIds.add(link.getTask().getEntityId().getProjectId().toString());
+    return projectIds;
+  }
+
+  /**
+   * Checks whether any member was hired, fired or edited.
+   * @return Whether any member changed.
+   */
+  public synchronized boolean areMembersDirty() {
+    for (Object entity : dirtyEntities.keySet()) if (entity instanceof Member) return true;
+    return false;
+  }
+
+  // ------------------------------ Setters ------------------------------
+
+  /**
+   * Setter for the listener told about every edit of a project, requirement, task or member of the model.
+   * @param editListener The listener or null to stop telling anyone about the edits.
+   */
+  public void setEditListener(EditListener editListener) {
+    this.editListener = editListener;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Marks every change up to and including the version as saved, keeping the changes made after it.
+   * @param version The version of the model which was saved.
+   */
+  public synchronized void markClean(long version) {
+    dirtyEntities.values().removeIf(changedAt -> changedAt <= version);
+    dirtyLinks.values().removeIf(changedAt -> changedAt <= version);
+  }
+
+  /**
+   * Records that the entity was added, removed or edited.
+   * @param entity The project, requirement, task or member which changed.
+   */
+  synchronized void entityChanged(Object entity) {
+    dirtyEntities.put(entity, ++version);
+  }
+
+  /**
+   * Records that a field of the entity was set and tells the edit listener, after the entity was changed.
+   * @param entity The project, requirement, task or member which was edited.
+   */
+  void entityEdited(Object entity) {
+    entityChanged(entity);
+    EditListener listener = editListener;
+    if (listener != null) listener.entityEdited(entity);
+  }
+
+  /**
+   * Records that a requirement or member was assigned to or unassigned from the task.
+   * @param task The task of the assignment.
+   * @param assigned The requirement or member of the assignment.
+   */
+  synchronized void linkChanged(Task task, Object assigned) {
+    dirtyLinks.put(new Link(task, assigned), ++version);
+  }
+
+  /**
+   * An interface to be told about the edits of the fields of the entities of the model. Unlike adding, removing and
+   * assigning, which go through the project manager, the fields are set directly on the entities.
+   */
+  public interface EditListener {
+
+    /**
+     * Called after a field of the entity was set, by the thread which set it.
+     * @param entity The project, requirement, task or member which was edited.
+     */
+    void entityEdited(Object entity);
+  }
+
+  /**
+   * A class representing an assignment between a task and a requirement or a member.
+   */
+  public static class Link {
+
+    private Task task;
+    private Object assigned;
+
+    private Link(Task task, Object assigned) {
+      this.task = task;
+      this.assigned = assigned;
+    }
+
+    /**
+     * Getter for task instance variable.
+     * @return The task of the assignment.
+     */
+    public Task getTask() {
+      return task;
+    }
+
+    /**
+     * Getter for assigned instance variable.
+     * @return The requirement or member of the assignment.
+     */
+    public Object getAssigned() {
+      return assigned;
+    }
+
+    @Override public boolean equals(Object obj) {
+      if (!(obj instanceof Link)) return false;
+      Link other = (Link) obj;
+      return task == other.task && assigned == other.assigned;
+    }
+
+    @Override public int hashCode() {
+      return 31 * System.identityHashCode(task) + System.identityHashCode(assigned);
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package model;
 
-import java.time.LocalDate;
 import java.io.Serializable;
 
 /**
@@ -8,9 +7,12 @@ import java.io.Serializable;
  */
 public class MyDate implements Serializable {
 
+  private static final long serialVersionUID = -1652022727842356609L;
+
   private int day;
   private int month;
   private int year;
+  private transient boolean isShared;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -26,12 +28,12 @@ public class MyDate implements Serializable {
   }
 
   /**
-   * Constructor with current os date values.
+   * Constructor with current os date values, which are read from the date cached by EpochDate.today().
    */
   public MyDate() {
-    LocalDate today = LocalDate.now();
-    day = today.getDayOfMonth();
-    month = today.getMonthValue();
+    EpochDate today = EpochDate.today();
+    day = today.getDay();
+    month = today.getMonth();
     year = today.getYear();
   }
 
@@ -51,8 +53,10 @@ public class MyDate implements Serializable {
    * @param month Value between [1; 12] representing the month.
    * @param year Value between [1; +inf] representing the year.
    * @throws IllegalArgumentException if any of the arguments are invalid.
+   * @throws UnsupportedOperationException if the date is shared.
    */
   public void set(int day, int month, int year) {
+    if (isShared) throw new UnsupportedOperationException("Could not change a shared date, change a copy of it instead.");
     if (year < 0) throw new IllegalArgumentException("Invalid year argument.");
     if (month < 1 || 12 < month) throw new IllegalArgumentException("Invalid month argument.");
     if (day < 1 || 31 < day) throw new IllegalArgumentException("Invalid day argument.");
@@ -124,33 +128,45 @@ public class MyDate implements Serializable {
    * @return Value between [28, 31] representing the number of days in month.
    */
   public int numberOfDaysInMonth() {
-    return 31 - (month == 2 ? isLeapYear() ? 2 : 3 : (month - 1) % 7 % 2);
+    return EpochDate.lengthOfMonth(month, year);
   }
 
   /**
-   * Checks whether the date is before the argument date.
+   * Checks whether the date is before or on the argument date.
    * @param other A date to compare to.
-   * @return Whether the date is before argument date.
+   * @return Whether the date is before or on the argument date.
    * @throws IllegalArgumentException if the date argument is null.
    */
   public boolean isBefore(MyDate other) {
     if (other == null) throw new IllegalArgumentException("Null date argument.");
-    return 366 * (other.year - year) + 31 * (other.month - month) + other.day - day >= 0;
+    return getEpochDay() <= other.getEpochDay();
+  }
+
+  /**
+   * Getter for the number of days since 01/01/1970.
+   * @return The number of days since 01/01/1970, negative for earlier dates.
+   */
+  public long getEpochDay() {
+    return EpochDate.epochDayOf(day, month, year);
   }
 
   /**
    * Sets the date to the date of the next day.
+   * @throws UnsupportedOperationException if the date is shared.
    */
   public void stepForward() {
+    if (isShared) throw new UnsupportedOperationException("Could not change a shared date, change a copy of it instead.");
     day = day + 1 > numberOfDaysInMonth() ? month + 1 > 12 ? month = -year + ++year : -month + ++month : ++day;
   }
 
   /**
    * Sets the date to the date after next days argument.
    * @param days Value between [1, +inf] representing number of days to skip.
+   * @throws UnsupportedOperationException if the date is shared.
    */
   public void stepForward(int days) {
-    while (days-- != 0) stepForward();
+    EpochDate date = EpochDate.ofEpochDay(getEpochDay() + days);
+    set(date.getDay(), date.getMonth(), date.getYear());
   }
 
   /**
@@ -158,20 +174,27 @@ public class MyDate implements Serializable {
    * @return A string with the day name.
    */
   public String dayOfWeek() {
-    return new String[] {
-        "Saturday",
-        "Sunday",
-        "Monday",
-        "Tuesday",
-        "Wednesday",
-        "Thursday",
-        "Friday"
-    }[(day + (int) Math.round(2.6 * month - 0.2) + year + (year / 4) + (month / 400) - ((month / 100) * 2)) % 7];
+    return EpochDate.ofEpochDay(getEpochDay()).dayOfWeek();
+  }
+
+  /**
+   * Checks whether the date is shared by Interner.date() and can not be changed anymore.
+   * @return Whether the date is shared.
+   */
+  public boolean isShared() {
+    return isShared;
+  }
+
+  /**
+   * Marks the date as shared, after which it can not be changed anymore.
+   */
+  void share() {
+    isShared = true;
   }
 
   /**
    * Copies the date object.
-   * @return The copied date object.
+   * @return The copied date object, which is not shared.
    */
   public MyDate copy() {
     return new MyDate(day, month, year);
@@ -188,6 +211,14 @@ public class MyDate implements Serializable {
     return day == other.day && month == other.month && year == other.year;
   }
 
+  /**
+   * Calculates the hash code of the date, which is equal for equal dates.
+   * @return The hash code of the date.
+   */
+  @Override public int hashCode() {
+    return year << 9 | month << 5 | day;
+  }
+
   /**
    * Returns a string with the the formatted date.
    * @return A string representing the date formatted as dd/mm/yyyy.
@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * The priority groups of a requirement, from the most to the least important.
+ */
+public enum PriorityGroup {
+
+  CRITICAL("Critical"), HIGH("High"), LOW("Low");
+
+  private final String name;
+
+  PriorityGroup(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Getter for the priority group with the given name.
+   * @param name A value of either ["Critical", "High", "Low"].
+   * @return The priority group with the name.
+   * @throws IllegalArgumentException if the name argument is invalid.
+   */
+  public static PriorityGroup fromString(String name) {
+    for (PriorityGroup priorityGroup : values()) if (priorityGroup.name.equals(name)) return priorityGroup;
+    throw new IllegalArgumentException("Priority group must be a value of either [\"Critical\", \"High\", \"Low\"].");
+  }
+
+  /**
+   * Getter for the name of the priority group, which is used by the string based methods of the model and by the files.
+   * @return A value of either ["Critical", "High", "Low"].
+   */
+  @Override public String toString() {
+    return name;
+  }
+}
@@ -1,6 +1,8 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.io.Serializable;
 
@@ -9,6 +11,8 @@ import java.io.Serializable;
  */
 public class Project implements Serializable {
 
+  private static final long serialVersionUID = 8746346866370605204L;
+
   private String id;
   private String title;
   private String description;
@@ -18,6 +22,14 @@ public class Project implements Serializable {
   private Member scrumMaster;
   private RequirementList requirementList;
   private TaskList taskList;
+  private transient EntityId entityId;
+  private transient ModelChanges changes;
+  private transient ProjectList projectList;
+  private transient volatile ProjectLoader loader;
+  private transient boolean isHydrating;
+  private transient int deferredNumberOfRequirements;
+  private transient int deferredNumberOfTasks;
+  private transient Collection<Member> membersView;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -29,12 +41,14 @@ public class Project implements Serializable {
    * @param day Value between [1; 31] representing deadline's day.
    * @param month Value between [1; 12] representing deadline's month.
    * @param year Value between [1; +inf] representing deadline's year.
+   * @throws IllegalArgumentException if the id is not a valid project id.
    * @throws IllegalArgumentException if date arguments are invalid.
    * @throws IllegalArgumentException if deadline is in the past.
    */
   public Project(String id, String title, String description, int day, int month, int year) {
     this.id = id;
-    this.title = title;
+    entityId = EntityId.parse(id, EntityId.Kind.PROJECT);
+    this.title = Interner.string(title);
     setDescription(description);
     setDeadline(day, month, year);
     projectCreator = null;
@@ -51,6 +65,7 @@ public class Project implements Serializable {
    * @param day Value between [1; 31] representing deadline's day.
    * @param month Value between [1; 12] representing deadline's month.
    * @param year Value between [1; +inf] representing deadline's year.
+   * @throws IllegalArgumentException if the id is not a valid project id.
    * @throws IllegalArgumentException if date arguments are invalid.
    * @throws IllegalArgumentException if deadline is in the past.
    */
@@ -65,7 +80,9 @@ public class Project implements Serializable {
    * @param description Description of the project.
    */
   public void setDescription(String description) {
+    hydrate();
     this.description = description;
+    edited();
   }
 
   /**
@@ -79,7 +96,10 @@ public class Project implements Serializable {
   public void setDeadline(int day, int month, int year) {
     MyDate deadline = new MyDate(day, month, year);
     //if (deadline.isBefore(new MyDate())) throw new IllegalArgumentException("The deadline must be set to a future date.");
-    this.deadline = deadline;
+    MyDate previousDeadline = this.deadline;
+    this.deadline = Interner.date(deadline);
+    if (projectList != null) projectList.deadlineChanged(this, previousDeadline);
+    edited();
   }
 
   /**
@@ -87,7 +107,9 @@ public class Project implements Serializable {
    * @param projectCreator Object of type member representing the project creator.
    */
   public void setProjectCreator(Member projectCreator) {
+    hydrate();
     this.projectCreator = projectCreator;
+    edited();
   }
 
   /**
@@ -95,7 +117,9 @@ public class Project implements Serializable {
    * @param productOwner Object of type member representing the project owner.
    */
   public void setProductOwner(Member productOwner) {
+    hydrate();
     this.productOwner = productOwner;
+    edited();
   }
 
   /**
@@ -103,7 +127,9 @@ public class Project implements Serializable {
    * @param scrumMaster Object of type member representing the project scrum master.
    */
   public void setScrumMaster(Member scrumMaster) {
+    hydrate();
     this.scrumMaster = scrumMaster;
+    edited();
   }
 
   // ------------------------------ Getters for Instance Variables ------------------------------
@@ -116,6 +142,15 @@ public class Project implements Serializable {
     return id;
   }
 
+  /**
+   * Getter for the id parsed into its packed form.
+   * @return The packed id of the project.
+   */
+  public EntityId getEntityId() {
+    if (entityId == null) entityId = EntityId.parse(id, EntityId.Kind.PROJECT);
+    return entityId;
+  }
+
   /**
    * Getter for title instance variable.
    * @return Value of project's title.
@@ -129,6 +164,7 @@ public class Project implements Serializable {
    * @return Value of project's description.
    */
   public String getDescription() {
+    hydrate();
     return description;
   }
 
@@ -145,6 +181,7 @@ public class Project implements Serializable {
    * @return Member object representing the project creator.
    */
   public Member getProjectCreator() {
+    hydrate();
     return projectCreator;
   }
 
@@ -153,6 +190,7 @@ public class Project implements Serializable {
    * @return Member object representing the product owner.
    */
   public Member getProductOwner() {
+    hydrate();
     return productOwner;
   }
 
@@ -161,6 +199,7 @@ public class Project implements Serializable {
    * @return Member object representing the scrum master.
    */
   public Member getScrumMaster() {
+    hydrate();
     return scrumMaster;
   }
 
@@ -171,6 +210,7 @@ public class Project implements Serializable {
    * @return The number of requirements linked to the project.
    */
   public int getNumberOfRequirements() {
+    if (loader != null) return deferredNumberOfRequirements;
     return requirementList.getNumberOfRequirements();
   }
 
@@ -179,7 +219,16 @@ public class Project implements Serializable {
    * @return All the requirements linked to the project or empty array list if no requirements are linked.
    */
   public ArrayList<Requirement> getAllRequirements() {
-    return requirementList.getAllRequirements();
+    return requirements().getAllRequirements();
+  }
+
+  /**
+   * Getter for a read-only view of the requirements linked to the project, which follows the changes of the
+   * requirements without copying them.
+   * @return The view of the linked requirements.
+   */
+  public List<Requirement> getRequirementsView() {
+    return requirements().getRequirementsView();
   }
 
   /**
@@ -188,7 +237,26 @@ public class Project implements Serializable {
    * @return All linked requirements that have a deadline before the given argument date or empty array list if no matching requirements were found or no requirements are linked.
    */
   public ArrayList<Requirement> getAllRequirementsBeforeDeadline(MyDate deadline) {
-    return requirementList.getAllRequirementsBeforeDeadLine(deadline);
+    return requirements().getAllRequirementsBeforeDeadLine(deadline);
+  }
+
+  /**
+   * Getter for all the requirements linked to the project after a specific deadline.
+   * @param deadline A date that will be compared with each deadline of the linked requirements.
+   * @return All linked requirements that have a deadline after the given argument date sorted by deadline or empty array list if no matching requirements were found or no requirements are linked.
+   */
+  public ArrayList<Requirement> getAllRequirementsAfterDeadline(MyDate deadline) {
+    return requirements().getAllRequirementsAfterDeadline(deadline);
+  }
+
+  /**
+   * Getter for all the requirements linked to the project with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All linked requirements that have a deadline between the given argument dates sorted by deadline or empty array list if no matching requirements were found or no requirements are linked.
+   */
+  public ArrayList<Requirement> getAllRequirementsBetweenDeadlines(MyDate from, MyDate to) {
+    return requirements().getAllRequirementsBetweenDeadlines(from, to);
   }
 
   /**
@@ -198,7 +266,7 @@ public class Project implements Serializable {
    * @throws IllegalArgumentException if the status argument is invalid.
    */
   public ArrayList<Requirement> getAllRequirementsWithStatusOver(float status) {
-    return requirementList.getAllRequirementsWithStatusOver(status);
+    return requirements().getAllRequirementsWithStatusOver(status);
   }
 
   /**
@@ -208,7 +276,25 @@ public class Project implements Serializable {
    * @throws IllegalArgumentException if the priority argument is invalid.
    */
   public ArrayList<Requirement> getAllRequirementsWithPriority(String priority) {
-    return requirementList.getAllRequirementsWithPriority(priority);
+    return requirements().getAllRequirementsWithPriority(priority);
+  }
+
+  /**
+   * Getter for all the requirements linked to the project that have a specific priority.
+   * @param priority The priority group of the requirements to look for.
+   * @return All linked requirements that have the priority group or empty array list if no matching requirements were found or no requirements are linked.
+   */
+  public ArrayList<Requirement> getAllRequirementsWithPriority(PriorityGroup priority) {
+    return requirements().getAllRequirementsWithPriority(priority);
+  }
+
+  /**
+   * Getter for the number of requirements linked to the project that have a specific priority.
+   * @param priority The priority group of the requirements to count.
+   * @return The number of linked requirements that have the priority group.
+   */
+  public int getNumberOfRequirementsWithPriority(PriorityGroup priority) {
+    return requirements().getNumberOfRequirementsWithPriority(priority);
   }
 
   /**
@@ -216,7 +302,7 @@ public class Project implements Serializable {
    * @return All linked requirements that are approved or empty array list if no approved requirements were found or no requirements are linked.
    */
   public ArrayList<Requirement> getAllApprovedRequirements() {
-    return requirementList.getAllApprovedRequirements();
+    return requirements().getAllApprovedRequirements();
   }
 
   /**
@@ -224,7 +310,7 @@ public class Project implements Serializable {
    * @return All linked requirements that are disapproved or empty array list if no disapproved requirements were found or no requirements are linked.
    */
   public ArrayList<Requirement> getAllDisapprovedRequirements() {
-    return requirementList.getAllDisapprovedRequirements();
+    return requirements().getAllDisapprovedRequirements();
   }
 
   /**
@@ -235,7 +321,7 @@ public class Project implements Serializable {
    * @throws ArrayIndexOutOfBoundsException if the index is out of bounds for the array list.
    */
   public Requirement getRequirementByIndex(int index) {
-    return requirementList.getRequirementByIndex(index);
+    return requirements().getRequirementByIndex(index);
   }
 
   /**
@@ -245,7 +331,17 @@ public class Project implements Serializable {
    * @throws NoSuchElementException if a requirement with matching id could not be found.
    */
   public Requirement getRequirementById(String id) {
-    return requirementList.getRequirementById(id);
+    return requirements().getRequirementById(id);
+  }
+
+  /**
+   * Getter for requirement linked to the project by its packed id.
+   * @param id The packed id of the requirement to be returned.
+   * @return The requirement with the equal id.
+   * @throws NoSuchElementException if a requirement with matching id could not be found.
+   */
+  public Requirement getRequirementById(EntityId id) {
+    return requirements().getRequirementById(id);
   }
 
   // ------------------------------ Getters for Tasks Linked to Project ------------------------------
@@ -255,6 +351,7 @@ public class Project implements Serializable {
    * @return The number of tasks linked to the project.
    */
   public int getNumberOfTasks() {
+    if (loader != null) return deferredNumberOfTasks;
     return taskList.getNumberOfTasks();
   }
 
@@ -263,7 +360,16 @@ public class Project implements Serializable {
    * @return All the tasks linked to the project or empty array list if no tasks are linked.
    */
   public ArrayList<Task> getAllTasks() {
-    return taskList.getAllTasks();
+    return tasks().getAllTasks();
+  }
+
+  /**
+   * Getter for a read-only view of the tasks linked to the project, which follows the changes of the tasks without
+   * copying them.
+   * @return The view of the linked tasks.
+   */
+  public List<Task> getTasksView() {
+    return tasks().getTasksView();
   }
 
   /**
@@ -272,17 +378,54 @@ public class Project implements Serializable {
    * @return All linked tasks that have a deadline before the given argument date or empty array list if no matching tasks were found or no tasks are linked.
    */
   public ArrayList<Task> getAllTasksBeforeDeadline(MyDate deadline) {
-    return taskList.getAllTasksBeforeDeadLine(deadline);
+    return tasks().getAllTasksBeforeDeadLine(deadline);
+  }
+
+  /**
+   * Getter for all the tasks linked to the project after a specific deadline.
+   * @param deadline A date that will be compared with each deadline of the linked tasks.
+   * @return All linked tasks that have a deadline after the given argument date sorted by deadline or empty array list if no matching tasks were found or no tasks are linked.
+   */
+  public ArrayList<Task> getAllTasksAfterDeadline(MyDate deadline) {
+    return tasks().getAllTasksAfterDeadline(deadline);
+  }
+
+  /**
+   * Getter for all the tasks linked to the project with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All linked tasks that have a deadline between the given argument dates sorted by deadline or empty array list if no matching tasks were found or no tasks are linked.
+   */
+  public ArrayList<Task> getAllTasksBetweenDeadlines(MyDate from, MyDate to) {
+    return tasks().getAllTasksBetweenDeadlines(from, to);
   }
 
   /**
    * Getter for all the tasks linked to the project that have a matching status.
-   * @param status A value of either ["Started", "Finished"] that will be compared with each status of the linked tasks.
+   * @param status A value of either ["Started", "Completed"] that will be compared with each status of the linked tasks.
    * @return All linked tasks that have a status matching the argument or empty array list if no matching tasks were found or no tasks are linked.
    * @throws IllegalArgumentException if the status argument is invalid.
    */
   public ArrayList<Task> getAllTasksWithStatus(String status) {
-    return taskList.getAllTasksWithStatus(status);
+    return tasks().getAllTasksWithStatus(status);
+  }
+
+  /**
+   * Getter for all the tasks linked to the project that have a matching status.
+   * @param status The status of the tasks to look for.
+   * @return All linked tasks that have the status or empty array list if no matching tasks were found or no tasks are linked.
+   */
+  public ArrayList<Task> getAllTasksWithStatus(TaskStatus status) {
+    return tasks().getAllTasksWithStatus(status);
+  }
+
+  /**
+   * Getter for the number of tasks linked to the project that have a matching status.
+   * @param status The status of the tasks to count.
+   * @return The number of linked tasks that have the status.
+   */
+  public int getNumberOfTasksWithStatus(TaskStatus status) {
+    return tasks().getNumberOfTasksWithStatus(status);
   }
 
   /**
@@ -293,7 +436,7 @@ public class Project implements Serializable {
    * @throws ArrayIndexOutOfBoundsException if the index is out of bounds for the array list.
    */
   public Task getTaskByIndex(int index) {
-    return taskList.getTaskByIndex(index);
+    return tasks().getTaskByIndex(index);
   }
 
   /**
@@ -303,7 +446,17 @@ public class Project implements Serializable {
    * @throws NoSuchElementException if a task with matching id could not be found.
    */
   public Task getTaskById(String id) {
-    return taskList.getTaskById(id);
+    return tasks().getTaskById(id);
+  }
+
+  /**
+   * Getter for task linked to the project by its packed id.
+   * @param id The packed id of the task to be returned.
+   * @return The task with the equal id.
+   * @throws NoSuchElementException if a task with matching id could not be found.
+   */
+  public Task getTaskById(EntityId id) {
+    return tasks().getTaskById(id);
   }
 
   // ------------------------------ Other Methods ------------------------------
@@ -326,7 +479,7 @@ public class Project implements Serializable {
   public Requirement addRequirement(String title, String description, int day, int month, int year, String priorityGroup) {
     MyDate deadline = new MyDate(day, month, year);
     //if (!deadline.isBefore(this.deadline)) throw new IllegalArgumentException("The deadline of the requirement must be set before the deadline of the project.");
-    return requirementList.addRequirement(id, title, description, deadline, priorityGroup);
+    return requirements().addRequirement(id, title, description, deadline, priorityGroup);
   }
 
   /**
@@ -346,7 +499,7 @@ public class Project implements Serializable {
   public Requirement addRequirement(String title, int day, int month, int year, String priorityGroup) {
     MyDate deadline = new MyDate(day, month, year);
     //if (!deadline.isBefore(this.deadline)) throw new IllegalArgumentException("The deadline of the requirement must be set before the deadline of the project.");
-    return requirementList.addRequirement(id, title, deadline, priorityGroup);
+    return requirements().addRequirement(id, title, deadline, priorityGroup);
   }
 
   /**
@@ -367,7 +520,7 @@ public class Project implements Serializable {
   public Task addTask(String title, String description, float estimatedWorkHours, int day, int month, int year) {
     MyDate deadline = new MyDate(day, month, year);
     //if (!deadline.isBefore(this.deadline)) throw new IllegalArgumentException("The deadline of the task must be set before the deadline of the project.");
-    return taskList.addTask(id, title, description, estimatedWorkHours, deadline);
+    return tasks().addTask(id, title, description, estimatedWorkHours, deadline);
   }
 
   /**
@@ -387,7 +540,35 @@ public class Project implements Serializable {
   public Task addTask(String title, float estimatedWorkHours, int day, int month, int year) {
     MyDate deadline = new MyDate(day, month, year);
     //if (!deadline.isBefore(this.deadline)) throw new IllegalArgumentException("The deadline of the task must be set before the deadline of the project.");
-    return taskList.addTask(id, title, estimatedWorkHours, deadline);
+    return tasks().addTask(id, title, estimatedWorkHours, deadline);
+  }
+
+  /**
+   * Add method which links an already created requirement to the project.
+   * @param requirement The requirement to be linked.
+   * @return The linked requirement.
+   * @throws IllegalArgumentException if the requirement argument is null.
+   * @throws IllegalArgumentException if the requirement belongs to another project.
+   * @throws IllegalArgumentException if a requirement with the same id already exists in the project.
+   */
+  public Requirement addRequirement(Requirement requirement) {
+    if (requirement == null) throw new IllegalArgumentException("Requirement argument is null.");
+    if (!requirement.getId().startsWith(id)) throw new IllegalArgumentException("The requirement belongs to another project.");
+    return requirements().addRequirement(requirement);
+  }
+
+  /**
+   * Add method which links an already created task to the project.
+   * @param task The task to be linked.
+   * @return The linked task.
+   * @throws IllegalArgumentException if the task argument is null.
+   * @throws IllegalArgumentException if the task belongs to another project.
+   * @throws IllegalArgumentException if a task with the same id already exists in the project.
+   */
+  public Task addTask(Task task) {
+    if (task == null) throw new IllegalArgumentException("Task argument is null.");
+    if (!task.getId().startsWith(id)) throw new IllegalArgumentException("The task belongs to another project.");
+    return tasks().addTask(task);
   }
 
   /**
@@ -398,7 +579,7 @@ public class Project implements Serializable {
    * @throws UnsupportedOperationException if the requirement is assigned to any tasks.
    */
   public void removeRequirement(Requirement requirement) {
-    requirementList.removeRequirement(requirement);
+    requirements().removeRequirement(requirement);
   }
 
   /**
@@ -408,7 +589,7 @@ public class Project implements Serializable {
    * @throws UnsupportedOperationException if the requirement is assigned to any tasks.
    */
   public void removeRequirement(String id) {
-    requirementList.removeRequirement(id);
+    requirements().removeRequirement(id);
   }
 
   /**
@@ -420,7 +601,7 @@ public class Project implements Serializable {
    * @throws UnsupportedOperationException if the task is assigned to any members.
    */
   public void removeTask(Task task) {
-    taskList.removeTask(task);
+    tasks().removeTask(task);
   }
 
   /**
@@ -431,7 +612,7 @@ public class Project implements Serializable {
    * @throws UnsupportedOperationException if the task is assigned to any members.
    */
   public void removeTask(String id) {
-    taskList.removeTask(id);
+    tasks().removeTask(id);
   }
 
   /**
@@ -439,9 +620,40 @@ public class Project implements Serializable {
    * @return Sum of all estimated work time variables of all tasks linked to project.
    */
   public float getEstimatedWorkHours() {
-    float estimatedWorkHours = 0;
-    for (Task task : getAllTasks()) estimatedWorkHours += task.getEstimatedWorkHours();
-    return estimatedWorkHours;
+    return tasks().getEstimatedWorkHours();
+  }
+
+  /**
+   * Getter for the number of completed tasks linked to the project.
+   * @return The number of linked tasks with the status "Completed".
+   */
+  public int getNumberOfCompletedTasks() {
+    return tasks().getNumberOfCompletedTasks();
+  }
+
+  /**
+   * Getter for the status of the project.
+   * @return The percentage of completed linked tasks or 0 if no tasks are linked.
+   */
+  public float getStatus() {
+    return tasks().getStatus();
+  }
+
+  /**
+   * Removes every task and requirement of the project at once, after unassigning every member from the tasks.
+   * A project whose loading was deferred is not loaded first, as no member is assigned to its tasks before it is.
+   */
+  public void removeAllTasksAndRequirements() {
+    synchronized (this) {
+      if (loader != null) {
+        loader = null;
+        deferredNumberOfRequirements = 0;
+        deferredNumberOfTasks = 0;
+      }
+    }
+    taskList.removeAllTasks();
+    requirementList.removeAllRequirements();
+    changed();
   }
 
   /**
@@ -449,7 +661,7 @@ public class Project implements Serializable {
    * @return Total so far worked hours on the project.
    */
   public float getTotalWorkedHours() {
-    return taskList.getTotalWorkedHours();
+    return tasks().getTotalWorkedHours();
   }
 
   /**
@@ -457,10 +669,116 @@ public class Project implements Serializable {
    * @return All the members assigned to the project or empty array list if no members are assigned.
    */
   public ArrayList<Member> getAllMembers() {
-    ArrayList<Member> toReturnMembers = new ArrayList<>();
-    for (Task task : getAllTasks()) {
-      toReturnMembers.addAll(task.getAllAssignedMembers());
+    return new ArrayList<>(getMembersView());
+  }
+
+  /**
+   * Getter for a read-only view of the members working on the project, task after task, which follows the changes of
+   * the assignments without copying them. A member is included once for every task they are assigned to.
+   * @return The view of the assigned members.
+   */
+  public Collection<Member> getMembersView() {
+    if (membersView == null) membersView = new ConcatenatedView<>(() -> tasks().getTasksView().iterator(), Task::getAssignedMembersView, Task::getNumberOfAssignedMembers);
+    return membersView;
+  }
+
+  /**
+   * Defers loading the description, roles, requirements, tasks and assignments of the project until one of them is
+   * first used, so only the index of the projects has to be read when the application starts.
+   * @param loader The loader of the content of the project.
+   * @param numberOfRequirements The number of requirements linked to the project, used until the project is loaded.
+   * @param numberOfTasks The number of tasks linked to the project, used until the project is loaded.
+   */
+  public void deferLoading(ProjectLoader loader, int numberOfRequirements, int numberOfTasks) {
+    this.loader = loader;
+    deferredNumberOfRequirements = numberOfRequirements;
+    deferredNumberOfTasks = numberOfTasks;
+  }
+
+  /**
+   * Checks whether the content of the project is loaded.
+   * @return False if loading the content of the project was deferred and it has not been used yet, true otherwise.
+   */
+  public boolean isHydrated() {
+    return loader == null;
+  }
+
+  /**
+   * Loads the content of the project if its loading was deferred. Loading is not tracked as a change of the model.
+   * Loading holds the lock of the project, which a save reading the project from another thread takes as well, and
+   * the project only counts as loaded once its whole content is, so a save never sees it partially loaded.
+   * @throws UnsupportedOperationException if the content of the project could not be loaded.
+   */
+  public void hydrate() {
+    if (loader == null) return;
+    synchronized (this) {
+      // The loader adds the content through the methods of the project, which must not start loading again.
+      if (loader == null || isHydrating) return;
+      isHydrating = true;
+      ModelChanges tracker = changes;
+      String deferredDescription = description;
+      setChanges(null);
+      try {
+        loader.load(this);
+        loader = null;
+      } catch (RuntimeException e) {
+        // Keeps the project deferred instead of leaving it partially loaded. The lists are emptied instead of replaced,
+        // so they stay attached to the project and the members assigned to the loaded tasks are unassigned again.
+        taskList.removeAllTasks();
+        requirementList.removeAllRequirements();
+        description = deferredDescription;
+        projectCreator = null;
+        productOwner = null;
+        scrumMaster = null;
+        throw e;
+      } finally {
+        isHydrating = false;
+        setChanges(tracker);
+      }
     }
-    return toReturnMembers;
   }
-}
\ No newline at end of file
+
+  private RequirementList requirements() {
+    hydrate();
+    return requirementList;
+  }
+
+  private TaskList tasks() {
+    hydrate();
+    return taskList;
+  }
+
+  /**
+   * Getter for the columns of the tasks linked to the project, used to aggregate the tasks of several projects.
+   * @return The columns of the tasks, which loads the project if its loading was deferred.
+   */
+  TaskColumns getTaskColumns() {
+    return tasks().columns();
+  }
+
+  /**
+   * Setter for the list the project belongs to, whose indexes are updated when the deadline of the project changes.
+   * @param projectList The list or null if the project was removed from the list.
+   */
+  void setProjectList(ProjectList projectList) {
+    this.projectList = projectList;
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model, which is passed on to the requirements and tasks of the project.
+   * @param changes The tracker or null if the project is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+    requirementList.setChanges(changes);
+    taskList.setChanges(changes);
+  }
+
+  private void changed() {
+    if (changes != null) changes.entityChanged(this);
+  }
+
+  private void edited() {
+    if (changes != null) changes.entityEdited(this);
+  }
+}
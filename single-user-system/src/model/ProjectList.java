@@ -1,17 +1,29 @@
 package model;
 
+import java.io.Serializable;
 import java.lang.StringBuilder;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.io.Serializable;
 
 /**
  * A class store and process project objects.
  */
 public class ProjectList implements Serializable {
 
+  private static final long serialVersionUID = -1913404250718559083L;
+
   ArrayList<Project> projectList;
+  private transient ModelChanges changes;
+  private transient HashMap<Long, Project> projectsById;
+  private transient DeadlineIndex<Project> projectsByDeadline;
+  private transient IdAllocator projectIds;
+  private transient List<Project> projectsView;
+  private transient Collection<Requirement> requirementsView;
+  private transient Collection<Task> tasksView;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -34,21 +46,50 @@ public class ProjectList implements Serializable {
 
   /**
    * Getter for all the projects created so far.
-   * @return All the projects created so far or empty array list if no projects exist.
+   * @return A new array list with all the projects created so far or empty array list if no projects exist.
    */
   public ArrayList<Project> getAllProjects() {
-    return projectList;
+    return new ArrayList<>(projectList);
+  }
+
+  /**
+   * Getter for a read-only view of the projects, which follows the changes of the list without copying it.
+   * @return The view of the projects in the order they were added.
+   */
+  public List<Project> getProjectsView() {
+    if (projectsView == null) projectsView = Collections.unmodifiableList(projectList);
+    return projectsView;
   }
 
   /**
    * Getter for all projects before a specific deadline.
    * @param deadline A date that will be compare with each project's deadline.
-   * @return All projects that have a deadline before the given argument date or empty array list if no matching projects were found or no projects exist.
+   * @return All projects that have a deadline before the given argument date sorted by deadline or empty array list if no matching projects were found or no projects exist.
+   * @throws IllegalArgumentException if the deadline argument is null.
    */
   public ArrayList<Project> getAllProjectsBeforeDeadline(MyDate deadline) {
-    ArrayList<Project> toReturnProjects = new ArrayList<>();
-    for (Project project : projectList) if (project.getDeadline().isBefore(deadline)) toReturnProjects.add(project);
-    return toReturnProjects;
+    return byDeadline().getBefore(deadline);
+  }
+
+  /**
+   * Getter for all projects after a specific deadline.
+   * @param deadline A date that will be compare with each project's deadline.
+   * @return All projects that have a deadline after the given argument date sorted by deadline or empty array list if no matching projects were found or no projects exist.
+   * @throws IllegalArgumentException if the deadline argument is null.
+   */
+  public ArrayList<Project> getAllProjectsAfterDeadline(MyDate deadline) {
+    return byDeadline().getAfter(deadline);
+  }
+
+  /**
+   * Getter for all projects with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All projects that have a deadline between the given argument dates sorted by deadline or empty array list if no matching projects were found or no projects exist.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public ArrayList<Project> getAllProjectsBetweenDeadlines(MyDate from, MyDate to) {
+    return byDeadline().getBetween(from, to);
   }
 
   /**
@@ -60,14 +101,7 @@ public class ProjectList implements Serializable {
   public ArrayList<Project> getAllProjectsWithStatusOver(float status) {
     if (status < 0 || 1 < status) throw new IllegalArgumentException("Status argument must be between [0; 1].");
     ArrayList<Project> toReturnProjects = new ArrayList<>();
-    int projectTasksNumber;
-    float projectStatus;
-
-    for (Project project : projectList) {
-      projectTasksNumber = project.getNumberOfTasks();
-      projectStatus = projectTasksNumber == 0 ? 0 : (float) project.getAllTasksWithStatus("Completed").size() / projectTasksNumber;
-      if (projectStatus >= status) toReturnProjects.add(project);
-    }
+    for (Project project : projectList) if (project.getStatus() >= status) toReturnProjects.add(project);
     return toReturnProjects;
   }
 
@@ -90,9 +124,20 @@ public class ProjectList implements Serializable {
    * @throws NoSuchElementException if a project with matching id could not be found.
    */
   public Project getProjectById(String id) {
-    for (Project project : projectList) if (project.getId().equals(id)) {
-      return project;
-    }
+    Project project = byId().get(EntityId.pack(id));
+    if (project != null) return project;
+    throw new NoSuchElementException("Could not find a project with given id.");
+  }
+
+  /**
+   * Getter for any project by its packed id.
+   * @param id The packed id of the project to be returned.
+   * @return The project with the equal id.
+   * @throws NoSuchElementException if a project with matching id could not be found.
+   */
+  public Project getProjectById(EntityId id) {
+    Project project = byId().get(id.getValue());
+    if (project != null) return project;
     throw new NoSuchElementException("Could not find a project with given id.");
   }
 
@@ -114,10 +159,21 @@ public class ProjectList implements Serializable {
    */
   public ArrayList<Requirement> getAllRequirements() {
     ArrayList<Requirement> toReturnRequirements = new ArrayList<>();
-    for (Project project : projectList) toReturnRequirements.addAll(project.getAllRequirements());
+    for (Project project : projectList) toReturnRequirements.addAll(project.getRequirementsView());
     return toReturnRequirements;
   }
 
+  /**
+   * Getter for a read-only view of the requirements of every project, one project after another, which follows the
+   * changes of the projects without copying their requirements. Projects whose loading was deferred are only loaded
+   * once the view iterates their requirements.
+   * @return The view of all the requirements.
+   */
+  public Collection<Requirement> getRequirementsView() {
+    if (requirementsView == null) requirementsView = new ConcatenatedView<>(projectList, Project::getRequirementsView, Project::getNumberOfRequirements);
+    return requirementsView;
+  }
+
   /**
    * Getter for all requirements before a specific deadline.
    * @param deadline A date that will be compare with each requirement's deadline.
@@ -129,6 +185,31 @@ public class ProjectList implements Serializable {
     return toReturnRequirements;
   }
 
+  /**
+   * Getter for all requirements after a specific deadline.
+   * @param deadline A date that will be compare with each requirement's deadline.
+   * @return All requirements that have a deadline after the given argument date, sorted by deadline within each project, or empty array list if no matching requirements were found or no requirements exist.
+   * @throws IllegalArgumentException if the deadline argument is null.
+   */
+  public ArrayList<Requirement> getAllRequirementsAfterDeadline(MyDate deadline) {
+    ArrayList<Requirement> toReturnRequirements = new ArrayList<>();
+    for (Project project : projectList) toReturnRequirements.addAll(project.getAllRequirementsAfterDeadline(deadline));
+    return toReturnRequirements;
+  }
+
+  /**
+   * Getter for all requirements with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All requirements that have a deadline between the given argument dates, sorted by deadline within each project, or empty array list if no matching requirements were found or no requirements exist.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public ArrayList<Requirement> getAllRequirementsBetweenDeadlines(MyDate from, MyDate to) {
+    ArrayList<Requirement> toReturnRequirements = new ArrayList<>();
+    for (Project project : projectList) toReturnRequirements.addAll(project.getAllRequirementsBetweenDeadlines(from, to));
+    return toReturnRequirements;
+  }
+
   /**
    * Getter for all the requirements completed over a certain percentage.
    * @param status A percentage that will be compared with each status of all requirements.
@@ -148,6 +229,15 @@ public class ProjectList implements Serializable {
    * @throws IllegalArgumentException if the priority argument is invalid.
    */
   public ArrayList<Requirement> getAllRequirementsWithPriority(String priority) {
+    return getAllRequirementsWithPriority(PriorityGroup.fromString(priority));
+  }
+
+  /**
+   * Getter for all requirements that have a specific priority.
+   * @param priority The priority group of the requirements to look for.
+   * @return All requirements that have the priority group or empty array list if no matching requirements were found or no requirements exist.
+   */
+  public ArrayList<Requirement> getAllRequirementsWithPriority(PriorityGroup priority) {
     ArrayList<Requirement> toReturnRequirements = new ArrayList<>();
     for (Project project : projectList) toReturnRequirements.addAll(project.getAllRequirementsWithPriority(priority));
     return toReturnRequirements;
@@ -180,10 +270,21 @@ public class ProjectList implements Serializable {
    * @throws NoSuchElementException if a requirement with matching id could not be found.
    */
   public Requirement getRequirementById(String id) {
-    for (Requirement requirement : getAllRequirements()) if (requirement.getId().equals(id)) {
-      return requirement;
-    }
-    throw new NoSuchElementException("Could not find a requirement with given id.");
+    long value = EntityId.pack(id);
+    if (value < 0) throw new NoSuchElementException("Could not find a requirement with given id.");
+    return getRequirementById(EntityId.fromValue(value));
+  }
+
+  /**
+   * Getter for any requirement by its packed id, looked up in the project with the project part of the id.
+   * @param id The packed id of the requirement to be returned.
+   * @return The requirement with the equal id.
+   * @throws NoSuchElementException if a requirement with matching id could not be found.
+   */
+  public Requirement getRequirementById(EntityId id) {
+    Project project = byId().get(id.getProjectValue());
+    if (project == null) throw new NoSuchElementException("Could not find a requirement with given id.");
+    return project.getRequirementById(id);
   }
 
   // ------------------------------ Getters for Tasks ------------------------------
@@ -204,10 +305,21 @@ public class ProjectList implements Serializable {
    */
   public ArrayList<Task> getAllTasks() {
     ArrayList<Task> toReturnTasks = new ArrayList<>();
-    for (Project project : projectList) toReturnTasks.addAll(project.getAllTasks());
+    for (Project project : projectList) toReturnTasks.addAll(project.getTasksView());
     return toReturnTasks;
   }
 
+  /**
+   * Getter for a read-only view of the tasks of every project, one project after another, which follows the changes
+   * of the projects without copying their tasks. Projects whose loading was deferred are only loaded once the view
+   * iterates their tasks.
+   * @return The view of all the tasks.
+   */
+  public Collection<Task> getTasksView() {
+    if (tasksView == null) tasksView = new ConcatenatedView<>(projectList, Project::getTasksView, Project::getNumberOfTasks);
+    return tasksView;
+  }
+
   /**
    * Getter for all tasks before a specific deadline.
    * @param deadline A date that will be compare with each task's deadline.
@@ -219,13 +331,47 @@ public class ProjectList implements Serializable {
     return toReturnTasks;
   }
 
+  /**
+   * Getter for all tasks after a specific deadline.
+   * @param deadline A date that will be compare with each task's deadline.
+   * @return All tasks that have a deadline after the given argument date, sorted by deadline within each project, or empty array list if no matching tasks were found or no tasks exist.
+   * @throws IllegalArgumentException if the deadline argument is null.
+   */
+  public ArrayList<Task> getAllTasksAfterDeadline(MyDate deadline) {
+    ArrayList<Task> toReturnTasks = new ArrayList<>();
+    for (Project project : projectList) toReturnTasks.addAll(project.getAllTasksAfterDeadline(deadline));
+    return toReturnTasks;
+  }
+
+  /**
+   * Getter for all tasks with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All tasks that have a deadline between the given argument dates, sorted by deadline within each project, or empty array list if no matching tasks were found or no tasks exist.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public ArrayList<Task> getAllTasksBetweenDeadlines(MyDate from, MyDate to) {
+    ArrayList<Task> toReturnTasks = new ArrayList<>();
+    for (Project project : projectList) toReturnTasks.addAll(project.getAllTasksBetweenDeadlines(from, to));
+    return toReturnTasks;
+  }
+
   /**
    * Getter for all tasks that have a matching status.
-   * @param status A value of either ["Started", "Finished"] that will be compared with each status of all tasks.
+   * @param status A value of either ["Started", "Completed"] that will be compared with each status of all tasks.
    * @return All tasks that have a status matching the argument or empty array list if no matching tasks were found or no tasks are exist.
    * @throws IllegalArgumentException if the status argument is invalid.
    */
   public ArrayList<Task> getAllTasksWithStatus(String status) {
+    return getAllTasksWithStatus(TaskStatus.fromString(status));
+  }
+
+  /**
+   * Getter for all tasks that have a matching status.
+   * @param status The status of the tasks to look for.
+   * @return All tasks that have the status or empty array list if no matching tasks were found or no tasks exist.
+   */
+  public ArrayList<Task> getAllTasksWithStatus(TaskStatus status) {
     ArrayList<Task> toReturnTasks = new ArrayList<>();
     for (Project project : projectList) toReturnTasks.addAll(project.getAllTasksWithStatus(status));
     return toReturnTasks;
@@ -238,10 +384,77 @@ public class ProjectList implements Serializable {
    * @throws NoSuchElementException if a task with matching id could not be found.
    */
   public Task getTaskById(String id) {
-    for (Task task : getAllTasks()) if (task.getId().equals(id)) {
-        return task;
-    }
-    throw new NoSuchElementException("Could not find a task with given id.");
+    long value = EntityId.pack(id);
+    if (value < 0) throw new NoSuchElementException("Could not find a task with given id.");
+    return getTaskById(EntityId.fromValue(value));
+  }
+
+  /**
+   * Getter for any task by its packed id, looked up in the project with the project part of the id.
+   * @param id The packed id of the task to be returned.
+   * @return The task with the equal id.
+   * @throws NoSuchElementException if a task with matching id could not be found.
+   */
+  public Task getTaskById(EntityId id) {
+    Project project = byId().get(id.getProjectValue());
+    if (project == null) throw new NoSuchElementException("Could not find a task with given id.");
+    return project.getTaskById(id);
+  }
+
+  /**
+   * Calculates the estimated work hours of all tasks with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return Sum of the estimated work hours of the matching tasks of every project.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public float getEstimatedWorkHoursBetweenDeadlines(MyDate from, MyDate to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Null date argument.");
+    double sum = 0;
+    for (Project project : projectList) sum += project.getTaskColumns().getEstimatedWorkHoursBetween(from.getEpochDay(), to.getEpochDay());
+    return (float) sum;
+  }
+
+  /**
+   * Calculates the so far worked hours on all tasks with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return Sum of the worked hours of the matching tasks of every project.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public float getTotalWorkedHoursBetweenDeadlines(MyDate from, MyDate to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Null date argument.");
+    double sum = 0;
+    for (Project project : projectList) sum += project.getTaskColumns().getTotalWorkedHoursBetween(from.getEpochDay(), to.getEpochDay());
+    return (float) sum;
+  }
+
+  /**
+   * Calculates the hours left on all started tasks with a deadline between two dates, not counting the tasks worked on
+   * longer than estimated.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return Sum of the estimated minus the worked hours of the matching started tasks of every project.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public float getRemainingWorkHoursBetweenDeadlines(MyDate from, MyDate to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Null date argument.");
+    double sum = 0;
+    for (Project project : projectList) sum += project.getTaskColumns().getRemainingWorkHoursBetween(from.getEpochDay(), to.getEpochDay());
+    return (float) sum;
+  }
+
+  /**
+   * Getter for the number of started tasks whose deadline is before a date.
+   * @param date The date the tasks are overdue at, usually the current date.
+   * @return The number of started tasks of every project with a deadline before the date.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public int getNumberOfOverdueTasks(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    int count = 0;
+    for (Project project : projectList) count += project.getTaskColumns().getNumberOfStartedTasksDueBefore(date.getEpochDay());
+    return count;
   }
 
   // ------------------------------ Other Methods ------------------------------
@@ -252,33 +465,16 @@ public class ProjectList implements Serializable {
    * @return Whether a project matching the id already exists.
    */
   public boolean isIdTaken(String id) {
-    for (Project project : projectList) if (project.getId().equals(id)) {
-      return true;
-    }
-    return false;
+    return byId().containsKey(EntityId.pack(id));
   }
 
   /**
    * Generates a unique id that does not match any of the existing ids of all projects.
    * @return The unique id.
+   * @throws UnsupportedOperationException if every project id is used.
    */
   private String generateId() {
-    Random randomizer = new Random();
-    StringBuilder generatedId;
-    char randomChar;
-
-    do {
-      generatedId = new StringBuilder("P");
-      for (int i = 0; i < 3; i++) {
-        do randomChar = (char) (randomizer.nextInt(75) + 48); while (!(
-            '0' <= randomChar && randomChar <= '9' ||
-            'A' <= randomChar && randomChar <= 'Z' && randomChar != 'P' && randomChar != 'R' && randomChar != 'T' ||
-            'a' <= randomChar && randomChar <= 'z'
-        ));
-        generatedId.append(randomChar);
-      }
-    } while (isIdTaken(generatedId.toString()));
-    return generatedId.toString();
+    return ids().allocate("P");
   }
 
   /**
@@ -298,7 +494,7 @@ public class ProjectList implements Serializable {
     //for (Project project : projectList) if (project.getTitle().equals(title)) throw new IllegalArgumentException("A project with this title already exists.");
     //if (title.length() > 14) throw new IllegalArgumentException("The project title can not be longer then 14 characters.");
     Project toReturn = new Project(generateId(), title, description, day, month, year);
-    projectList.add(toReturn);
+    link(toReturn);
     return toReturn;
   }
 
@@ -318,10 +514,24 @@ public class ProjectList implements Serializable {
     //for (Project project : projectList) if (project.getTitle().equals(title)) throw new IllegalArgumentException("A project with this title already exists.");
     //if (title.length() > 14) throw new IllegalArgumentException("The project title can not be longer then 14 characters.");
     Project toReturn = new Project(generateId(), title, day, month, year);
-    projectList.add(toReturn);
+    link(toReturn);
     return toReturn;
   }
 
+  /**
+   * Add method which links an already created project.
+   * @param project The project to be linked.
+   * @return The linked project.
+   * @throws IllegalArgumentException if the project argument is null.
+   * @throws IllegalArgumentException if a project with the same id already exists.
+   */
+  public Project addProject(Project project) {
+    if (project == null) throw new IllegalArgumentException("Project argument is null.");
+    if (isIdTaken(project.getId())) throw new IllegalArgumentException("A project with this id already exists.");
+    link(project);
+    return project;
+  }
+
   /**
    * Removes the project.
    * @param project The project which should be removed.
@@ -333,7 +543,7 @@ public class ProjectList implements Serializable {
     if (project == null) throw new IllegalArgumentException("Project argument is null.");
     if (project.getNumberOfRequirements() != 0) throw new UnsupportedOperationException("Could not remove project because it has linked requirements.");
     if (project.getNumberOfTasks() != 0) throw new UnsupportedOperationException("Could not remove project because it has linked tasks.");
-    projectList.remove(project);
+    unlink(project);
   }
 
   /**
@@ -347,6 +557,101 @@ public class ProjectList implements Serializable {
     Project project = getProjectById(id);
     if (project.getNumberOfRequirements() != 0) throw new UnsupportedOperationException("Could not remove project because it has linked requirements.");
     if (project.getNumberOfTasks() != 0) throw new UnsupportedOperationException("Could not remove project because it has linked tasks.");
+    unlink(project);
+  }
+
+  /**
+   * Removes the project together with its requirements and tasks, after unassigning every member from its tasks.
+   * @param project The project which should be removed.
+   * @throws IllegalArgumentException if the project argument is null.
+   */
+  public void removeProjectCascading(Project project) {
+    if (project == null) throw new IllegalArgumentException("Project argument is null.");
+    project.removeAllTasksAndRequirements();
+    unlink(project);
+  }
+
+  /**
+   * Removes the project by id together with its requirements and tasks, after unassigning every member from its tasks.
+   * @param id The id of the project which should be removed.
+   * @throws NoSuchElementException if a project with matching id could not be found.
+   */
+  public void removeProjectCascading(String id) {
+    Project project = getProjectById(id);
+    project.removeAllTasksAndRequirements();
+    unlink(project);
+  }
+
+  // ------------------------------ Indexes ------------------------------
+
+  /**
+   * Called by a project of the list after its deadline changed.
+   * @param project The changed project.
+   * @param previousDeadline The deadline of the project before the change.
+   */
+  void deadlineChanged(Project project, MyDate previousDeadline) {
+    projectsByDeadline.move(project.getEntityId(), previousDeadline, project.getDeadline(), project);
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model, which is passed on to every project of the list.
+   * @param changes The tracker or null if the list is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+    for (Project project : projectList) project.setChanges(changes);
+  }
+
+  private HashMap<Long, Project> byId() {
+    index();
+    return projectsById;
+  }
+
+  private DeadlineIndex<Project> byDeadline() {
+    index();
+    return projectsByDeadline;
+  }
+
+  private IdAllocator ids() {
+    index();
+    return projectIds;
+  }
+
+  /**
+   * Builds the indexes of the projects from the list and attaches the projects to the list, which happens when
+   * they are first needed after the list was deserialized.
+   */
+  private void index() {
+    if (projectsById != null) return;
+    projectsById = new HashMap<>();
+    projectsByDeadline = new DeadlineIndex<>();
+    projectIds = new IdAllocator(1, EntityId.PROJECT_CHARACTERS);
+    for (Project project : projectList) indexProject(project);
+  }
+
+  private void indexProject(Project project) {
+    projectsById.put(project.getEntityId().getValue(), project);
+    projectIds.markUsed(project.getId());
+    projectsByDeadline.add(project.getEntityId(), project.getDeadline(), project);
+    project.setProjectList(this);
+  }
+
+  private void link(Project project) {
+    index();
+    projectList.add(project);
+    indexProject(project);
+    project.setChanges(changes);
+    if (changes != null) changes.entityChanged(project);
+  }
+
+  private void unlink(Project project) {
+    index();
     projectList.remove(project);
+    projectsById.remove(project.getEntityId().getValue());
+    projectIds.release(project.getId());
+    projectsByDeadline.remove(project.getEntityId(), project.getDeadline());
+    project.setProjectList(null);
+    if (changes != null) changes.entityChanged(project);
+    project.setChanges(null);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * An interface to load the requirements, tasks and assignments of a project whose loading was deferred.
+ */
+public interface ProjectLoader {
+
+  /**
+   * Loads the content of the project into it.
+   * @param project The project to be loaded, which only contains its id, title and deadline so far.
+   * @throws UnsupportedOperationException if the content of the project could not be loaded.
+   */
+  void load(Project project);
+}
@@ -1,6 +1,8 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public interface ProjectManagementModel {
 
@@ -8,17 +10,24 @@ public interface ProjectManagementModel {
   ArrayList<Project> getAllProjects();
   ArrayList<Project> getProjectsWithStatusOver(float status);
   ArrayList<Project> getProjectsBeforeDeadline(MyDate deadline);
+  ArrayList<Project> getProjectsAfterDeadline(MyDate deadline);
+  ArrayList<Project> getProjectsBetweenDeadlines(MyDate from, MyDate to);
   Project getProjectById(String id);
+  Project getProjectById(EntityId id);
 
   // ------------------------------ Getters for Requirements ------------------------------
   ArrayList<Requirement> getAllRequirements();
   ArrayList<Requirement> getAllRequirementsWithPriority(String priorityGroup);
+  ArrayList<Requirement> getAllRequirementsWithPriority(PriorityGroup priorityGroup);
   ArrayList<Requirement> getRequirementsLinkedTo(Project project);
   ArrayList<Requirement> getRequirementsLinkedTo(Task task);
   ArrayList<Requirement> getRequirementsLinkedTo(Member member);
   ArrayList<Requirement> getRequirementsWithStatusOver(float status);
   ArrayList<Requirement> getRequirementsBeforeDeadline(MyDate deadline);
+  ArrayList<Requirement> getRequirementsAfterDeadline(MyDate deadline);
+  ArrayList<Requirement> getRequirementsBetweenDeadlines(MyDate from, MyDate to);
   Requirement getRequirementById(String id);
+  Requirement getRequirementById(EntityId id);
 
   // ------------------------------ Getters for Tasks ------------------------------
   ArrayList<Task> getAllTasks();
@@ -26,8 +35,16 @@ public interface ProjectManagementModel {
   ArrayList<Task> getTasksLinkedTo(Requirement requirement);
   ArrayList<Task> getTasksLinkedTo(Member member);
   ArrayList<Task> getTasksByStatus(String status);
+  ArrayList<Task> getTasksByStatus(TaskStatus status);
   ArrayList<Task> getTasksBeforeDeadline(MyDate deadline);
+  ArrayList<Task> getTasksAfterDeadline(MyDate deadline);
+  ArrayList<Task> getTasksBetweenDeadlines(MyDate from, MyDate to);
   Task getTaskById(String id);
+  Task getTaskById(EntityId id);
+  float getEstimatedWorkHoursBetweenDeadlines(MyDate from, MyDate to);
+  float getTotalWorkedHoursBetweenDeadlines(MyDate from, MyDate to);
+  float getRemainingWorkHoursBetweenDeadlines(MyDate from, MyDate to);
+  int getNumberOfOverdueTasks(MyDate date);
 
   // ------------------------------ Getters for Members ------------------------------
   ArrayList<Member> getAllMembers();
@@ -37,11 +54,26 @@ public interface ProjectManagementModel {
   Member getMemberByFullName(String firstName, String lastName);
   Member getMemberByEmail(String email);
 
+  // ------------------------------ Views ------------------------------
+  List<Project> getProjectsView();
+  Collection<Requirement> getRequirementsView();
+  Collection<Task> getTasksView();
+  List<Member> getMembersView();
+  Collection<Task> getTasksViewLinkedTo(Member member);
+
+  // ------------------------------ Queries ------------------------------
+  ProjectQuery queryProjects();
+  RequirementQuery queryRequirements();
+  TaskQuery queryTasks();
+  MemberQuery queryMembers();
+
   // ------------------------------ Other Methods ------------------------------
   Project addProject(String title, String description, int day, int month, int year);
   Project addProject(String title, int day, int month, int year);
   void removeProject(Project project);
   void removeProject(String id);
+  void removeProjectCascading(Project project);
+  void removeProjectCascading(String id);
   Member addMember(String firstName, String lastName, MyDate birthday,String email);
   Member addMember(String firstName, String lastName, MyDate birthday,String email, long telephoneNumber);
   void removeMember(String firstName, String lastName);
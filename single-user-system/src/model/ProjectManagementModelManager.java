@@ -1,18 +1,26 @@
 package model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public class ProjectManagementModelManager implements Serializable, ProjectManagementModel {
 
+  private static final long serialVersionUID = 4686473779386701101L;
+
   private ProjectList projectList;
   private MemberList memberList;
+  private transient ModelChanges changes;
 
   // ------------------------------ Constructors ------------------------------
 
   public ProjectManagementModelManager() {
     projectList = new ProjectList();
     memberList = new MemberList();
+    trackChanges();
   }
 
   // ------------------------------ Getters for Instance Variables ------------------------------
@@ -21,6 +29,10 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     return projectList;
   }
 
+  public ModelChanges getChanges() {
+    return changes;
+  }
+
   // ------------------------------ Getters for Projects ------------------------------
 
   public ArrayList<Project> getAllProjects() {
@@ -35,10 +47,22 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     return projectList.getAllProjectsBeforeDeadline(deadline);
   }
 
+  public ArrayList<Project> getProjectsAfterDeadline(MyDate deadline) {
+    return projectList.getAllProjectsAfterDeadline(deadline);
+  }
+
+  public ArrayList<Project> getProjectsBetweenDeadlines(MyDate from, MyDate to) {
+    return projectList.getAllProjectsBetweenDeadlines(from, to);
+  }
+
   public Project getProjectById(String id) {
     return projectList.getProjectById(id);
   }
 
+  public Project getProjectById(EntityId id) {
+    return projectList.getProjectById(id);
+  }
+
   // ------------------------------ Getters for Requirements ------------------------------
 
   public ArrayList<Requirement> getAllRequirements() {
@@ -49,6 +73,10 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     return projectList.getAllRequirementsWithPriority(priorityGroup);
   }
 
+  public ArrayList<Requirement> getAllRequirementsWithPriority(PriorityGroup priorityGroup) {
+    return projectList.getAllRequirementsWithPriority(priorityGroup);
+  }
+
   public ArrayList<Requirement> getRequirementsLinkedTo(Project project) {
     return project.getAllRequirements();
   }
@@ -58,8 +86,9 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
   }
 
   public ArrayList<Requirement> getRequirementsLinkedTo(Member member) {
+    hydrateAllProjects();
     ArrayList<Requirement> requirementsToReturn = new ArrayList<>();
-    for (Task task : member.getAllAssignedTasks()) requirementsToReturn.addAll(task.getAllAssignedRequirements());
+    for (Task task : member.getAssignedTasksView()) requirementsToReturn.addAll(task.getAssignedRequirementsView());
     return requirementsToReturn;
   }
 
@@ -71,10 +100,22 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     return projectList.getAllRequirementsBeforeDeadline(deadline);
   }
 
+  public ArrayList<Requirement> getRequirementsAfterDeadline(MyDate deadline) {
+    return projectList.getAllRequirementsAfterDeadline(deadline);
+  }
+
+  public ArrayList<Requirement> getRequirementsBetweenDeadlines(MyDate from, MyDate to) {
+    return projectList.getAllRequirementsBetweenDeadlines(from, to);
+  }
+
   public Requirement getRequirementById(String id) {
     return projectList.getRequirementById(id);
   }
 
+  public Requirement getRequirementById(EntityId id) {
+    return projectList.getRequirementById(id);
+  }
+
   // ------------------------------ Getters for Tasks ------------------------------
 
   public ArrayList<Task> getAllTasks() {
@@ -90,6 +131,7 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
   }
 
   public ArrayList<Task> getTasksLinkedTo(Member member) {
+    hydrateAllProjects();
     return member.getAllAssignedTasks();
   }
 
@@ -97,14 +139,46 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     return projectList.getAllTasksWithStatus(status);
   }
 
+  public ArrayList<Task> getTasksByStatus(TaskStatus status) {
+    return projectList.getAllTasksWithStatus(status);
+  }
+
   public ArrayList<Task> getTasksBeforeDeadline(MyDate deadline) {
     return projectList.getAllTasksBeforeDeadline(deadline);
   }
 
+  public ArrayList<Task> getTasksAfterDeadline(MyDate deadline) {
+    return projectList.getAllTasksAfterDeadline(deadline);
+  }
+
+  public ArrayList<Task> getTasksBetweenDeadlines(MyDate from, MyDate to) {
+    return projectList.getAllTasksBetweenDeadlines(from, to);
+  }
+
   public Task getTaskById(String id) {
     return projectList.getTaskById(id);
   }
 
+  public Task getTaskById(EntityId id) {
+    return projectList.getTaskById(id);
+  }
+
+  public float getEstimatedWorkHoursBetweenDeadlines(MyDate from, MyDate to) {
+    return projectList.getEstimatedWorkHoursBetweenDeadlines(from, to);
+  }
+
+  public float getTotalWorkedHoursBetweenDeadlines(MyDate from, MyDate to) {
+    return projectList.getTotalWorkedHoursBetweenDeadlines(from, to);
+  }
+
+  public float getRemainingWorkHoursBetweenDeadlines(MyDate from, MyDate to) {
+    return projectList.getRemainingWorkHoursBetweenDeadlines(from, to);
+  }
+
+  public int getNumberOfOverdueTasks(MyDate date) {
+    return projectList.getNumberOfOverdueTasks(date);
+  }
+
   // ------------------------------ Getters for Members ------------------------------
 
   public ArrayList<Member> getAllMembers() {
@@ -112,8 +186,7 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
   }
 
   public ArrayList<Member> getMembersLinkedTo(Project project) {
-    ArrayList<Member> membersToReturn = new ArrayList<>();
-    for (Task task : project.getAllTasks()) membersToReturn.addAll(task.getAllAssignedMembers());
+    ArrayList<Member> membersToReturn = new ArrayList<>(project.getMembersView());
     if (project.getProductOwner() != null) membersToReturn.add(project.getProductOwner());
     if(project.getProjectCreator() != null) membersToReturn.add(project.getProjectCreator());
     if(project.getScrumMaster() != null) membersToReturn.add(project.getScrumMaster());
@@ -136,6 +209,47 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     return memberList.getMemberByEmail(email);
   }
 
+  // ------------------------------ Views ------------------------------
+
+  public List<Project> getProjectsView() {
+    return projectList.getProjectsView();
+  }
+
+  public Collection<Requirement> getRequirementsView() {
+    return projectList.getRequirementsView();
+  }
+
+  public Collection<Task> getTasksView() {
+    return projectList.getTasksView();
+  }
+
+  public List<Member> getMembersView() {
+    return memberList.getMembersView();
+  }
+
+  public Collection<Task> getTasksViewLinkedTo(Member member) {
+    hydrateAllProjects();
+    return member.getAssignedTasksView();
+  }
+
+  // ------------------------------ Queries ------------------------------
+
+  public ProjectQuery queryProjects() {
+    return new ProjectQuery(projectList);
+  }
+
+  public RequirementQuery queryRequirements() {
+    return new RequirementQuery(projectList);
+  }
+
+  public TaskQuery queryTasks() {
+    return new TaskQuery(projectList);
+  }
+
+  public MemberQuery queryMembers() {
+    return new MemberQuery(memberList);
+  }
+
   // ------------------------------ Other Methods ------------------------------
 
   public Project addProject(String title, String description, int day, int month, int year) {
@@ -154,6 +268,14 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
     projectList.removeProject(Id);
   }
 
+  public void removeProjectCascading(Project project) {
+    projectList.removeProjectCascading(project);
+  }
+
+  public void removeProjectCascading(String id) {
+    projectList.removeProjectCascading(id);
+  }
+
   public Member addMember(String firstName, String lastName, MyDate birthday, String email) {
     return memberList.hireMember(firstName, lastName, birthday, email);
   }
@@ -163,6 +285,24 @@ public class ProjectManagementModelManager implements Serializable, ProjectManag
   }
 
   public void removeMember(String firstName, String lastName) {
+    hydrateAllProjects();
     memberList.fireMember(firstName, lastName);
   }
-}
\ No newline at end of file
+
+  // The tasks of a member are only known once every project which could assign them is loaded.
+  private void hydrateAllProjects() {
+    for (Project project : projectList.getProjectsView()) project.hydrate();
+  }
+
+  // Starts tracking the changes of every project and member, which are not part of the serialized form.
+  private void trackChanges() {
+    changes = new ModelChanges();
+    projectList.setChanges(changes);
+    memberList.setChanges(changes);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    trackChanges();
+  }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A class to find the projects matching several conditions at once, using the deadline index or the ids of the
+ * projects when one of them returns fewer projects than reading all of them.
+ */
+public final class ProjectQuery extends EntityQuery<Project> {
+
+  private ProjectList projectList;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor for a query which matches every project of the list.
+   * @param projectList The projects to look through.
+   */
+  ProjectQuery(ProjectList projectList) {
+    super("projects");
+    this.projectList = projectList;
+  }
+
+  // ------------------------------ Conditions ------------------------------
+
+  /**
+   * Only matches the project with an id.
+   * @param id The id of the project.
+   * @return This query.
+   * @throws IllegalArgumentException if the id argument is null.
+   */
+  public ProjectQuery withId(String id) {
+    if (id == null) throw new IllegalArgumentException("Id argument is null.");
+    addCondition("id " + id, project -> project.getId().equals(id), () -> new Access<>("id index (" + id + ")", 1, () -> {
+      try {
+        return Collections.singletonList(projectList.getProjectById(id)).iterator();
+      } catch (NoSuchElementException e) {
+        return Collections.emptyIterator();
+      }
+    }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the projects with a deadline before or on a date.
+   * @param date The date to compare the deadlines with.
+   * @return This query.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public ProjectQuery dueBefore(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline before or on " + date, project -> isDueBefore(project.getDeadline(), date),
+        () -> new Access<>("deadline index (before or on " + date + ")", estimateDeadlines(projectList.getNumberOfProjects(), false), () -> projectList.getAllProjectsBeforeDeadline(date).iterator(), false));
+    return this;
+  }
+
+  /**
+   * Only matches the projects with a deadline after a date.
+   * @param date The date to compare the deadlines with.
+   * @return This query.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public ProjectQuery dueAfter(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline after " + date, project -> isDueAfter(project.getDeadline(), date),
+        () -> new Access<>("deadline index (after " + date + ")", estimateDeadlines(projectList.getNumberOfProjects(), false), () -> projectList.getAllProjectsAfterDeadline(date).iterator(), false));
+    return this;
+  }
+
+  /**
+   * Only matches the projects with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return This query.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public ProjectQuery dueBetween(MyDate from, MyDate to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline between " + from + " and " + to, project -> isDueBetween(project.getDeadline(), from, to),
+        () -> new Access<>("deadline index (" + from + " to " + to + ")", estimateDeadlines(projectList.getNumberOfProjects(), true), () -> projectList.getAllProjectsBetweenDeadlines(from, to).iterator(), false));
+    return this;
+  }
+
+  /**
+   * Only matches the projects completed to at least a percentage.
+   * @param status Value between [0; 1] representing the percentage of completed tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the status argument is invalid.
+   */
+  public ProjectQuery withStatusOver(float status) {
+    if (status < 0 || 1 < status) throw new IllegalArgumentException("Status argument must be between [0; 1].");
+    addCondition("status at least " + status, project -> project.getStatus() >= status);
+    return this;
+  }
+
+  /**
+   * Only matches the projects completed to less than a percentage.
+   * @param status Value between [0; 1] representing the percentage of completed tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the status argument is invalid.
+   */
+  public ProjectQuery withStatusBelow(float status) {
+    if (status < 0 || 1 < status) throw new IllegalArgumentException("Status argument must be between [0; 1].");
+    addCondition("status below " + status, project -> project.getStatus() < status);
+    return this;
+  }
+
+  /**
+   * Only matches the projects passing a test, which is run on every project read.
+   * @param test The test of the projects.
+   * @return This query.
+   * @throws IllegalArgumentException if the test argument is null.
+   */
+  public ProjectQuery where(Predicate<? super Project> test) {
+    if (test == null) throw new IllegalArgumentException("Test argument is null.");
+    addCondition("custom test", test);
+    return this;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  @Override Access<Project> scan() {
+    return new Access<>("every project", projectList.getNumberOfProjects(), () -> new ArrayList<>(projectList.getProjectsView()).iterator(), true);
+  }
+}
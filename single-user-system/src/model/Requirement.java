@@ -1,6 +1,12 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 
 /**
@@ -8,13 +14,34 @@ import java.io.Serializable;
  */
 public class Requirement implements Serializable {
 
+  private static final long serialVersionUID = 6816807369898302542L;
+
+  /**
+   * The fields written to serialized requirements, which keep the priority group as a string and the assigned tasks as an
+   * array list to stay compatible with older files.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("id", String.class),
+      new ObjectStreamField("title", String.class),
+      new ObjectStreamField("description", String.class),
+      new ObjectStreamField("deadline", MyDate.class),
+      new ObjectStreamField("priorityGroup", String.class),
+      new ObjectStreamField("isApproved", boolean.class),
+      new ObjectStreamField("assignedTasks", ArrayList.class)
+  };
+
   private String id;
   private String title;
   private String description;
   private MyDate deadline;
-  private String priorityGroup;
+  private PriorityGroup priorityGroup;
   private boolean isApproved;
-  private ArrayList<Task> assignedTasks;
+  private transient AssignmentSet<Task> assignedTasks;
+  private transient EntityId entityId;
+  private transient ModelChanges changes;
+  private transient RequirementList requirementList;
+  private transient WorkTotals totals;
+  private transient Collection<Member> membersView;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -25,17 +52,19 @@ public class Requirement implements Serializable {
    * @param description Description of the requirement.
    * @param deadline MyDate object representing the deadline.
    * @param priorityGroup A value of either ["Critical", "High", "Low"] representing the importance of the requirement.
+   * @throws IllegalArgumentException if the id is not a valid requirement id.
    * @throws IllegalArgumentException if the requirement's title is longer then 14 chars.
    * @throws IllegalArgumentException if the priority group argument is invalid.
    */
   public Requirement(String id, String title, String description, MyDate deadline, String priorityGroup) {
     this.id = id;
+    entityId = EntityId.parse(id, EntityId.Kind.REQUIREMENT);
     setTitle(title);
     setDescription(description);
     setDeadline(deadline);
     setPriorityGroup(priorityGroup);
     isApproved = false;
-    assignedTasks = new ArrayList<>();
+    assignedTasks = AssignmentSet.ofTasks(null);
   }
 
   /**
@@ -44,6 +73,7 @@ public class Requirement implements Serializable {
    * @param title Title for the requirement.
    * @param deadline MyDate object representing the deadline.
    * @param priorityGroup A value of either ["Critical", "High", "Low"] representing the importance of the requirement.
+   * @throws IllegalArgumentException if the id is not a valid requirement id.
    * @throws IllegalArgumentException if the requirement's title is longer then 14 chars.
    * @throws IllegalArgumentException if the priority group argument is invalid.
    */
@@ -51,6 +81,29 @@ public class Requirement implements Serializable {
     this(id, title, "", deadline, priorityGroup);
   }
 
+  /**
+   * Constructor to restore a previously saved requirement without validating the deadline against the current date.
+   * @param id Id value of the requirement.
+   * @param title Title for the requirement.
+   * @param description Description of the requirement.
+   * @param deadline MyDate object representing the deadline.
+   * @param priorityGroup A value of either ["Critical", "High", "Low"] representing the importance of the requirement.
+   * @param isApproved A value of true or false representing whether the requirements is approved.
+   * @throws IllegalArgumentException if the id is not a valid requirement id.
+   * @throws IllegalArgumentException if the requirement's title is longer then 14 chars.
+   * @throws IllegalArgumentException if the priority group argument is invalid.
+   */
+  public Requirement(String id, String title, String description, MyDate deadline, String priorityGroup, boolean isApproved) {
+    this.id = id;
+    entityId = EntityId.parse(id, EntityId.Kind.REQUIREMENT);
+    setTitle(title);
+    setDescription(description);
+    this.deadline = Interner.date(deadline);
+    setPriorityGroup(priorityGroup);
+    this.isApproved = isApproved;
+    assignedTasks = AssignmentSet.ofTasks(null);
+  }
+
   // ------------------------------ Setters ------------------------------
 
   /**
@@ -60,7 +113,8 @@ public class Requirement implements Serializable {
    */
   public void setTitle(String title) {
     if (title.length() > 14) throw new IllegalArgumentException("The requirement title can not be longer then 14 characters.");
-    this.title = title;
+    this.title = Interner.string(title);
+    edited();
   }
 
   /**
@@ -69,6 +123,7 @@ public class Requirement implements Serializable {
    */
   public void setDescription(String description) {
     this.description = description;
+    edited();
   }
 
   /**
@@ -77,8 +132,23 @@ public class Requirement implements Serializable {
    * @throws IllegalArgumentException if deadline is in the past.
    */
   public void setDeadline(MyDate deadline) {
-    if (deadline.isBefore(new MyDate())) throw new IllegalArgumentException("The deadline must be set to a future date.");
-    this.deadline = deadline;
+    if (!EpochDate.from(deadline).isAfter(EpochDate.today())) throw new IllegalArgumentException("The deadline must be set to a future date.");
+    MyDate previousDeadline = this.deadline;
+    this.deadline = Interner.date(deadline);
+    if (requirementList != null) requirementList.deadlineChanged(this, previousDeadline);
+    edited();
+  }
+
+  /**
+   * Sets the deadline without requiring it to be in the future, as it was once set to a future date.
+   * Used to restore the deadline from a saved file.
+   * @param deadline MyDate object representing the deadline.
+   */
+  public void restoreDeadline(MyDate deadline) {
+    MyDate previousDeadline = this.deadline;
+    this.deadline = Interner.date(deadline);
+    if (requirementList != null) requirementList.deadlineChanged(this, previousDeadline);
+    edited();
   }
 
   /**
@@ -87,8 +157,20 @@ public class Requirement implements Serializable {
    * @throws IllegalArgumentException if the priority group argument is invalid.
    */
   public void setPriorityGroup(String priorityGroup) {
-    if (!(priorityGroup.equals("Low") || priorityGroup.equals("Critical") || priorityGroup.equals("High"))) throw new IllegalArgumentException("Attempt to set an invalid priority group to the requirement.");
+    setPriorityGroup(PriorityGroup.fromString(priorityGroup));
+  }
+
+  /**
+   * Setter for the priority group instance variable.
+   * @param priorityGroup The importance of the requirement.
+   * @throws IllegalArgumentException if the priority group argument is null.
+   */
+  public void setPriorityGroup(PriorityGroup priorityGroup) {
+    if (priorityGroup == null) throw new IllegalArgumentException("Attempt to set an invalid priority group to the requirement.");
+    PriorityGroup previousPriorityGroup = this.priorityGroup;
     this.priorityGroup = priorityGroup;
+    if (requirementList != null) requirementList.priorityGroupChanged(this, previousPriorityGroup);
+    edited();
   }
 
   /**
@@ -97,6 +179,7 @@ public class Requirement implements Serializable {
    */
   public void setApprovedOrDisapproved(boolean isApproved) {
     this.isApproved = isApproved;
+    edited();
   }
 
   // ------------------------------ Getters for Instance Variables ------------------------------
@@ -109,6 +192,15 @@ public class Requirement implements Serializable {
     return id;
   }
 
+  /**
+   * Getter for the id parsed into its packed form.
+   * @return The packed id of the requirement.
+   */
+  public EntityId getEntityId() {
+    if (entityId == null) entityId = EntityId.parse(id, EntityId.Kind.REQUIREMENT);
+    return entityId;
+  }
+
   /**
    * Getter for title instance variable.
    * @return Value of requirement's title.
@@ -138,6 +230,14 @@ public class Requirement implements Serializable {
    * @return Value of requirement's priority group.
    */
   public String getPriorityGroup() {
+    return priorityGroup.toString();
+  }
+
+  /**
+   * Getter for priority group instance variable.
+   * @return The priority group of the requirement.
+   */
+  public PriorityGroup getPriority() {
     return priorityGroup;
   }
 
@@ -164,7 +264,25 @@ public class Requirement implements Serializable {
    * @return All the tasks assigned to the requirement or empty array list if no tasks are assigned.
    */
   public ArrayList<Task> getAllAssignedTasks() {
-    return assignedTasks;
+    return assignedTasks.toList();
+  }
+
+  /**
+   * Getter for a read-only view of the tasks assigned to the requirement, which follows the changes of the assignments
+   * without copying them.
+   * @return The view of the assigned tasks in the order they were assigned.
+   */
+  public Collection<Task> getAssignedTasksView() {
+    return assignedTasks.view();
+  }
+
+  /**
+   * Checks whether the task is assigned to the requirement.
+   * @param task The task to look for.
+   * @return Whether the task is assigned to the requirement.
+   */
+  public boolean isAssigned(Task task) {
+    return assignedTasks.contains(task);
   }
 
   // ------------------------------ Getters for Assigned Members ------------------------------
@@ -174,9 +292,7 @@ public class Requirement implements Serializable {
    * @return The number of members assigned to the requirement.
    */
   public int getNumberOfAssignedMembers() {
-    ArrayList<Member> membersToReturn = new ArrayList<>();
-    for (Task task : assignedTasks) membersToReturn.addAll(task.getAllAssignedMembers());
-    return membersToReturn.size();
+    return getMembersView().size();
   }
 
   /**
@@ -184,44 +300,68 @@ public class Requirement implements Serializable {
    * @return All the members assigned to the requirement or empty array list if no members are assigned.
    */
   public ArrayList<Member> getAllMembersWorkingOnRequirement() {
-    ArrayList<Member> membersToReturn = new ArrayList<>();
-    for (Task task : assignedTasks) membersToReturn.addAll(task.getAllAssignedMembers());
-    return membersToReturn;
+    return new ArrayList<>(getMembersView());
+  }
+
+  /**
+   * Getter for a read-only view of the members assigned to the requirement, task after task, which follows the
+   * changes of the assignments without copying them. A member is included once for every task they are assigned to.
+   * @return The view of the assigned members.
+   */
+  public Collection<Member> getMembersView() {
+    if (membersView == null) membersView = new ConcatenatedView<>(assignedTasks.view(), Task::getAssignedMembersView, Task::getNumberOfAssignedMembers);
+    return membersView;
   }
 
   // ------------------------------ Other Methods ------------------------------
 
   /**
-   * Assigns task to this requirement.
+   * Assigns task to this requirement and this requirement to the task.
    * @param taskToAssign The task object to be assigned.
    * @throws UnsupportedOperationException if the task belongs to another project.
    */
   public void assignTask(Task taskToAssign) {
-    if (!taskToAssign.getId().substring(0, 4).equals(getId().substring(0, 4))) throw new UnsupportedOperationException("Could not assign task because it belong to another project.");
-    for (Task task : assignedTasks) if (task.getId().equals(taskToAssign.getId())) return;
-    assignedTasks.add(taskToAssign);
+    if (!taskToAssign.getEntityId().isInSameProjectAs(getEntityId())) throw new UnsupportedOperationException("Could not assign task because it belong to another project.");
     taskToAssign.assignRequirement(this);
   }
 
   /**
-   * Unassigns task argument from this requirement.
+   * Unassigns task argument from this requirement and this requirement from the task.
    * @param taskToUnassign The task needed to be unassigned.
    */
   public void unassignTask(Task taskToUnassign) {
-    for (int i = 0; i < assignedTasks.size(); i++) if (assignedTasks.get(i).getId().equals(taskToUnassign.getId())) {
-      assignedTasks.remove(i);
-      taskToUnassign.unassignRequirement(this);
-      return;
-    }
+    taskToUnassign.unassignRequirement(this);
+  }
+
+  /**
+   * Adds task to the assigned tasks without assigning this requirement back to the task, which is done by the task.
+   * @param task The task object to be added.
+   */
+  void linkTask(Task task) {
+    if (assignedTasks.add(task) && totals != null) totals.add(task);
   }
 
   /**
-   * Unassigns every task argument from this requirement.
+   * Removes task from the assigned tasks without unassigning this requirement from the task, which is done by the task.
+   * @param task The task object to be removed.
+   */
+  void unlinkTask(Task task) {
+    if (assignedTasks.remove(task) && totals != null) totals.remove(task);
+  }
+
+  /**
+   * Unassigns every task argument from this requirement and this requirement from every task.
+   */
+  public void unassignFromEveryTask() {
+    for (Task task : assignedTasks.clear()) task.unlinkRequirement(this);
+    totals = null;
+  }
+
+  /**
+   * Unassigns every task argument from this requirement, the same as unassignFromEveryTask().
    */
   public void unassignFromEveryRequirement() {
-    for (Task task : assignedTasks) {
-      unassignTask(task);
-    }
+    unassignFromEveryTask();
   }
 
   /**
@@ -229,9 +369,7 @@ public class Requirement implements Serializable {
    * @return Sum of all assigned task's estimated work hours.
    */
   public float getEstimatedWorkHours() {
-    float estimatedWorkHours = 0;
-    for (Task task : assignedTasks) estimatedWorkHours += task.getEstimatedWorkHours();
-    return estimatedWorkHours;
+    return totals().getEstimatedWorkHours();
   }
 
   /**
@@ -239,9 +377,7 @@ public class Requirement implements Serializable {
    * @return Sum of all assigned task's worked hours.
    */
   public float getTotalWorkedHours() {
-    float totalWorkedHours = 0;
-    for (Task task : assignedTasks) totalWorkedHours += task.getEstimatedWorkHours();
-    return totalWorkedHours;
+    return totals().getTotalWorkedHours();
   }
 
   /**
@@ -249,11 +385,82 @@ public class Requirement implements Serializable {
    * @return The percentage of completed linked tasks.
    */
   public float getStatus() {
-    int numberOfTasks = getNumberOfAssignedTasks();
-    int numberOfCompletedTasks = 0;
+    return totals().getStatus();
+  }
+
+  /**
+   * Getter for the number of completed tasks assigned to the requirement.
+   * @return The number of assigned tasks with the status "Completed".
+   */
+  public int getNumberOfCompletedTasks() {
+    return totals().getNumberOfCompletedTasks();
+  }
+
+  /**
+   * Setter for the list of the project the requirement belongs to, whose indexes are updated when the deadline or
+   * priority group of the requirement change.
+   * @param requirementList The list or null if the requirement was removed from the project.
+   */
+  void setRequirementList(RequirementList requirementList) {
+    this.requirementList = requirementList;
+  }
 
-    if (numberOfTasks == 0) return 0;
-    for (Task task : assignedTasks) if (task.getStatus().equals("Completed")) numberOfCompletedTasks++;
-    return (float) numberOfCompletedTasks / numberOfTasks;
+  /**
+   * Passes a change of the status or hours of an assigned task on to the work totals of the requirement.
+   * @param wasCompleted Whether the task was completed before the change.
+   * @param previousEstimatedWorkHours The estimated work hours of the task before the change.
+   * @param previousTotalWorkedHours The worked hours of the task before the change.
+   * @param task The changed task.
+   */
+  void taskWorkChanged(boolean wasCompleted, float previousEstimatedWorkHours, float previousTotalWorkedHours, Task task) {
+    if (totals != null) totals.update(wasCompleted, previousEstimatedWorkHours, previousTotalWorkedHours, task);
+  }
+
+  /**
+   * Getter for the work totals of the assigned tasks, which are built from the assigned tasks when first needed.
+   */
+  private WorkTotals totals() {
+    if (totals == null) totals = new WorkTotals(assignedTasks);
+    return totals;
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model the requirement belongs to.
+   * @param changes The tracker or null if the requirement is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+  }
+
+  private void edited() {
+    if (changes != null) changes.entityEdited(this);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("id", id);
+    fields.put("title", title);
+    fields.put("description", description);
+    fields.put("deadline", deadline);
+    fields.put("priorityGroup", priorityGroup.toString());
+    fields.put("isApproved", isApproved);
+    fields.put("assignedTasks", assignedTasks.toList());
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    id = (String) fields.get("id", null);
+    title = Interner.string((String) fields.get("title", null));
+    description = (String) fields.get("description", null);
+    deadline = Interner.date((MyDate) fields.get("deadline", null));
+    isApproved = fields.get("isApproved", false);
+    assignedTasks = AssignmentSet.ofTasks((ArrayList<Task>) fields.get("assignedTasks", null));
+    try {
+      priorityGroup = PriorityGroup.fromString((String) fields.get("priorityGroup", null));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidObjectException("Requirement " + id + " has an invalid priority group.");
+    }
   }
-}
\ No newline at end of file
+}
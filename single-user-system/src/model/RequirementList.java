@@ -1,19 +1,31 @@
 package model;
 
+import java.io.Serializable;
 import java.lang.StringBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Random;
-import java.io.Serializable;
 
 /**
  * A class to process and store a requirements.
  */
 public class RequirementList implements Serializable {
 
+  private static final long serialVersionUID = -5449681601633101267L;
+
   // ------------------------------ Constructors ------------------------------
 
   private ArrayList<Requirement> requirementList;
+  private transient ModelChanges changes;
+  private transient HashMap<Long, Requirement> requirementsById;
+  private transient DeadlineIndex<Requirement> requirementsByDeadline;
+  private transient IdAllocator requirementIds;
+  private transient EnumMap<PriorityGroup, LinkedHashSet<Requirement>> requirementsByPriorityGroup;
+  private transient List<Requirement> requirementsView;
 
   /**
    * Constructor to initialise the instance variables.
@@ -34,21 +46,50 @@ public class RequirementList implements Serializable {
 
   /**
    * Getter for all the requirements linked to the project.
-   * @return All the requirements linked to the project or empty array list if no requirements are linked.
+   * @return A new array list with all the requirements linked to the project or empty array list if no requirements are linked.
    */
   public ArrayList<Requirement> getAllRequirements() {
-    return requirementList;
+    return new ArrayList<>(requirementList);
+  }
+
+  /**
+   * Getter for a read-only view of the requirements linked to the project, which follows the changes of the list without copying it.
+   * @return The view of the linked requirements.
+   */
+  public List<Requirement> getRequirementsView() {
+    if (requirementsView == null) requirementsView = Collections.unmodifiableList(requirementList);
+    return requirementsView;
   }
 
   /**
    * Getter for all the requirements linked to the project before a specific deadline.
    * @param deadline A date that will be compare with each deadline of the linked requirement.
-   * @return All linked requirements that have a deadline before the given argument date or empty array list if no matching requirements were found or no requirements are linked.
+   * @return All linked requirements that have a deadline before the given argument date sorted by deadline or empty array list if no matching requirements were found or no requirements are linked.
+   * @throws IllegalArgumentException if the deadline argument is null.
    */
   public ArrayList<Requirement> getAllRequirementsBeforeDeadLine(MyDate deadline) {
-    ArrayList<Requirement> toReturnRequirements = new ArrayList<>();
-    for (Requirement requirement : requirementList) if (requirement.getDeadline().isBefore(deadline)) toReturnRequirements.add(requirement);
-    return toReturnRequirements;
+    return byDeadline().getBefore(deadline);
+  }
+
+  /**
+   * Getter for all the requirements linked to the project after a specific deadline.
+   * @param deadline A date that will be compare with each deadline of the linked requirement.
+   * @return All linked requirements that have a deadline after the given argument date sorted by deadline or empty array list if no matching requirements were found or no requirements are linked.
+   * @throws IllegalArgumentException if the deadline argument is null.
+   */
+  public ArrayList<Requirement> getAllRequirementsAfterDeadline(MyDate deadline) {
+    return byDeadline().getAfter(deadline);
+  }
+
+  /**
+   * Getter for all the requirements linked to the project with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All linked requirements that have a deadline between the given argument dates sorted by deadline or empty array list if no matching requirements were found or no requirements are linked.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public ArrayList<Requirement> getAllRequirementsBetweenDeadlines(MyDate from, MyDate to) {
+    return byDeadline().getBetween(from, to);
   }
 
   /**
@@ -71,10 +112,25 @@ public class RequirementList implements Serializable {
    * @throws IllegalArgumentException if the priority argument is invalid.
    */
   public ArrayList<Requirement> getAllRequirementsWithPriority(String priority) {
-    if (!(priority.equals("Low") || priority.equals("Critical") || priority.equals("High"))) throw new IllegalArgumentException("Priority group must be a value of either [\"Critical\", \"High\", \"Low\"].");
-    ArrayList<Requirement> toReturnRequirements = new ArrayList<>();
-    for (Requirement requirement : requirementList) if (requirement.getPriorityGroup().equals(priority)) toReturnRequirements.add(requirement);
-    return toReturnRequirements;
+    return getAllRequirementsWithPriority(PriorityGroup.fromString(priority));
+  }
+
+  /**
+   * Getter for all the requirements linked to the project that have a specific priority.
+   * @param priority The priority group of the requirements to look for.
+   * @return All linked requirements that have the priority group or empty array list if no matching requirements were found or no requirements are linked.
+   */
+  public ArrayList<Requirement> getAllRequirementsWithPriority(PriorityGroup priority) {
+    return new ArrayList<>(byPriorityGroup().get(priority));
+  }
+
+  /**
+   * Getter for the number of requirements linked to the project that have a specific priority.
+   * @param priority The priority group of the requirements to count.
+   * @return The number of linked requirements that have the priority group.
+   */
+  public int getNumberOfRequirementsWithPriority(PriorityGroup priority) {
+    return byPriorityGroup().get(priority).size();
   }
 
   /**
@@ -116,9 +172,20 @@ public class RequirementList implements Serializable {
    * @throws NoSuchElementException if a requirement with matching id could not be found.
    */
   public Requirement getRequirementById(String id) {
-    for (Requirement requirement : requirementList) if (requirement.getId().equals(id)) {
-      return requirement;
-    }
+    Requirement requirement = byId().get(EntityId.pack(id));
+    if (requirement != null) return requirement;
+    throw new NoSuchElementException("Could not find a requirement with given id.");
+  }
+
+  /**
+   * Getter for requirement linked to the project by its packed id.
+   * @param id The packed id of the requirement to be returned.
+   * @return The requirement with the equal id.
+   * @throws NoSuchElementException if a requirement with matching id could not be found.
+   */
+  public Requirement getRequirementById(EntityId id) {
+    Requirement requirement = byId().get(id.getValue());
+    if (requirement != null) return requirement;
     throw new NoSuchElementException("Could not find a requirement with given id.");
   }
 
@@ -128,33 +195,16 @@ public class RequirementList implements Serializable {
    * @return Whether a requirement matching the id already exists.
    */
   public boolean isIdTaken(String id) {
-    for (Requirement requirement : requirementList) if (requirement.getId().equals(id)) {
-      return true;
-    }
-    return false;
+    return byId().containsKey(EntityId.pack(id));
   }
 
   /**
    * Generates a unique id that does not match any of the existing ids of all tasks.
    * @return The unique id.
+   * @throws UnsupportedOperationException if every requirement id is used.
    */
   private String generateId(String projectId) {
-    Random randomizer = new Random();
-    StringBuilder generatedId;
-    char randomChar;
-
-    do {
-      generatedId = new StringBuilder(projectId + "R");
-      for (int i = 0; i < 3; i++) {
-        do randomChar = (char) (randomizer.nextInt(75) + 48); while (!(
-            '0' <= randomChar && randomChar <= '9' ||
-                'A' <= randomChar && randomChar <= 'Z' && randomChar != 'P' && randomChar != 'R' && randomChar != 'T' ||
-                'a' <= randomChar && randomChar <= 'z'
-        ));
-        generatedId.append(randomChar);
-      }
-    } while (isIdTaken(generatedId.toString()));
-    return generatedId.toString();
+    return ids().allocate(projectId + "R");
   }
 
   /**
@@ -171,7 +221,7 @@ public class RequirementList implements Serializable {
   public Requirement addRequirement(String projectId, String title, String description, MyDate deadline, String priorityGroup) {
     for (Requirement requirement : requirementList) if (requirement.getTitle().equals(title)) throw new IllegalArgumentException("A requirement with this title already exists in the project.");
     Requirement toReturn = new Requirement(generateId(projectId), title, description, deadline, priorityGroup);
-    requirementList.add(toReturn);
+    link(toReturn);
     return toReturn;
   }
 
@@ -189,10 +239,24 @@ public class RequirementList implements Serializable {
   public Requirement addRequirement(String projectId, String title, MyDate deadline, String priorityGroup) {
     for (Requirement requirement : requirementList) if (requirement.getTitle().equals(title)) throw new IllegalArgumentException("A requirement with this title already exists in the project.");
     Requirement toReturn = new Requirement(generateId(projectId), title, deadline, priorityGroup);
-    requirementList.add(toReturn);
+    link(toReturn);
     return toReturn;
   }
 
+  /**
+   * Add method which links an already created requirement to the project.
+   * @param requirement The requirement to be linked.
+   * @return The linked requirement.
+   * @throws IllegalArgumentException if the requirement argument is null.
+   * @throws IllegalArgumentException if a requirement with the same id already exists in the project.
+   */
+  public Requirement addRequirement(Requirement requirement) {
+    if (requirement == null) throw new IllegalArgumentException("Requirement argument is null.");
+    if (isIdTaken(requirement.getId())) throw new IllegalArgumentException("A requirement with this id already exists in the project.");
+    link(requirement);
+    return requirement;
+  }
+
   /**
    * Removes any requirement that matches the argument id.
    * @param id The id of the requirement to be removed.
@@ -202,7 +266,7 @@ public class RequirementList implements Serializable {
   public void removeRequirement(String id) {
     Requirement requirement = getRequirementById(id);
     if (requirement.getNumberOfAssignedTasks() != 0) throw new UnsupportedOperationException("Could not remove requirement because it is assigned to some tasks.");
-    requirementList.remove(requirement);
+    unlink(requirement);
   }
 
   /**
@@ -216,4 +280,109 @@ public class RequirementList implements Serializable {
     if (requirement == null) throw new IllegalArgumentException("Requirement argument is null.");
     removeRequirement(requirement.getId());
   }
-}
\ No newline at end of file
+
+  /**
+   * Removes every requirement at once, after unassigning every task from them.
+   */
+  public void removeAllRequirements() {
+    for (Requirement requirement : requirementList) {
+      requirement.unassignFromEveryTask();
+      requirement.setRequirementList(null);
+      requirement.setChanges(null);
+    }
+    requirementList.clear();
+    requirementsById = null;
+  }
+
+  // ------------------------------ Indexes ------------------------------
+
+  /**
+   * Called by a requirement of the list after its deadline changed.
+   * @param requirement The changed requirement.
+   * @param previousDeadline The deadline of the requirement before the change.
+   */
+  void deadlineChanged(Requirement requirement, MyDate previousDeadline) {
+    requirementsByDeadline.move(requirement.getEntityId(), previousDeadline, requirement.getDeadline(), requirement);
+  }
+
+  /**
+   * Called by a requirement of the list after its priority group changed.
+   * @param requirement The changed requirement.
+   * @param previousPriorityGroup The priority group of the requirement before the change.
+   */
+  void priorityGroupChanged(Requirement requirement, PriorityGroup previousPriorityGroup) {
+    requirementsByPriorityGroup.get(previousPriorityGroup).remove(requirement);
+    requirementsByPriorityGroup.get(requirement.getPriority()).add(requirement);
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model, which is passed on to every requirement of the list.
+   * @param changes The tracker or null if the list is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+    for (Requirement requirement : requirementList) requirement.setChanges(changes);
+  }
+
+  private HashMap<Long, Requirement> byId() {
+    index();
+    return requirementsById;
+  }
+
+  private DeadlineIndex<Requirement> byDeadline() {
+    index();
+    return requirementsByDeadline;
+  }
+
+  private IdAllocator ids() {
+    index();
+    return requirementIds;
+  }
+
+  private EnumMap<PriorityGroup, LinkedHashSet<Requirement>> byPriorityGroup() {
+    index();
+    return requirementsByPriorityGroup;
+  }
+
+  /**
+   * Builds the indexes of the requirements from the list and attaches the requirements to the list, which happens when
+   * they are first needed after the list was deserialized.
+   */
+  private void index() {
+    if (requirementsById != null) return;
+    requirementsById = new HashMap<>();
+    requirementsByDeadline = new DeadlineIndex<>();
+    requirementIds = new IdAllocator(2 + EntityId.PROJECT_CHARACTERS, EntityId.MAX_CHILD_CHARACTERS);
+    requirementsByPriorityGroup = new EnumMap<>(PriorityGroup.class);
+    for (PriorityGroup value : PriorityGroup.values()) requirementsByPriorityGroup.put(value, new LinkedHashSet<>());
+    for (Requirement requirement : requirementList) indexRequirement(requirement);
+  }
+
+  private void indexRequirement(Requirement requirement) {
+    requirementsById.put(requirement.getEntityId().getValue(), requirement);
+    requirementIds.markUsed(requirement.getId());
+    requirementsByDeadline.add(requirement.getEntityId(), requirement.getDeadline(), requirement);
+    requirementsByPriorityGroup.get(requirement.getPriority()).add(requirement);
+    requirement.setRequirementList(this);
+  }
+
+  private void link(Requirement requirement) {
+    index();
+    requirementList.add(requirement);
+    indexRequirement(requirement);
+    requirement.setChanges(changes);
+    if (changes != null) changes.entityChanged(requirement);
+  }
+
+  private void unlink(Requirement requirement) {
+    index();
+    requirementList.remove(requirement);
+    requirementsById.remove(requirement.getEntityId().getValue());
+    requirementIds.release(requirement.getId());
+    requirementsByDeadline.remove(requirement.getEntityId(), requirement.getDeadline());
+    requirementsByPriorityGroup.get(requirement.getPriority()).remove(requirement);
+    requirement.setRequirementList(null);
+    if (changes != null) changes.entityChanged(requirement);
+    requirement.setChanges(null);
+  }
+}
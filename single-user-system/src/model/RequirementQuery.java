@@ -0,0 +1,242 @@
+package model;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A class to find the requirements matching several conditions at once, using the priority and deadline indexes of
+ * the projects, the requirements of a task or of the tasks of a member, or the ids of the requirements when one of
+ * them returns fewer requirements than reading all of them.
+ */
+public final class RequirementQuery extends EntityQuery<Requirement> {
+
+  private ProjectList projectList;
+  private Project project;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor for a query which matches every requirement of the projects of the list.
+   * @param projectList The projects whose requirements are looked through.
+   */
+  RequirementQuery(ProjectList projectList) {
+    super("requirements");
+    this.projectList = projectList;
+  }
+
+  // ------------------------------ Conditions ------------------------------
+
+  /**
+   * Only matches the requirement with an id.
+   * @param id The id of the requirement.
+   * @return This query.
+   * @throws IllegalArgumentException if the id argument is null.
+   */
+  public RequirementQuery withId(String id) {
+    if (id == null) throw new IllegalArgumentException("Id argument is null.");
+    addCondition("id " + id, requirement -> requirement.getId().equals(id), () -> new Access<>("id index (" + id + ")", 1, () -> {
+      try {
+        return Collections.singletonList(projectList.getRequirementById(id)).iterator();
+      } catch (NoSuchElementException e) {
+        return Collections.emptyIterator();
+      }
+    }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the requirements linked to a project.
+   * @param project The project of the requirements.
+   * @return This query.
+   * @throws IllegalArgumentException if the project argument is null.
+   */
+  public RequirementQuery inProject(Project project) {
+    if (project == null) throw new IllegalArgumentException("Project argument is null.");
+    this.project = project;
+    long projectValue = project.getEntityId().getValue();
+    addScope("in project " + project.getId(), requirement -> requirement.getEntityId().getProjectValue() == projectValue);
+    return this;
+  }
+
+  /**
+   * Only matches the requirements with a priority.
+   * @param priority A value of either ["Critical", "High", "Low"].
+   * @return This query.
+   * @throws IllegalArgumentException if the priority argument is invalid.
+   */
+  public RequirementQuery withPriority(String priority) {
+    return withPriority(PriorityGroup.fromString(priority));
+  }
+
+  /**
+   * Only matches the requirements with a priority.
+   * @param priority The priority group of the requirements.
+   * @return This query.
+   * @throws IllegalArgumentException if the priority argument is null.
+   */
+  public RequirementQuery withPriority(PriorityGroup priority) {
+    if (priority == null) throw new IllegalArgumentException("Priority argument is null.");
+    addCondition("priority " + priority, requirement -> requirement.getPriority() == priority, () -> {
+      long estimate = 0;
+      for (Project project : projects()) {
+        estimate += project.isHydrated() ? project.getNumberOfRequirementsWithPriority(priority) : project.getNumberOfRequirements() / PriorityGroup.values().length;
+      }
+      return new Access<>("priority index (" + priority + ")", estimate, () -> acrossProjects(projects(), project -> project.getAllRequirementsWithPriority(priority)), true);
+    });
+    return this;
+  }
+
+  /**
+   * Only matches the requirements with a deadline before or on a date.
+   * @param date The date to compare the deadlines with.
+   * @return This query.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public RequirementQuery dueBefore(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline before or on " + date, requirement -> isDueBefore(requirement.getDeadline(), date),
+        () -> new Access<>("deadline index (before or on " + date + ")", estimateDeadlines(size(), false), () -> acrossProjects(projects(), project -> project.getAllRequirementsBeforeDeadline(date)), true));
+    return this;
+  }
+
+  /**
+   * Only matches the requirements with a deadline after a date.
+   * @param date The date to compare the deadlines with.
+   * @return This query.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public RequirementQuery dueAfter(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline after " + date, requirement -> isDueAfter(requirement.getDeadline(), date),
+        () -> new Access<>("deadline index (after " + date + ")", estimateDeadlines(size(), false), () -> acrossProjects(projects(), project -> project.getAllRequirementsAfterDeadline(date)), true));
+    return this;
+  }
+
+  /**
+   * Only matches the requirements with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return This query.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public RequirementQuery dueBetween(MyDate from, MyDate to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline between " + from + " and " + to, requirement -> isDueBetween(requirement.getDeadline(), from, to),
+        () -> new Access<>("deadline index (" + from + " to " + to + ")", estimateDeadlines(size(), true), () -> acrossProjects(projects(), project -> project.getAllRequirementsBetweenDeadlines(from, to)), true));
+    return this;
+  }
+
+  /**
+   * Only matches the requirements completed to at least a percentage.
+   * @param status Value between [0; 1] representing the percentage of completed tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the status argument is invalid.
+   */
+  public RequirementQuery withStatusOver(float status) {
+    if (status < 0 || 1 < status) throw new IllegalArgumentException("Status argument must be between [0; 1].");
+    addCondition("status at least " + status, requirement -> requirement.getStatus() >= status);
+    return this;
+  }
+
+  /**
+   * Only matches the requirements completed to less than a percentage.
+   * @param status Value between [0; 1] representing the percentage of completed tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the status argument is invalid.
+   */
+  public RequirementQuery withStatusBelow(float status) {
+    if (status < 0 || 1 < status) throw new IllegalArgumentException("Status argument must be between [0; 1].");
+    addCondition("status below " + status, requirement -> requirement.getStatus() < status);
+    return this;
+  }
+
+  /**
+   * Only matches the requirements marked as approved.
+   * @return This query.
+   */
+  public RequirementQuery approved() {
+    addCondition("approved", Requirement::isApproved);
+    return this;
+  }
+
+  /**
+   * Only matches the requirements not marked as approved.
+   * @return This query.
+   */
+  public RequirementQuery disapproved() {
+    addCondition("disapproved", requirement -> !requirement.isApproved());
+    return this;
+  }
+
+  /**
+   * Only matches the requirements a task is assigned to.
+   * @param task The task of the requirements.
+   * @return This query.
+   * @throws IllegalArgumentException if the task argument is null.
+   */
+  public RequirementQuery linkedTo(Task task) {
+    if (task == null) throw new IllegalArgumentException("Task argument is null.");
+    addCondition("linked to task " + task.getId(), requirement -> requirement.isAssigned(task),
+        () -> new Access<>("requirements of task " + task.getId(), task.getNumberOfAssignedRequirements(), () -> task.getAllAssignedRequirements().iterator(), false));
+    return this;
+  }
+
+  /**
+   * Only matches the requirements of the tasks a member is assigned to.
+   * @param member The member working on the requirements.
+   * @return This query.
+   * @throws IllegalArgumentException if the member argument is null.
+   */
+  public RequirementQuery assignedTo(Member member) {
+    if (member == null) throw new IllegalArgumentException("Member argument is null.");
+    addCondition("assigned to " + member.getFullName(), requirement -> {
+      for (Task task : requirement.getAllAssignedTasks()) if (task.isAssigned(member)) return true;
+      return false;
+    }, () -> new Access<>("requirements of the tasks of " + member.getFullName(), member.getNumberOfAssignedTasks() + deferredSize(), () -> {
+      // The tasks of a member are only known once every project which could assign them is loaded.
+      for (Project project : projects()) project.hydrate();
+      LinkedHashSet<Requirement> requirements = new LinkedHashSet<>();
+      for (Task task : member.getAllAssignedTasks()) requirements.addAll(task.getAllAssignedRequirements());
+      return requirements.iterator();
+    }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the requirements passing a test, which is run on every requirement read.
+   * @param test The test of the requirements.
+   * @return This query.
+   * @throws IllegalArgumentException if the test argument is null.
+   */
+  public RequirementQuery where(Predicate<? super Requirement> test) {
+    if (test == null) throw new IllegalArgumentException("Test argument is null.");
+    addCondition("custom test", test);
+    return this;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  @Override Access<Requirement> scan() {
+    String description = project == null ? "every requirement of every project" : "every requirement of project " + project.getId();
+    return new Access<>(description, size(), () -> acrossProjects(projects(), Project::getAllRequirements), true);
+  }
+
+  private List<Project> projects() {
+    return project == null ? projectList.getProjectsView() : Collections.singletonList(project);
+  }
+
+  private long size() {
+    long size = 0;
+    for (Project project : projects()) size += project.getNumberOfRequirements();
+    return size;
+  }
+
+  private long deferredSize() {
+    long size = 0;
+    for (Project project : projects()) if (!project.isHydrated()) size += project.getNumberOfTasks();
+    return size;
+  }
+}
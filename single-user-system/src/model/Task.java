@@ -1,6 +1,12 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 
 /**
@@ -8,15 +14,36 @@ import java.io.Serializable;
  */
 public class Task implements Serializable {
 
+  private static final long serialVersionUID = -3409772151854435593L;
+
+  /**
+   * The fields written to serialized tasks, which keep the status as a string and the assignments as array lists to
+   * stay compatible with older files.
+   */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("id", String.class),
+      new ObjectStreamField("title", String.class),
+      new ObjectStreamField("description", String.class),
+      new ObjectStreamField("status", String.class),
+      new ObjectStreamField("estimatedWorkHours", float.class),
+      new ObjectStreamField("totalWorkedHours", float.class),
+      new ObjectStreamField("deadline", MyDate.class),
+      new ObjectStreamField("assignedRequirements", ArrayList.class),
+      new ObjectStreamField("assignedMembers", ArrayList.class)
+  };
+
   private String id;
   private String title;
   private String description;
-  private String status;
+  private TaskStatus status;
   private float estimatedWorkHours;
   private float totalWorkedHours;
   private MyDate deadline;
-  private ArrayList<Requirement> assignedRequirements;
-  private ArrayList<Member> assignedMembers;
+  private transient AssignmentSet<Requirement> assignedRequirements;
+  private transient AssignmentSet<Member> assignedMembers;
+  private transient EntityId entityId;
+  private transient ModelChanges changes;
+  private transient TaskList taskList;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -27,20 +54,22 @@ public class Task implements Serializable {
    * @param description Description of the project
    * @param estimatedWorkHours Value between [1; +inf] representing the number of expected work hours that need to be spent on the task.
    * @param deadline MyDate object representing the deadline.
+   * @throws IllegalArgumentException if the id is not a valid task id.
    * @throws IllegalArgumentException if the task's title is longer then 14 chars.
    * @throws IllegalArgumentException if the estimated work hours argument is invalid.
    * @throws IllegalArgumentException if deadline is in the past.
    */
   public Task(String id, String title, String description, float estimatedWorkHours, MyDate deadline) {
     this.id = id;
+    entityId = EntityId.parse(id, EntityId.Kind.TASK);
     setTitle(title);
     setDescription(description);
-    setStatus("Started");
+    setStatus(TaskStatus.STARTED);
     setEstimatedWorkHours(estimatedWorkHours);
     setTotalWorkedHours(0);
     setDeadline(deadline);
-    assignedRequirements = new ArrayList<>();
-    assignedMembers = new ArrayList<>();
+    assignedRequirements = AssignmentSet.ofRequirements(null);
+    assignedMembers = AssignmentSet.ofMembers(null);
   }
 
   /**
@@ -49,6 +78,7 @@ public class Task implements Serializable {
    * @param title Title for the task
    * @param estimatedWorkHours Value between [1; +inf] representing the number of expected work hours that need to be spent on the task.
    * @param deadline MyDate object representing the deadline.
+   * @throws IllegalArgumentException if the id is not a valid task id.
    * @throws IllegalArgumentException if the task's title is longer then 14 chars.
    * @throws IllegalArgumentException if the estimated work hours argument is invalid.
    * @throws IllegalArgumentException if deadline is in the past.
@@ -57,6 +87,33 @@ public class Task implements Serializable {
     this(id, title, "", estimatedWorkHours, deadline);
   }
 
+  /**
+   * Constructor to restore a previously saved task without validating the deadline against the current date.
+   * @param id Id value of the task.
+   * @param title Title for the task
+   * @param description Description of the project
+   * @param status A value of either ["Started", "Completed"] representing the status.
+   * @param estimatedWorkHours Value between [1; +inf] representing the number of expected work hours that need to be spent on the task.
+   * @param totalWorkedHours Value between [0; +inf] representing the number of worked hours on the task.
+   * @param deadline MyDate object representing the deadline.
+   * @throws IllegalArgumentException if the id is not a valid task id.
+   * @throws IllegalArgumentException if the task's title is longer then 14 chars.
+   * @throws IllegalArgumentException if the status argument is invalid.
+   * @throws IllegalArgumentException if the estimated work hours argument is invalid.
+   */
+  public Task(String id, String title, String description, String status, float estimatedWorkHours, float totalWorkedHours, MyDate deadline) {
+    this.id = id;
+    entityId = EntityId.parse(id, EntityId.Kind.TASK);
+    setTitle(title);
+    setDescription(description);
+    setStatus(status);
+    setEstimatedWorkHours(estimatedWorkHours);
+    this.totalWorkedHours = totalWorkedHours;
+    this.deadline = Interner.date(deadline);
+    assignedRequirements = AssignmentSet.ofRequirements(null);
+    assignedMembers = AssignmentSet.ofMembers(null);
+  }
+
   // ------------------------------ Setters ------------------------------
 
   /**
@@ -66,7 +123,8 @@ public class Task implements Serializable {
    */
   public void setTitle(String title) {
     if (title.length() > 14) throw new IllegalArgumentException("The task title can not be longer then 14 characters.");
-    this.title = title;
+    this.title = Interner.string(title);
+    edited();
   }
 
   /**
@@ -75,16 +133,31 @@ public class Task implements Serializable {
    */
   public void setDescription(String description) {
     this.description = description;
+    edited();
   }
 
   /**
    * Setter for the status instance variable.
-   * @param status A value of either ["Started", "Finished"] representing the status.
+   * @param status A value of either ["Started", "Completed"] representing the status.
    * @throws IllegalArgumentException if the status argument is invalid.
    */
   public void setStatus(String status) {
-    if (!(status.equals("Started") || status.equals("Completed"))) throw new IllegalArgumentException("Attempt to set and invalid status to task.");
+    setStatus(TaskStatus.fromString(status));
+  }
+
+  /**
+   * Setter for the status instance variable.
+   * @param status The status of the task.
+   * @throws IllegalArgumentException if the status argument is null.
+   */
+  public void setStatus(TaskStatus status) {
+    if (status == null) throw new IllegalArgumentException("Attempt to set and invalid status to task.");
+    TaskStatus previousStatus = this.status;
+    boolean wasCompleted = isCompleted();
     this.status = status;
+    if (taskList != null) taskList.statusChanged(this, previousStatus);
+    workChanged(wasCompleted, estimatedWorkHours, totalWorkedHours);
+    edited();
   }
 
   /**
@@ -94,7 +167,10 @@ public class Task implements Serializable {
    */
   public void setEstimatedWorkHours(float estimatedWorkHours) {
     if (estimatedWorkHours < 1) throw new IllegalArgumentException("Estimated work time can not be less then or equal to 0.");
+    float previousEstimatedWorkHours = this.estimatedWorkHours;
     this.estimatedWorkHours = estimatedWorkHours;
+    workChanged(isCompleted(), previousEstimatedWorkHours, totalWorkedHours);
+    edited();
   }
 
   /**
@@ -104,7 +180,10 @@ public class Task implements Serializable {
    */
   public void setTotalWorkedHours(int totalWorkedHours) {
     if (estimatedWorkHours < 0) throw new IllegalArgumentException("Estimated work time can not be less then 0.");
+    float previousTotalWorkedHours = this.totalWorkedHours;
     this.totalWorkedHours = totalWorkedHours;
+    workChanged(isCompleted(), estimatedWorkHours, previousTotalWorkedHours);
+    edited();
   }
 
   /**
@@ -113,8 +192,11 @@ public class Task implements Serializable {
    * @throws IllegalArgumentException if deadline is in the past.
    */
   public void setDeadline(MyDate deadline) {
-    if (deadline.isBefore(new MyDate())) throw new IllegalArgumentException("The deadline must be set to a future date.");
-    this.deadline = deadline;
+    if (!EpochDate.from(deadline).isAfter(EpochDate.today())) throw new IllegalArgumentException("The deadline must be set to a future date.");
+    MyDate previousDeadline = this.deadline;
+    this.deadline = Interner.date(deadline);
+    if (taskList != null) taskList.deadlineChanged(this, previousDeadline);
+    edited();
   }
 
   // ------------------------------ Getters for Instance Variables ------------------------------
@@ -127,6 +209,15 @@ public class Task implements Serializable {
     return id;
   }
 
+  /**
+   * Getter for the id parsed into its packed form.
+   * @return The packed id of the task.
+   */
+  public EntityId getEntityId() {
+    if (entityId == null) entityId = EntityId.parse(id, EntityId.Kind.TASK);
+    return entityId;
+  }
+
   /**
    * Getter for title instance variable.
    * @return Value of task's title.
@@ -148,9 +239,25 @@ public class Task implements Serializable {
    * @return Value of task's status.
    */
   public String getStatus() {
+    return status.toString();
+  }
+
+  /**
+   * Getter for status instance variable.
+   * @return The status of the task.
+   */
+  public TaskStatus getTaskStatus() {
     return status;
   }
 
+  /**
+   * Checks whether the task is completed.
+   * @return Whether the status of the task is "Completed".
+   */
+  public boolean isCompleted() {
+    return status == TaskStatus.COMPLETED;
+  }
+
   /**
    * Getter for estimated work hours instance variable.
    * @return Value of task's estimated work hours.
@@ -190,7 +297,25 @@ public class Task implements Serializable {
    * @return All the requirements assigned to the task or empty array list if no requirements are assigned.
    */
   public ArrayList<Requirement> getAllAssignedRequirements() {
-    return assignedRequirements;
+    return assignedRequirements.toList();
+  }
+
+  /**
+   * Getter for a read-only view of the requirements assigned to the task, which follows the changes of the
+   * assignments without copying them.
+   * @return The view of the assigned requirements in the order they were assigned.
+   */
+  public Collection<Requirement> getAssignedRequirementsView() {
+    return assignedRequirements.view();
+  }
+
+  /**
+   * Checks whether the requirement is assigned to the task.
+   * @param requirement The requirement to look for.
+   * @return Whether the requirement is assigned to the task.
+   */
+  public boolean isAssigned(Requirement requirement) {
+    return assignedRequirements.contains(requirement);
   }
 
   // ------------------------------ Getters for Assigned Members ------------------------------
@@ -208,80 +333,232 @@ public class Task implements Serializable {
    * @return All the members assigned to the task or empty array list if no members are assigned.
    */
   public ArrayList<Member> getAllAssignedMembers() {
-    return assignedMembers;
+    return assignedMembers.toList();
+  }
+
+  /**
+   * Getter for a read-only view of the members assigned to the task, which follows the changes of the assignments
+   * without copying them.
+   * @return The view of the assigned members in the order they were assigned.
+   */
+  public Collection<Member> getAssignedMembersView() {
+    return assignedMembers.view();
+  }
+
+  /**
+   * Checks whether the member is assigned to the task.
+   * @param member The member to look for.
+   * @return Whether the member is assigned to the task.
+   */
+  public boolean isAssigned(Member member) {
+    return assignedMembers.contains(member);
   }
 
   // ------------------------------ Other Methods ------------------------------
 
   /**
-   * Assigns requirement to this task.
+   * Assigns requirement to this task and this task to the requirement.
    * @param requirementToAssign The requirement object to be assigned.
    * @throws UnsupportedOperationException if the requirement belongs to another project.
    */
   public void assignRequirement(Requirement requirementToAssign) {
-    if (!requirementToAssign.getId().substring(0, 4).equals(getId().substring(0, 4))) throw new UnsupportedOperationException("Could not assign requirement because it belong to another project.");
-    for (Requirement requirement : assignedRequirements) if (requirement.getId().equals(requirementToAssign.getId())) return;
-    assignedRequirements.add(requirementToAssign);
-    requirementToAssign.assignTask(this);
+    if (!requirementToAssign.getEntityId().isInSameProjectAs(getEntityId())) throw new UnsupportedOperationException("Could not assign requirement because it belong to another project.");
+    restoreRequirementAssignment(requirementToAssign);
   }
 
   /**
-   * Unassigns requirement argument from this task.
+   * Unassigns requirement argument from this task and this task from the requirement.
    * @param requirementToUnassign The requirement needed to be unassigned.
    */
   public void unassignRequirement(Requirement requirementToUnassign) {
-    for (int i = 0; i < assignedRequirements.size(); i++) if (assignedRequirements.get(i).getId().equals(requirementToUnassign.getId())) {
-      assignedRequirements.remove(i);
-      requirementToUnassign.unassignTask(this);
-      return;
-    }
+    if (!assignedRequirements.remove(requirementToUnassign)) return;
+    requirementToUnassign.unlinkTask(this);
+    linkChanged(requirementToUnassign);
   }
 
   /**
-   * Unassigns every requirement argument from this task.
+   * Unassigns every requirement argument from this task and this task from every requirement.
    */
   public void unassignFromEveryRequirement() {
-    for (Requirement requirement : assignedRequirements) {
-      unassignRequirement(requirement);
+    for (Requirement requirement : assignedRequirements.clear()) {
+      requirement.unlinkTask(this);
+      linkChanged(requirement);
     }
   }
 
   /**
-   * Assigns member to this task.
+   * Assigns member to this task and this task to the member.
    * @param memberToAssign The member object to be assigned.
    */
   public void assignMember(Member memberToAssign) {
-    for (Member member : assignedMembers) if (member.equals(memberToAssign)) return;
-    assignedMembers.add(memberToAssign);
-    memberToAssign.assignTask(this);
+    restoreMemberAssignment(memberToAssign);
   }
 
   /**
-   * Unassigns member argument from this task.
+   * Unassigns member argument from this task and this task from the member.
    * @param memberToUnassign The member needed to be unassigned.
    */
   public void unassignMember(Member memberToUnassign) {
-    for (int i = 0; i < assignedMembers.size(); i++) if (assignedMembers.get(i).equals(memberToUnassign)) {
-      assignedMembers.remove(i);
-      memberToUnassign.unassignFromTask(this);
-      return;
-    }
+    if (!assignedMembers.remove(memberToUnassign)) return;
+    memberToUnassign.unlinkTask(this);
+    linkChanged(memberToUnassign);
   }
 
   /**
-   * Unassigns every member argument from this task.
+   * Unassigns every member argument from this task and this task from every member.
    */
   public void unassignEveryMember() {
-    for (Member member : assignedMembers) {
-      unassignMember(member);
+    for (Member member : assignedMembers.clear()) {
+      member.unlinkTask(this);
+      linkChanged(member);
     }
   }
 
+  /**
+   * Unassigns every requirement and every member from this task, for example before the task is removed.
+   */
+  public void unassignFromEverything() {
+    unassignFromEveryRequirement();
+    unassignEveryMember();
+  }
+
+  /**
+   * Removes requirement from the assigned requirements without unassigning this task from the requirement, which is
+   * done by the requirement.
+   * @param requirement The requirement object to be removed.
+   */
+  void unlinkRequirement(Requirement requirement) {
+    if (assignedRequirements.remove(requirement)) linkChanged(requirement);
+  }
+
+  /**
+   * Removes member from the assigned members without unassigning this task from the member, which is done by the
+   * member.
+   * @param member The member object to be removed.
+   */
+  void unlinkMember(Member member) {
+    if (assignedMembers.remove(member)) linkChanged(member);
+  }
+
+  /**
+   * Assigns requirement to this task and this task to the requirement without checking the project of the requirement.
+   * Used to restore the assignments from a saved file, which only stores requirements of the same project.
+   * @param requirement The requirement object to be assigned.
+   */
+  public void restoreRequirementAssignment(Requirement requirement) {
+    if (!assignedRequirements.add(requirement)) return;
+    requirement.linkTask(this);
+    linkChanged(requirement);
+  }
+
+  /**
+   * Assigns member to this task and this task to the member.
+   * Used to restore the assignments from a saved file.
+   * @param member The member object to be assigned.
+   */
+  public void restoreMemberAssignment(Member member) {
+    if (!assignedMembers.add(member)) return;
+    member.linkTask(this);
+    linkChanged(member);
+  }
+
+  /**
+   * Sets the deadline without requiring it to be in the future, as it was once set to a future date.
+   * Used to restore the deadline from a saved file.
+   * @param deadline MyDate object representing the deadline.
+   */
+  public void restoreDeadline(MyDate deadline) {
+    MyDate previousDeadline = this.deadline;
+    this.deadline = Interner.date(deadline);
+    if (taskList != null) taskList.deadlineChanged(this, previousDeadline);
+    edited();
+  }
+
+  /**
+   * Sets the total worked hours including the fractions of hours added by addWorkedTime().
+   * Used to restore the worked hours from a saved file.
+   * @param totalWorkedHours Value between [0; +inf] representing the number of worked hours on the task.
+   */
+  public void restoreTotalWorkedHours(float totalWorkedHours) {
+    float previousTotalWorkedHours = this.totalWorkedHours;
+    this.totalWorkedHours = totalWorkedHours;
+    workChanged(isCompleted(), estimatedWorkHours, previousTotalWorkedHours);
+    edited();
+  }
+
   /**
    * Adds work hours to the instance variable.
    * @param hours Number of hours to add.
    */
   public void addWorkedTime(float hours) {
+    float previousTotalWorkedHours = totalWorkedHours;
     totalWorkedHours += hours;
+    workChanged(isCompleted(), estimatedWorkHours, previousTotalWorkedHours);
+    edited();
+  }
+
+  /**
+   * Setter for the list of the project the task belongs to, whose indexes and totals are updated when the deadline,
+   * status or hours of the task change.
+   * @param taskList The list or null if the task was removed from the project.
+   */
+  void setTaskList(TaskList taskList) {
+    this.taskList = taskList;
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model the task belongs to.
+   * @param changes The tracker or null if the task is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+  }
+
+  private void edited() {
+    if (changes != null) changes.entityEdited(this);
+  }
+
+  /**
+   * Passes a change of the status or hours on to the totals of the project and of the assigned requirements.
+   */
+  private void workChanged(boolean wasCompleted, float previousEstimatedWorkHours, float previousTotalWorkedHours) {
+    if (taskList != null) taskList.workChanged(this, wasCompleted, previousEstimatedWorkHours, previousTotalWorkedHours);
+    if (assignedRequirements != null) for (Requirement requirement : assignedRequirements) requirement.taskWorkChanged(wasCompleted, previousEstimatedWorkHours, previousTotalWorkedHours, this);
+  }
+
+  private void linkChanged(Object assigned) {
+    if (changes != null) changes.linkChanged(this, assigned);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("id", id);
+    fields.put("title", title);
+    fields.put("description", description);
+    fields.put("status", status.toString());
+    fields.put("estimatedWorkHours", estimatedWorkHours);
+    fields.put("totalWorkedHours", totalWorkedHours);
+    fields.put("deadline", deadline);
+    fields.put("assignedRequirements", assignedRequirements.toList());
+    fields.put("assignedMembers", assignedMembers.toList());
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    ObjectInputStream.GetField fields = in.readFields();
+    id = (String) fields.get("id", null);
+    title = Interner.string((String) fields.get("title", null));
+    description = (String) fields.get("description", null);
+    estimatedWorkHours = fields.get("estimatedWorkHours", 0f);
+    totalWorkedHours = fields.get("totalWorkedHours", 0f);
+    deadline = Interner.date((MyDate) fields.get("deadline", null));
+    assignedRequirements = AssignmentSet.ofRequirements((ArrayList<Requirement>) fields.get("assignedRequirements", null));
+    assignedMembers = AssignmentSet.ofMembers((ArrayList<Member>) fields.get("assignedMembers", null));
+    try {
+      status = TaskStatus.fromString((String) fields.get("status", null));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidObjectException("Task " + id + " has an invalid status.");
+    }
   }
 }
\ No newline at end of file
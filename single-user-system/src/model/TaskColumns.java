@@ -0,0 +1,155 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A class to mirror the hours, deadlines and statuses of the tasks of a project in primitive arrays, one array per
+ * value, so aggregations over many tasks run as simple loops over the arrays instead of going through every task.
+ * Every task takes one slot of the arrays, removing a task moves the task of the last slot into the freed one.
+ * The columns are kept in sync by the task list, which passes on every change of the tasks, and are only built for the
+ * projects whose tasks are aggregated.
+ */
+class TaskColumns {
+
+  /**
+   * The deadline stored for tasks without a deadline, which is after every date so they are never due.
+   */
+  private static final int NO_DEADLINE = Integer.MAX_VALUE;
+
+  private int size;
+  private float[] estimatedWorkHours;
+  private float[] totalWorkedHours;
+  private int[] deadlines;
+  private long[] completed;
+  private Task[] tasks;
+  private HashMap<Long, Integer> slots;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor with the tasks the columns start from.
+   * @param tasks The tasks of the project.
+   */
+  TaskColumns(Iterable<Task> tasks) {
+    estimatedWorkHours = new float[16];
+    totalWorkedHours = new float[16];
+    deadlines = new int[16];
+    completed = new long[1];
+    this.tasks = new Task[16];
+    slots = new HashMap<>();
+    for (Task task : tasks) add(task);
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the sum of the estimated work hours of the tasks due between both dates.
+   * @param from The first epoch day of the range.
+   * @param to The last epoch day of the range.
+   * @return The sum of the estimated work hours.
+   */
+  double getEstimatedWorkHoursBetween(long from, long to) {
+    double sum = 0;
+    for (int i = 0; i < size; i++) if (from <= deadlines[i] && deadlines[i] <= to) sum += estimatedWorkHours[i];
+    return sum;
+  }
+
+  /**
+   * Getter for the sum of the worked hours of the tasks due between both dates.
+   * @param from The first epoch day of the range.
+   * @param to The last epoch day of the range.
+   * @return The sum of the worked hours.
+   */
+  double getTotalWorkedHoursBetween(long from, long to) {
+    double sum = 0;
+    for (int i = 0; i < size; i++) if (from <= deadlines[i] && deadlines[i] <= to) sum += totalWorkedHours[i];
+    return sum;
+  }
+
+  /**
+   * Getter for the hours left on the started tasks due between both dates, which is the estimated minus the worked
+   * hours of every started task, or nothing for tasks worked on longer than estimated.
+   * @param from The first epoch day of the range.
+   * @param to The last epoch day of the range.
+   * @return The sum of the remaining work hours.
+   */
+  double getRemainingWorkHoursBetween(long from, long to) {
+    double sum = 0;
+    for (int i = 0; i < size; i++) {
+      if (from <= deadlines[i] && deadlines[i] <= to && !isCompleted(i)) sum += Math.max(0, estimatedWorkHours[i] - totalWorkedHours[i]);
+    }
+    return sum;
+  }
+
+  /**
+   * Getter for the number of started tasks due before a date.
+   * @param date The epoch day the tasks have to be due before.
+   * @return The number of overdue tasks.
+   */
+  int getNumberOfStartedTasksDueBefore(long date) {
+    int count = 0;
+    for (int i = 0; i < size; i++) if (deadlines[i] < date && !isCompleted(i)) count++;
+    return count;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Adds the task to the next free slot.
+   * @param task The task which joined the project.
+   */
+  void add(Task task) {
+    if (size == tasks.length) grow();
+    slots.put(task.getEntityId().getValue(), size);
+    tasks[size] = task;
+    write(size++, task);
+  }
+
+  /**
+   * Removes the task, moving the task of the last slot into its slot.
+   * @param task The task which left the project.
+   */
+  void remove(Task task) {
+    Integer slot = slots.remove(task.getEntityId().getValue());
+    if (slot == null) return;
+    int last = --size;
+    if (slot != last) {
+      Task moved = tasks[last];
+      tasks[slot] = moved;
+      slots.put(moved.getEntityId().getValue(), slot);
+      write(slot, moved);
+    }
+    tasks[last] = null;
+  }
+
+  /**
+   * Copies the current hours, deadline and status of a task of the project into its slot.
+   * @param task The changed task.
+   */
+  void update(Task task) {
+    Integer slot = slots.get(task.getEntityId().getValue());
+    if (slot != null) write(slot, task);
+  }
+
+  private boolean isCompleted(int slot) {
+    return (completed[slot >>> 6] & 1L << slot) != 0;
+  }
+
+  private void write(int slot, Task task) {
+    estimatedWorkHours[slot] = task.getEstimatedWorkHours();
+    totalWorkedHours[slot] = task.getTotalWorkedHours();
+    deadlines[slot] = task.getDeadline() == null ? NO_DEADLINE : (int) task.getDeadline().getEpochDay();
+    if (task.isCompleted()) completed[slot >>> 6] |= 1L << slot;
+    else completed[slot >>> 6] &= ~(1L << slot);
+  }
+
+  private void grow() {
+    int capacity = tasks.length * 2;
+    estimatedWorkHours = Arrays.copyOf(estimatedWorkHours, capacity);
+    totalWorkedHours = Arrays.copyOf(totalWorkedHours, capacity);
+    deadlines = Arrays.copyOf(deadlines, capacity);
+    completed = Arrays.copyOf(completed, (capacity + 63) >>> 6);
+    tasks = Arrays.copyOf(tasks, capacity);
+  }
+}
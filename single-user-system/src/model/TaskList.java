@@ -1,17 +1,31 @@
 package model;
 
+import java.io.Serializable;
 import java.lang.StringBuilder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Random;
-import java.io.Serializable;
 
 /**
  * A class to store and process task objects.
  */
 public class TaskList implements Serializable {
 
+  private static final long serialVersionUID = 5270012722176104160L;
+
   ArrayList<Task> taskList;
+  private transient ModelChanges changes;
+  private transient HashMap<Long, Task> tasksById;
+  private transient DeadlineIndex<Task> tasksByDeadline;
+  private transient IdAllocator taskIds;
+  private transient EnumMap<TaskStatus, LinkedHashSet<Task>> tasksByStatus;
+  private transient WorkTotals tasksTotals;
+  private transient TaskColumns taskColumns;
+  private transient List<Task> tasksView;
 
   // ------------------------------ Constructors ------------------------------
 
@@ -34,34 +48,78 @@ public class TaskList implements Serializable {
 
   /**
    * Getter for all the tasks linked to the project.
-   * @return All the tasks linked to the project or empty array list if no tasks are linked.
+   * @return A new array list with all the tasks linked to the project or empty array list if no tasks are linked.
    */
   public ArrayList<Task> getAllTasks() {
-    return taskList;
+    return new ArrayList<>(taskList);
+  }
+
+  /**
+   * Getter for a read-only view of the tasks linked to the project, which follows the changes of the list without copying it.
+   * @return The view of the linked tasks.
+   */
+  public List<Task> getTasksView() {
+    if (tasksView == null) tasksView = Collections.unmodifiableList(taskList);
+    return tasksView;
   }
 
   /**
    * Getter for all the tasks linked to the project before a specific deadline.
    * @param deadline A date that will be compare with each deadline of the linked task.
-   * @return All linked tasks that have a deadline before the given argument date or empty array list if no matching tasks were found or no tasks are linked.
+   * @return All linked tasks that have a deadline before the given argument date sorted by deadline or empty array list if no matching tasks were found or no tasks are linked.
+   * @throws IllegalArgumentException if the deadline argument is null.
    */
   public ArrayList<Task> getAllTasksBeforeDeadLine(MyDate deadline) {
-    ArrayList<Task> toReturnTasks = new ArrayList<>();
-    for (Task task : taskList) if (task.getDeadline().isBefore(deadline)) toReturnTasks.add(task);
-    return toReturnTasks;
+    return byDeadline().getBefore(deadline);
+  }
+
+  /**
+   * Getter for all the tasks linked to the project after a specific deadline.
+   * @param deadline A date that will be compare with each deadline of the linked task.
+   * @return All linked tasks that have a deadline after the given argument date sorted by deadline or empty array list if no matching tasks were found or no tasks are linked.
+   * @throws IllegalArgumentException if the deadline argument is null.
+   */
+  public ArrayList<Task> getAllTasksAfterDeadline(MyDate deadline) {
+    return byDeadline().getAfter(deadline);
+  }
+
+  /**
+   * Getter for all the tasks linked to the project with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return All linked tasks that have a deadline between the given argument dates sorted by deadline or empty array list if no matching tasks were found or no tasks are linked.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public ArrayList<Task> getAllTasksBetweenDeadlines(MyDate from, MyDate to) {
+    return byDeadline().getBetween(from, to);
   }
 
   /**
    * Getter for all the tasks linked to the project that have a matching status.
-   * @param status A value of either ["Started", "Finished"] that will be compared with each status of the linked tasks.
+   * @param status A value of either ["Started", "Completed"] that will be compared with each status of the linked tasks.
    * @return All linked tasks that have a status matching the argument or empty array list if no matching tasks were found or no tasks are linked.
    * @throws IllegalArgumentException if the status argument is invalid.
    */
   public ArrayList<Task> getAllTasksWithStatus(String status) {
-    if (!(status.equals("Completed") || status.equals("Finished"))) throw new IllegalArgumentException("Invalid argument status.");
-    ArrayList<Task> toReturnTasks = new ArrayList<>();
-    for (Task task : taskList) if (task.getStatus().equals(status)) toReturnTasks.add(task);
-    return toReturnTasks;
+    return getAllTasksWithStatus(TaskStatus.fromString(status));
+  }
+
+  /**
+   * Getter for all the tasks linked to the project that have a matching status.
+   * @param status The status of the tasks to look for.
+   * @return All linked tasks that have the status or empty array list if no matching tasks were found or no tasks are linked.
+   */
+  public ArrayList<Task> getAllTasksWithStatus(TaskStatus status) {
+    return new ArrayList<>(byStatus().get(status));
+  }
+
+  /**
+   * Getter for the number of tasks linked to the project that have a matching status.
+   * @param status The status of the tasks to count.
+   * @return The number of linked tasks that have the status.
+   */
+  public int getNumberOfTasksWithStatus(TaskStatus status) {
+    return byStatus().get(status).size();
   }
 
   /**
@@ -83,9 +141,20 @@ public class TaskList implements Serializable {
    * @throws NoSuchElementException if a task with matching id could not be found.
    */
   public Task getTaskById(String id) {
-    for (Task task : taskList) if (task.getId().equals(id)) {
-      return task;
-    }
+    Task task = byId().get(EntityId.pack(id));
+    if (task != null) return task;
+    throw new NoSuchElementException("Could not find a task with given id.");
+  }
+
+  /**
+   * Getter for task linked to the project by its packed id.
+   * @param id The packed id of the task to be returned.
+   * @return The task with the equal id.
+   * @throws NoSuchElementException if a task with matching id could not be found.
+   */
+  public Task getTaskById(EntityId id) {
+    Task task = byId().get(id.getValue());
+    if (task != null) return task;
     throw new NoSuchElementException("Could not find a task with given id.");
   }
 
@@ -97,33 +166,16 @@ public class TaskList implements Serializable {
    * @return Whether a task matching the id already exists.
    */
   public boolean isIdTaken(String id) {
-    for (Task task : taskList) if (task.getId().equals(id)) {
-      return true;
-    }
-    return false;
+    return byId().containsKey(EntityId.pack(id));
   }
 
   /**
    * Generates a unique id that does not match any of the existing ids of all tasks.
    * @return The unique id.
+   * @throws UnsupportedOperationException if every task id is used.
    */
   private String generateId(String projectId) {
-    Random randomizer = new Random();
-    StringBuilder generatedId;
-    char randomChar;
-
-    do {
-      generatedId = new StringBuilder(projectId + "T");
-      for (int i = 0; i < 3; i++) {
-        do randomChar = (char) (randomizer.nextInt(75) + 48); while (!(
-            '0' <= randomChar && randomChar <= '9' ||
-                'A' <= randomChar && randomChar <= 'Z' && randomChar != 'P' && randomChar != 'R' && randomChar != 'T' ||
-                'a' <= randomChar && randomChar <= 'z'
-        ));
-        generatedId.append(randomChar);
-      }
-    } while (isIdTaken(generatedId.toString()));
-    return generatedId.toString();
+    return ids().allocate(projectId + "T");
   }
 
   /**
@@ -140,7 +192,7 @@ public class TaskList implements Serializable {
    */
   public Task addTask(String projectId, String title, String description, float estimatedWorkHours, MyDate deadline) {
     Task toReturn = new Task(generateId(projectId), title, description, estimatedWorkHours, deadline);
-    taskList.add(toReturn);
+    link(toReturn);
     return toReturn;
   }
 
@@ -157,10 +209,24 @@ public class TaskList implements Serializable {
    */
   public Task addTask(String projectId, String title, float estimatedWorkHours, MyDate deadline) {
     Task toReturn = new Task(generateId(projectId), title, estimatedWorkHours, deadline);
-    taskList.add(toReturn);
+    link(toReturn);
     return toReturn;
   }
 
+  /**
+   * Add method which links an already created task.
+   * @param task The task to be linked.
+   * @return The linked task.
+   * @throws IllegalArgumentException if the task argument is null.
+   * @throws IllegalArgumentException if a task with the same id already exists.
+   */
+  public Task addTask(Task task) {
+    if (task == null) throw new IllegalArgumentException("Task argument is null.");
+    if (isIdTaken(task.getId())) throw new IllegalArgumentException("A task with this id already exists.");
+    link(task);
+    return task;
+  }
+
   /**
    * Removes any task that matches the argument id.
    * @param id The id of the task to be removed.
@@ -172,7 +238,7 @@ public class TaskList implements Serializable {
     Task task = getTaskById(id);
     if (task.getNumberOfAssignedRequirements() != 0) throw new UnsupportedOperationException("Could not remove task because it is assigned to some requirements.");
     if (task.getNumberOfAssignedMembers() != 0) throw new UnsupportedOperationException("Could not remove task because it is assigned to some members.");
-    taskList.remove(task);
+    unlink(task);
   }
 
   /**
@@ -188,13 +254,175 @@ public class TaskList implements Serializable {
     removeTask(task.getId());
   }
 
+  /**
+   * Removes every task at once, after unassigning every requirement and member from them.
+   */
+  public void removeAllTasks() {
+    for (Task task : taskList) {
+      task.unassignFromEverything();
+      task.setTaskList(null);
+      task.setChanges(null);
+    }
+    taskList.clear();
+    tasksById = null;
+    taskColumns = null;
+  }
+
   /**
    * Calculates the so far total worked hours on the project.
    * @return Total so far worked hours on the project.
    */
   public float getTotalWorkedHours() {
-    float totalWorkedHours = 0;
-    for (Task task : taskList) totalWorkedHours += task.getTotalWorkedHours();
-    return totalWorkedHours;
+    return totals().getTotalWorkedHours();
+  }
+
+  /**
+   * Calculates the estimated work hours of the project.
+   * @return Sum of the estimated work hours of all the tasks linked to the project.
+   */
+  public float getEstimatedWorkHours() {
+    return totals().getEstimatedWorkHours();
+  }
+
+  /**
+   * Getter for the number of completed tasks linked to the project.
+   * @return The number of linked tasks with the status "Completed".
+   */
+  public int getNumberOfCompletedTasks() {
+    return totals().getNumberOfCompletedTasks();
+  }
+
+  /**
+   * Getter for the status of the project.
+   * @return The percentage of completed linked tasks or 0 if no tasks are linked.
+   */
+  public float getStatus() {
+    return totals().getStatus();
+  }
+
+  // ------------------------------ Indexes ------------------------------
+
+  /**
+   * Called by a task of the list after its deadline changed.
+   * @param task The changed task.
+   * @param previousDeadline The deadline of the task before the change.
+   */
+  void deadlineChanged(Task task, MyDate previousDeadline) {
+    tasksByDeadline.move(task.getEntityId(), previousDeadline, task.getDeadline(), task);
+    if (taskColumns != null) taskColumns.update(task);
+  }
+
+  /**
+   * Called by a task of the list after its status changed.
+   * @param task The changed task.
+   * @param previousStatus The status of the task before the change.
+   */
+  void statusChanged(Task task, TaskStatus previousStatus) {
+    tasksByStatus.get(previousStatus).remove(task);
+    tasksByStatus.get(task.getTaskStatus()).add(task);
+  }
+
+  /**
+   * Called by a task of the list after its status or hours changed.
+   * @param task The changed task.
+   * @param wasCompleted Whether the task was completed before the change.
+   * @param previousEstimatedWorkHours The estimated work hours of the task before the change.
+   * @param previousTotalWorkedHours The worked hours of the task before the change.
+   */
+  void workChanged(Task task, boolean wasCompleted, float previousEstimatedWorkHours, float previousTotalWorkedHours) {
+    tasksTotals.update(wasCompleted, previousEstimatedWorkHours, previousTotalWorkedHours, task);
+    if (taskColumns != null) taskColumns.update(task);
+  }
+
+  /**
+   * Setter for the tracker of the changes of the model, which is passed on to every task of the list.
+   * @param changes The tracker or null if the list is not part of a model.
+   */
+  void setChanges(ModelChanges changes) {
+    this.changes = changes;
+    for (Task task : taskList) task.setChanges(changes);
+  }
+
+  /**
+   * Getter for the columns of the hours, deadlines and statuses of the tasks, which are built when first needed and
+   * kept in sync with the tasks from then on.
+   * @return The columns of the tasks.
+   */
+  TaskColumns columns() {
+    index();
+    if (taskColumns == null) taskColumns = new TaskColumns(taskList);
+    return taskColumns;
+  }
+
+  private HashMap<Long, Task> byId() {
+    index();
+    return tasksById;
+  }
+
+  private DeadlineIndex<Task> byDeadline() {
+    index();
+    return tasksByDeadline;
+  }
+
+  private IdAllocator ids() {
+    index();
+    return taskIds;
+  }
+
+  private EnumMap<TaskStatus, LinkedHashSet<Task>> byStatus() {
+    index();
+    return tasksByStatus;
+  }
+
+  private WorkTotals totals() {
+    index();
+    return tasksTotals;
+  }
+
+  /**
+   * Builds the indexes and totals of the tasks from the list and attaches the tasks to the list, which happens when
+   * they are first needed after the list was deserialized.
+   */
+  private void index() {
+    if (tasksById != null) return;
+    tasksById = new HashMap<>();
+    tasksByDeadline = new DeadlineIndex<>();
+    taskIds = new IdAllocator(2 + EntityId.PROJECT_CHARACTERS, EntityId.MAX_CHILD_CHARACTERS);
+    tasksByStatus = new EnumMap<>(TaskStatus.class);
+    for (TaskStatus value : TaskStatus.values()) tasksByStatus.put(value, new LinkedHashSet<>());
+    tasksTotals = new WorkTotals(taskList);
+    for (Task task : taskList) indexTask(task);
+  }
+
+  private void indexTask(Task task) {
+    tasksById.put(task.getEntityId().getValue(), task);
+    taskIds.markUsed(task.getId());
+    tasksByDeadline.add(task.getEntityId(), task.getDeadline(), task);
+    tasksByStatus.get(task.getTaskStatus()).add(task);
+    task.setTaskList(this);
+  }
+
+  private void link(Task task) {
+    index();
+    taskList.add(task);
+    indexTask(task);
+    tasksTotals.add(task);
+    if (taskColumns != null) taskColumns.add(task);
+    task.setChanges(changes);
+    if (changes != null) changes.entityChanged(task);
+  }
+
+  private void unlink(Task task) {
+    index();
+    taskList.remove(task);
+    tasksById.remove(task.getEntityId().getValue());
+    taskIds.release(task.getId());
+    tasksByDeadline.remove(task.getEntityId(), task.getDeadline());
+    tasksByStatus.get(task.getTaskStatus()).remove(task);
+    tasksTotals.remove(task);
+    if (taskColumns != null) taskColumns.remove(task);
+    task.setTaskList(null);
+    if (changes != null) changes.entityChanged(task);
+    task.setChanges(null);
   }
 }
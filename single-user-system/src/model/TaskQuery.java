@@ -0,0 +1,195 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A class to find the tasks matching several conditions at once, using the status and deadline indexes of the
+ * projects, the tasks assigned to a member or requirement, or the ids of the tasks when one of them returns fewer
+ * tasks than reading all of them.
+ */
+public final class TaskQuery extends EntityQuery<Task> {
+
+  private ProjectList projectList;
+  private Project project;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor for a query which matches every task of the projects of the list.
+   * @param projectList The projects whose tasks are looked through.
+   */
+  TaskQuery(ProjectList projectList) {
+    super("tasks");
+    this.projectList = projectList;
+  }
+
+  // ------------------------------ Conditions ------------------------------
+
+  /**
+   * Only matches the task with an id.
+   * @param id The id of the task.
+   * @return This query.
+   * @throws IllegalArgumentException if the id argument is null.
+   */
+  public TaskQuery withId(String id) {
+    if (id == null) throw new IllegalArgumentException("Id argument is null.");
+    addCondition("id " + id, task -> task.getId().equals(id), () -> new Access<>("id index (" + id + ")", 1, () -> {
+      try {
+        return Collections.singletonList(projectList.getTaskById(id)).iterator();
+      } catch (NoSuchElementException e) {
+        return Collections.emptyIterator();
+      }
+    }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the tasks linked to a project.
+   * @param project The project of the tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the project argument is null.
+   */
+  public TaskQuery inProject(Project project) {
+    if (project == null) throw new IllegalArgumentException("Project argument is null.");
+    this.project = project;
+    long projectValue = project.getEntityId().getValue();
+    addScope("in project " + project.getId(), task -> task.getEntityId().getProjectValue() == projectValue);
+    return this;
+  }
+
+  /**
+   * Only matches the tasks with a status.
+   * @param status A value of either ["Started", "Completed"].
+   * @return This query.
+   * @throws IllegalArgumentException if the status argument is invalid.
+   */
+  public TaskQuery withStatus(String status) {
+    return withStatus(TaskStatus.fromString(status));
+  }
+
+  /**
+   * Only matches the tasks with a status.
+   * @param status The status of the tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the status argument is null.
+   */
+  public TaskQuery withStatus(TaskStatus status) {
+    if (status == null) throw new IllegalArgumentException("Status argument is null.");
+    addCondition("status " + status, task -> task.getTaskStatus() == status, () -> {
+      long estimate = 0;
+      for (Project project : projects()) {
+        estimate += project.isHydrated() ? project.getNumberOfTasksWithStatus(status) : project.getNumberOfTasks() / TaskStatus.values().length;
+      }
+      return new Access<>("status index (" + status + ")", estimate, () -> acrossProjects(projects(), project -> project.getAllTasksWithStatus(status)), true);
+    });
+    return this;
+  }
+
+  /**
+   * Only matches the tasks with a deadline before or on a date.
+   * @param date The date to compare the deadlines with.
+   * @return This query.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public TaskQuery dueBefore(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline before or on " + date, task -> isDueBefore(task.getDeadline(), date),
+        () -> new Access<>("deadline index (before or on " + date + ")", estimateDeadlines(size(), false), () -> acrossProjects(projects(), project -> project.getAllTasksBeforeDeadline(date)), true));
+    return this;
+  }
+
+  /**
+   * Only matches the tasks with a deadline after a date.
+   * @param date The date to compare the deadlines with.
+   * @return This query.
+   * @throws IllegalArgumentException if the date argument is null.
+   */
+  public TaskQuery dueAfter(MyDate date) {
+    if (date == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline after " + date, task -> isDueAfter(task.getDeadline(), date),
+        () -> new Access<>("deadline index (after " + date + ")", estimateDeadlines(size(), false), () -> acrossProjects(projects(), project -> project.getAllTasksAfterDeadline(date)), true));
+    return this;
+  }
+
+  /**
+   * Only matches the tasks with a deadline between two dates.
+   * @param from The first date of the range, which is included.
+   * @param to The last date of the range, which is included.
+   * @return This query.
+   * @throws IllegalArgumentException if a date argument is null.
+   */
+  public TaskQuery dueBetween(MyDate from, MyDate to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Null date argument.");
+    addCondition("deadline between " + from + " and " + to, task -> isDueBetween(task.getDeadline(), from, to),
+        () -> new Access<>("deadline index (" + from + " to " + to + ")", estimateDeadlines(size(), true), () -> acrossProjects(projects(), project -> project.getAllTasksBetweenDeadlines(from, to)), true));
+    return this;
+  }
+
+  /**
+   * Only matches the tasks a member is assigned to.
+   * @param member The member working on the tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the member argument is null.
+   */
+  public TaskQuery assignedTo(Member member) {
+    if (member == null) throw new IllegalArgumentException("Member argument is null.");
+    addCondition("assigned to " + member.getFullName(), task -> task.isAssigned(member),
+        () -> new Access<>("tasks of " + member.getFullName(), member.getNumberOfAssignedTasks() + deferredSize(), () -> {
+          // The tasks of a member are only known once every project which could assign them is loaded.
+          for (Project project : projects()) project.hydrate();
+          return member.getAllAssignedTasks().iterator();
+        }, false));
+    return this;
+  }
+
+  /**
+   * Only matches the tasks assigned to a requirement.
+   * @param requirement The requirement of the tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the requirement argument is null.
+   */
+  public TaskQuery linkedTo(Requirement requirement) {
+    if (requirement == null) throw new IllegalArgumentException("Requirement argument is null.");
+    addCondition("linked to requirement " + requirement.getId(), task -> task.isAssigned(requirement),
+        () -> new Access<>("tasks of requirement " + requirement.getId(), requirement.getNumberOfAssignedTasks(), () -> requirement.getAllAssignedTasks().iterator(), false));
+    return this;
+  }
+
+  /**
+   * Only matches the tasks passing a test, which is run on every task read.
+   * @param test The test of the tasks.
+   * @return This query.
+   * @throws IllegalArgumentException if the test argument is null.
+   */
+  public TaskQuery where(Predicate<? super Task> test) {
+    if (test == null) throw new IllegalArgumentException("Test argument is null.");
+    addCondition("custom test", test);
+    return this;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  @Override Access<Task> scan() {
+    String description = project == null ? "every task of every project" : "every task of project " + project.getId();
+    return new Access<>(description, size(), () -> acrossProjects(projects(), Project::getAllTasks), true);
+  }
+
+  private List<Project> projects() {
+    return project == null ? projectList.getProjectsView() : Collections.singletonList(project);
+  }
+
+  private long size() {
+    long size = 0;
+    for (Project project : projects()) size += project.getNumberOfTasks();
+    return size;
+  }
+
+  private long deferredSize() {
+    long size = 0;
+    for (Project project : projects()) if (!project.isHydrated()) size += project.getNumberOfTasks();
+    return size;
+  }
+}
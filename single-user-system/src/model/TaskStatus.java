@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * The statuses of a task.
+ */
+public enum TaskStatus {
+
+  STARTED("Started"), COMPLETED("Completed");
+
+  private final String name;
+
+  TaskStatus(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Getter for the status with the given name.
+   * @param name A value of either ["Started", "Completed"].
+   * @return The status with the name.
+   * @throws IllegalArgumentException if the name argument is invalid.
+   */
+  public static TaskStatus fromString(String name) {
+    for (TaskStatus status : values()) if (status.name.equals(name)) return status;
+    throw new IllegalArgumentException("Status must be a value of either [\"Started\", \"Completed\"].");
+  }
+
+  /**
+   * Getter for the name of the status, which is used by the string based methods of the model and by the files.
+   * @return A value of either ["Started", "Completed"].
+   */
+  @Override public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,97 @@
+package model;
+
+/**
+ * A class to keep the number of completed tasks and the sums of the estimated and worked hours of a group of tasks,
+ * such as the tasks of a project or the tasks assigned to a requirement, so they are read without walking the tasks.
+ * The totals are updated by the tasks whenever their status or hours change and by the group whenever a task joins
+ * or leaves it. The sums are kept as doubles, so adding and removing tasks does not pile up the rounding errors of floats.
+ */
+class WorkTotals {
+
+  private int numberOfTasks;
+  private int numberOfCompletedTasks;
+  private double estimatedWorkHours;
+  private double totalWorkedHours;
+
+  // ------------------------------ Constructors ------------------------------
+
+  /**
+   * Constructor with the tasks the totals start from.
+   * @param tasks The tasks of the group.
+   */
+  WorkTotals(Iterable<Task> tasks) {
+    for (Task task : tasks) add(task);
+  }
+
+  // ------------------------------ Getters ------------------------------
+
+  /**
+   * Getter for the number of completed tasks.
+   * @return The number of tasks of the group with the status "Completed".
+   */
+  int getNumberOfCompletedTasks() {
+    return numberOfCompletedTasks;
+  }
+
+  /**
+   * Getter for the status of the group.
+   * @return The percentage of completed tasks or 0 if the group has no tasks.
+   */
+  float getStatus() {
+    return numberOfTasks == 0 ? 0 : (float) numberOfCompletedTasks / numberOfTasks;
+  }
+
+  /**
+   * Getter for the sum of the estimated work hours.
+   * @return Sum of the estimated work hours of the tasks.
+   */
+  float getEstimatedWorkHours() {
+    return (float) estimatedWorkHours;
+  }
+
+  /**
+   * Getter for the sum of the worked hours.
+   * @return Sum of the worked hours of the tasks.
+   */
+  float getTotalWorkedHours() {
+    return (float) totalWorkedHours;
+  }
+
+  // ------------------------------ Other Methods ------------------------------
+
+  /**
+   * Adds the task to the totals.
+   * @param task The task which joined the group.
+   */
+  void add(Task task) {
+    numberOfTasks++;
+    if (task.isCompleted()) numberOfCompletedTasks++;
+    estimatedWorkHours += task.getEstimatedWorkHours();
+    totalWorkedHours += task.getTotalWorkedHours();
+  }
+
+  /**
+   * Removes the task from the totals.
+   * @param task The task which left the group.
+   */
+  void remove(Task task) {
+    numberOfTasks--;
+    if (task.isCompleted()) numberOfCompletedTasks--;
+    estimatedWorkHours -= task.getEstimatedWorkHours();
+    totalWorkedHours -= task.getTotalWorkedHours();
+  }
+
+  /**
+   * Replaces the previous values of a task of the group with its current ones.
+   * @param wasCompleted Whether the task was completed before the change.
+   * @param previousEstimatedWorkHours The estimated work hours of the task before the change.
+   * @param previousTotalWorkedHours The worked hours of the task before the change.
+   * @param task The changed task.
+   */
+  void update(boolean wasCompleted, float previousEstimatedWorkHours, float previousTotalWorkedHours, Task task) {
+    if (wasCompleted) numberOfCompletedTasks--;
+    if (task.isCompleted()) numberOfCompletedTasks++;
+    estimatedWorkHours += (double) task.getEstimatedWorkHours() - previousEstimatedWorkHours;
+    totalWorkedHours += (double) task.getTotalWorkedHours() - previousTotalWorkedHours;
+  }
+}
@@ -2,6 +2,7 @@ module single.user.system {
 
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.xml;
 
     opens view;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package view;
 import model.*;
 import mediator.*;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -17,7 +18,11 @@ import java.util.Optional;
 
 public class Controller {
 
-    ProjectManagementModelManager projectManagementModelManager = ProjectManagementPersistence.load();
+    ProjectManagementSnapshot snapshot = ProjectManagementPersistence.loadSnapshot(true);
+    ProjectManagementModelManager projectManagementModelManager = snapshot.getProjectManager();
+    long versionAtStartup = projectManagementModelManager.getChanges().getVersion();
+    ProjectManagementJournal journal = new ProjectManagementJournal(projectManagementModelManager, snapshot.getJournalSequence());
+    ProjectManagementAutosave autosave = new ProjectManagementAutosave(journal);
     public ObservableList<Project> projects;
     private ObservableList<Requirement> reqs;
     private ObservableList<Member> hums;
@@ -41,6 +46,14 @@ public class Controller {
 
     public void initialize() {
 
+        // Tells the user when saving fails, which the autosave keeps retrying with the changes kept in the journal.
+        autosave.setFailureListener(e -> Platform.runLater(() -> {
+            Alert errorAlert = new Alert(Alert.AlertType.ERROR);
+            errorAlert.setTitle("Warning");
+            errorAlert.setContentText("Could not save the projects, saving is retried and the changes are kept in the projects log file. " + e.getMessage());
+            errorAlert.show();
+        }));
+
         projects = FXCollections.observableArrayList();
         reqs = FXCollections.observableArrayList();
         hums = FXCollections.observableArrayList();
@@ -60,14 +73,17 @@ public class Controller {
             Project project = (Project) projectView.getSelectionModel().getSelectedItem();
             Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
             alert.setTitle("Delete project");
-            alert.setContentText("Are you sure you want to delete the project: " + project.getTitle() + " id: " + project.getId());
+            alert.setContentText("Are you sure you want to delete the project: " + project.getTitle() + " id: " + project.getId() + " with all its requirements and tasks?");
             Optional<ButtonType> result = alert.showAndWait();
 
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 try {
-                    projectManagementModelManager.removeProject(project);
+                    synchronized (projectManagementModelManager) {
+                        projectManagementModelManager.removeProjectCascading(project);
+                        journal.projectRemoved(project.getId());
+                    }
                     projects.remove(project);
-                    ProjectManagementPersistence.save(projectManagementModelManager);
+                    autosave.markDirty();
                 } catch (Exception e) {
                     Alert errorAlert = new Alert(Alert.AlertType.CONFIRMATION);
                     errorAlert.setTitle("Warning");
@@ -93,8 +109,13 @@ public class Controller {
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 Project project = (Project) projectView.getSelectionModel().getSelectedItem();
                 try {
-                    for (Task task : project.getAllTasks()) task.unassignMember(member);
-                    ProjectManagementPersistence.save(projectManagementModelManager);
+                    synchronized (projectManagementModelManager) {
+                        for (Task task : project.getAllTasks()) if (task.isAssigned(member)) {
+                            task.unassignMember(member);
+                            journal.memberUnassigned(task, member);
+                        }
+                    }
+                    autosave.markDirty();
                 } catch (Exception e) {
                     Alert errorAlert = new Alert(Alert.AlertType.CONFIRMATION);
                     errorAlert.setTitle("Warning");
@@ -120,8 +141,11 @@ public class Controller {
             if (result.isPresent() && result.get() == ButtonType.OK) {
                 Project project = (Project) projectView.getSelectionModel().getSelectedItem();
                 try {
-                    project.removeRequirement(requirement);
-                    ProjectManagementPersistence.save(projectManagementModelManager);
+                    synchronized (projectManagementModelManager) {
+                        project.removeRequirement(requirement);
+                        journal.requirementRemoved(requirement.getId());
+                    }
+                    autosave.markDirty();
                 } catch (Exception e) {
                     Alert errorAlert = new Alert(Alert.AlertType.CONFIRMATION);
                     errorAlert.setTitle("Warning");
@@ -224,6 +248,14 @@ public class Controller {
                 return cell;
             }
         });
+
+        // Tells the user about the saved files the projects could not be fully loaded from.
+        if (!snapshot.getRecoveryWarnings().isEmpty()) {
+            Alert recoveryAlert = new Alert(Alert.AlertType.WARNING);
+            recoveryAlert.setTitle("Recovered projects");
+            recoveryAlert.setContentText(String.join("\n", snapshot.getRecoveryWarnings()));
+            recoveryAlert.show();
+        }
     }
 
     @FXML public void showItemDialog() {
@@ -245,8 +277,13 @@ public class Controller {
         if(result.isPresent() && result.get() == ButtonType.OK){
             DialogController controller = fxmlLoader.getController();
             List<Object> projectData = controller.processResults();
-            projects.add(projectManagementModelManager.addProject((String) projectData.get(0), (String) projectData.get(1), 1, 1, 2030));
-            ProjectManagementPersistence.save(projectManagementModelManager);
+            Project project;
+            synchronized (projectManagementModelManager) {
+                project = projectManagementModelManager.addProject((String) projectData.get(0), (String) projectData.get(1), 1, 1, 2030);
+                journal.projectAdded(project);
+            }
+            projects.add(project);
+            autosave.markDirty();
         }
     }
 
@@ -270,8 +307,13 @@ public class Controller {
             ReqDialog controller = fxmlLoader.getController();
             List<Object> requirementData = controller.processReqResults();
             Project project = (Project) projectView.getSelectionModel().getSelectedItem();
-            reqView.getSelectionModel().select(project.addRequirement((String) requirementData.get(0), (String) requirementData.get(1), 1, 1, 2025, "Critical"));
-            ProjectManagementPersistence.save(projectManagementModelManager);
+            Requirement requirement;
+            synchronized (projectManagementModelManager) {
+                requirement = project.addRequirement((String) requirementData.get(0), (String) requirementData.get(1), 1, 1, 2025, "Critical");
+                journal.requirementAdded(requirement);
+            }
+            reqView.getSelectionModel().select(requirement);
+            autosave.markDirty();
         }
     }
 
@@ -295,8 +337,27 @@ public class Controller {
             MemberController controller = fxmlLoader.getController();
             List<Object> memberData = controller.processMemberResults();
             Project project = (Project) projectView.getSelectionModel().getSelectedItem();
-            humanListView.getSelectionModel().select(projectManagementModelManager.addMember((String) memberData.get(0), "Jaime", new MyDate(1, 1, 2000), "jaimeelena@gmail.com"));
-            ProjectManagementPersistence.save(projectManagementModelManager);
+            Member member;
+            synchronized (projectManagementModelManager) {
+                member = projectManagementModelManager.addMember((String) memberData.get(0), "Jaime", new MyDate(1, 1, 2000), "jaimeelena@gmail.com");
+                journal.memberHired(member);
+            }
+            humanListView.getSelectionModel().select(member);
+            autosave.markDirty();
+        }
+    }
+
+    // Writes the pending changes and the xml export before the application exits.
+    public void shutdown() {
+        // The journal is closed even if saving fails, as its records are replayed at the next startup.
+        try {
+            autosave.shutdown();
+            // Exporting reads every project which was not opened yet, so the xml file is only rewritten if something changed.
+            synchronized (projectManagementModelManager) {
+                if (projectManagementModelManager.getChanges().hasChangedSince(versionAtStartup)) ProjectManagementPersistence.exportXml(projectManagementModelManager, journal.getSequence());
+            }
+        } finally {
+            journal.close();
         }
     }
 }
\ No newline at end of file
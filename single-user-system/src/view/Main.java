@@ -7,12 +7,16 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 public class Main extends Application {
+  private Controller controller;
+
   public static void main(String[] args) {
     launch(args);
   }
 
   @Override public void start(Stage primaryStage) throws Exception {
-    Parent root = FXMLLoader.load(getClass().getResource("sample.fxml"));
+    FXMLLoader loader = new FXMLLoader(getClass().getResource("sample.fxml"));
+    Parent root = loader.load();
+    controller = loader.getController();
     primaryStage.setTitle("ColorIT Project Management System");
     primaryStage.setScene(new Scene(root, 1200, 675));
     primaryStage.setMaxWidth(primaryStage.getWidth());
@@ -21,4 +25,8 @@ public class Main extends Application {
     primaryStage.setMinHeight(primaryStage.getHeight());
     primaryStage.show();
   }
+
+  @Override public void stop() {
+    if (controller != null) controller.shutdown();
+  }
 }
\ No newline at end of file